@@ -1,6 +1,7 @@
 package org.dromara.soul.admin.config;
 
 import org.I0Itec.zkclient.ZkClient;
+import org.I0Itec.zkclient.serialize.ZkSerializer;
 import org.dromara.soul.admin.listener.DataChangedListener;
 import org.dromara.soul.admin.listener.http.HttpLongPollingDataChangedListener;
 import org.dromara.soul.admin.listener.websocket.WebsocketCollector;
@@ -45,12 +46,13 @@ public class DataSyncConfiguration {
         /**
          * Config event listener data changed listener.
          *
-         * @param zkClient the zk client
+         * @param zkClient     the zk client
+         * @param zkSerializer the zk serializer
          * @return the data changed listener
          */
         @Bean
-        public DataChangedListener dataChangedListener(final ZkClient zkClient) {
-            return new ZookeeperDataChangedListener(zkClient);
+        public DataChangedListener dataChangedListener(final ZkClient zkClient, final ZkSerializer zkSerializer) {
+            return new ZookeeperDataChangedListener(zkClient, zkSerializer);
         }
     }
 
@@ -18,6 +18,9 @@
 
 package org.dromara.soul.admin.config;
 
+import org.dromara.soul.admin.spring.GzipRequestFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -42,4 +45,16 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("*")
                 .allowedMethods("*");
     }
+
+    /**
+     * Gzip request filter, the client batch registration is sent compressed.
+     *
+     * @return the filter registration bean
+     */
+    @Bean
+    public FilterRegistrationBean<GzipRequestFilter> gzipRequestFilter() {
+        FilterRegistrationBean<GzipRequestFilter> registration = new FilterRegistrationBean<>(new GzipRequestFilter());
+        registration.addUrlPatterns("/meta-data/batch-register");
+        return registration;
+    }
 }
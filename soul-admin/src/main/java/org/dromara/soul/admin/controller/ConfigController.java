@@ -17,23 +17,29 @@
 
 package org.dromara.soul.admin.controller;
 
-import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.dromara.soul.admin.listener.http.HttpLongPollingDataChangedListener;
+import org.dromara.soul.admin.listener.http.SerializedConfigs;
 import org.dromara.soul.admin.result.SoulAdminResult;
-import org.dromara.soul.common.dto.ConfigData;
 import org.dromara.soul.common.enums.ConfigGroupEnum;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.NotNull;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * This Controller only when HttpLongPollingDataChangedListener exist, will take effect.
@@ -47,23 +53,53 @@ import java.util.Map;
 @Slf4j
 public class ConfigController {
 
+    private static final String GZIP = "gzip";
+
+    private static final int GZIP_MIN_SIZE = 1024;
+
     @Resource
     private HttpLongPollingDataChangedListener longPollingListener;
 
     /**
-     * Fetch configs soul result.
+     * Fetch configs, served from the pre-serialized snapshot with entity tag validation.
      *
-     * @param groupKeys the group keys
-     * @return the soul result
+     * @param groupKeys      the group keys
+     * @param ifNoneMatch    the entity tag the client holds
+     * @param acceptEncoding the encodings the client accepts
+     * @return the soul result json
      */
     @GetMapping("/fetch")
-    public SoulAdminResult fetchConfigs(@NotNull String[] groupKeys) {
-        Map<String, ConfigData> result = Maps.newConcurrentMap();
-        for (String groupKey : groupKeys) {
-            ConfigData data = longPollingListener.fetchConfig(ConfigGroupEnum.valueOf(groupKey));
-            result.put(groupKey, data);
+    public ResponseEntity<byte[]> fetchConfigs(@NotNull final String[] groupKeys,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) {
+        ConfigGroupEnum[] groups = Arrays.stream(groupKeys).map(ConfigGroupEnum::valueOf).toArray(ConfigGroupEnum[]::new);
+        SerializedConfigs configs = longPollingListener.serializeConfigs(groups);
+        if (configs.getEtag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(configs.getEtag()).build();
         }
-        return SoulAdminResult.success("success", result);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(configs.getEtag())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON_UTF8);
+        if (configs.getJson().length >= GZIP_MIN_SIZE && StringUtils.containsIgnoreCase(acceptEncoding, GZIP)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(configs.getGzip());
+        }
+        return builder.body(configs.getJson());
+    }
+
+    /**
+     * Fetch the changes of one group since the version the client last applied.
+     *
+     * @param groupKey the group key
+     * @param epoch    the epoch of the client version
+     * @param version  the client version
+     * @return the soul result
+     */
+    @GetMapping("/delta")
+    public SoulAdminResult fetchDelta(@NotNull final String groupKey,
+                                      @RequestParam(defaultValue = "0") final long epoch,
+                                      @RequestParam(defaultValue = "0") final long version) {
+        return SoulAdminResult.success("success", longPollingListener.fetchDelta(ConfigGroupEnum.valueOf(groupKey), epoch, version));
     }
 
     /**
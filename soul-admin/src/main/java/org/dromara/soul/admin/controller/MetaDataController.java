@@ -133,6 +133,17 @@ public class MetaDataController {
         return metaDataService.register(metaDataDTO);
     }
 
+    /**
+     * Batch register string, the body may be gzip encoded.
+     *
+     * @param metaDataDTOList the meta data dto list
+     * @return the string
+     */
+    @PostMapping("/batch-register")
+    public String batchRegister(@RequestBody final List<MetaDataDTO> metaDataDTOList) {
+        return metaDataService.batchRegister(metaDataDTOList);
+    }
+
     /**
      * Batch deleted soul result.
      *
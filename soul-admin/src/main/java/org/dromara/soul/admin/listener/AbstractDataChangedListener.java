@@ -31,15 +31,18 @@ import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.enums.ConfigGroupEnum;
 import org.dromara.soul.common.enums.DataEventTypeEnum;
-import org.dromara.soul.common.utils.GsonUtils;
-import org.dromara.soul.common.utils.Md5Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 
 import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 
 /**
@@ -47,6 +50,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * As we think that the md5 value of the in-memory data is the same as the md5 value of the database,
  * although it may be a little different, but it doesn't matter, we will have thread to periodically
  * pull the data in the database.
+ * Change events only rehash the changed records of the materialized snapshot, see {@link ConfigGroupSnapshot}.
  *
  * @author huangxiaofeng
  * @since 2.0.0
@@ -61,6 +65,16 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractDataChangedListener.class);
 
+    private static final Map<ConfigGroupEnum, ConfigGroupSnapshot> SNAPSHOTS = new EnumMap<>(ConfigGroupEnum.class);
+
+    static {
+        SNAPSHOTS.put(ConfigGroupEnum.APP_AUTH, new ConfigGroupSnapshot<>(AppAuthData::getAppKey));
+        SNAPSHOTS.put(ConfigGroupEnum.PLUGIN, new ConfigGroupSnapshot<>(PluginData::getName));
+        SNAPSHOTS.put(ConfigGroupEnum.RULE, new ConfigGroupSnapshot<>(RuleData::getId));
+        SNAPSHOTS.put(ConfigGroupEnum.SELECTOR, new ConfigGroupSnapshot<>(SelectorData::getId));
+        SNAPSHOTS.put(ConfigGroupEnum.META_DATA, new ConfigGroupSnapshot<>(MetaData::getPath));
+    }
+
     @Resource
     private AppAuthService appAuthService;
 
@@ -86,46 +100,75 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
     private MetaDataService metaDataService;
 
     /**
-     * fetch configuration from database.
+     * fetch configuration from the materialized snapshot.
      *
      * @param groupKey the group key
      * @return the configuration data
      */
     public ConfigData<?> fetchConfig(final ConfigGroupEnum groupKey) {
-        ConfigDataCache config = CACHE.get(groupKey.name());
-        switch (groupKey) {
-            case APP_AUTH:
-                return new ConfigData<>(config.getMd5(), config.getLastModifyTime(), appAuthService.listAll());
-            case PLUGIN:
-                return new ConfigData<>(config.getMd5(), config.getLastModifyTime(), pluginService.listAll());
-            case RULE:
-                return new ConfigData<>(config.getMd5(), config.getLastModifyTime(), ruleService.listAll());
-            case SELECTOR:
-                return new ConfigData<>(config.getMd5(), config.getLastModifyTime(), selectorService.listAll());
-            case META_DATA:
-                return new ConfigData<>(config.getMd5(), config.getLastModifyTime(), metaDataService.listAll());
-            default:
-                throw new IllegalStateException("Unexpected groupKey: " + groupKey);
+        ConfigGroupSnapshot snapshot = SNAPSHOTS.get(groupKey);
+        synchronized (snapshot) {
+            ConfigDataCache config = CACHE.get(groupKey.name());
+            return new ConfigData<>(config.getMd5(), config.getLastModifyTime(), snapshot.records());
+        }
+    }
+
+    /**
+     * Serialize the configuration of the group as {@link ConfigData} json, reusing the pre-serialized records.
+     *
+     * @param groupKey the group key
+     * @return the json
+     */
+    public String serializeConfig(final ConfigGroupEnum groupKey) {
+        ConfigGroupSnapshot snapshot = SNAPSHOTS.get(groupKey);
+        synchronized (snapshot) {
+            ConfigDataCache config = CACHE.get(groupKey.name());
+            return "{\"md5\":\"" + config.getMd5() + "\",\"lastModifyTime\":" + config.getLastModifyTime()
+                    + ",\"data\":" + snapshot.serialize() + "}";
         }
     }
 
+    /**
+     * Serialize the whole group as {@link org.dromara.soul.common.dto.WebsocketData} json, reusing the pre-serialized records.
+     *
+     * @param groupKey  the group key
+     * @param eventType the event type
+     * @return the json
+     */
+    public String serializeWebsocketData(final ConfigGroupEnum groupKey, final DataEventTypeEnum eventType) {
+        return "{\"groupType\":\"" + groupKey.name() + "\",\"eventType\":\"" + eventType.name()
+                + "\",\"data\":" + SNAPSHOTS.get(groupKey).serialize() + "}";
+    }
+
+    /**
+     * Encode the whole group as a binary {@code MYSELF} frame.
+     *
+     * @param groupKey the group key
+     * @return the frame
+     */
+    public byte[] encodeWebsocketData(final ConfigGroupEnum groupKey) {
+        return SNAPSHOTS.get(groupKey).encode(groupKey);
+    }
+
     @Override
     public void onAppAuthChanged(final List<AppAuthData> changed, final DataEventTypeEnum eventType) {
-        if (CollectionUtils.isEmpty(changed)) {
+        if (isEmptyDelta(changed, eventType)) {
             return;
         }
-        this.updateAppAuthCache();
-        this.afterAppAuthChanged(changed, eventType);
+        List<AppAuthData> records = orEmpty(changed);
+        this.applyChange(ConfigGroupEnum.APP_AUTH, records, eventType);
+        this.afterAppAuthChanged(records, eventType);
     }
 
 
     @Override
     public void onMetaDataChanged(final List<MetaData> changed, final DataEventTypeEnum eventType) {
-        if (CollectionUtils.isEmpty(changed)) {
+        if (isEmptyDelta(changed, eventType)) {
             return;
         }
-        this.updateMetaDataCache();
-        this.afterMetaDataChanged(changed, eventType);
+        List<MetaData> records = orEmpty(changed);
+        this.applyChange(ConfigGroupEnum.META_DATA, records, eventType);
+        this.afterMetaDataChanged(records, eventType);
     }
 
 
@@ -149,11 +192,12 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
 
     @Override
     public void onPluginChanged(final List<PluginData> changed, final DataEventTypeEnum eventType) {
-        if (CollectionUtils.isEmpty(changed)) {
+        if (isEmptyDelta(changed, eventType)) {
             return;
         }
-        this.updatePluginCache();
-        this.afterPluginChanged(changed, eventType);
+        List<PluginData> records = orEmpty(changed);
+        this.applyChange(ConfigGroupEnum.PLUGIN, records, eventType);
+        this.afterPluginChanged(records, eventType);
     }
 
     /**
@@ -167,11 +211,12 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
 
     @Override
     public void onRuleChanged(final List<RuleData> changed, final DataEventTypeEnum eventType) {
-        if (CollectionUtils.isEmpty(changed)) {
+        if (isEmptyDelta(changed, eventType)) {
             return;
         }
-        this.updateRuleCache();
-        this.afterRuleChanged(changed, eventType);
+        List<RuleData> records = orEmpty(changed);
+        this.applyChange(ConfigGroupEnum.RULE, records, eventType);
+        this.afterRuleChanged(records, eventType);
     }
 
     /**
@@ -185,11 +230,12 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
 
     @Override
     public void onSelectorChanged(final List<SelectorData> changed, final DataEventTypeEnum eventType) {
-        if (CollectionUtils.isEmpty(changed)) {
+        if (isEmptyDelta(changed, eventType)) {
             return;
         }
-        this.updateSelectorCache();
-        this.afterSelectorChanged(changed, eventType);
+        List<SelectorData> records = orEmpty(changed);
+        this.applyChange(ConfigGroupEnum.SELECTOR, records, eventType);
+        this.afterSelectorChanged(records, eventType);
     }
 
     /**
@@ -210,14 +256,79 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
         updateMetaDataCache();
     }
 
+    /**
+     * Rebuild every snapshot from the database, catching up the writes that published no event,
+     * such as the ones of another admin sharing the database.
+     *
+     * @return the groups whose md5 changed
+     */
+    protected List<ConfigGroupEnum> reloadFromDatabase() {
+        Map<ConfigGroupEnum, String> before = new EnumMap<>(ConfigGroupEnum.class);
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            before.put(group, CACHE.get(group.name()).getMd5());
+        }
+        this.updateAppAuthCache();
+        this.updatePluginCache();
+        this.updateRuleCache();
+        this.updateSelectorCache();
+        this.updateMetaDataCache();
+        List<ConfigGroupEnum> changed = new ArrayList<>(before.size());
+        before.forEach((group, md5) -> {
+            if (!md5.equals(CACHE.get(group.name()).getMd5())) {
+                changed.add(group);
+            }
+        });
+        return changed;
+    }
+
+    /**
+     * Update the md5 of the group from the changed records only.
+     *
+     * @param group     the group
+     * @param changed   the changed records
+     * @param eventType the event type
+     */
+    private void applyChange(final ConfigGroupEnum group, final List<?> changed, final DataEventTypeEnum eventType) {
+        try {
+            this.updateCache(group, snapshot -> snapshot.apply(changed, eventType));
+        } catch (Exception e) {
+            LOGGER.warn("apply {} change error.", group, e);
+        }
+    }
+
+    /**
+     * An empty create, update or delete changes nothing, but an empty refresh means the group is now empty.
+     */
+    private static boolean isEmptyDelta(final List<?> changed, final DataEventTypeEnum eventType) {
+        return CollectionUtils.isEmpty(changed)
+                && eventType != DataEventTypeEnum.REFRESH && eventType != DataEventTypeEnum.MYSELF;
+    }
+
+    private static <T> List<T> orEmpty(final List<T> changed) {
+        return changed == null ? Collections.emptyList() : changed;
+    }
+
+    private void updateCache(final ConfigGroupEnum group, final Consumer<ConfigGroupSnapshot> mutation) {
+        ConfigGroupSnapshot snapshot = SNAPSHOTS.get(group);
+        synchronized (snapshot) {
+            mutation.accept(snapshot);
+            String md5 = snapshot.md5();
+            ConfigDataCache cache = CACHE.get(group.name());
+            if (cache == null) {
+                CACHE.put(group.name(), new ConfigDataCache(group.name(), md5, System.currentTimeMillis()));
+            } else if (!md5.equals(cache.getMd5())) {
+                cache.update(md5, System.currentTimeMillis());
+            }
+        }
+    }
+
     /**
      * Update selector cache.
      */
     protected void updateSelectorCache() {
         try {
-            String json = GsonUtils.getInstance().toJson(selectorService.listAll());
-            String group = ConfigGroupEnum.SELECTOR.name();
-            CACHE.put(group, new ConfigDataCache(group, Md5Utils.md5(json), System.currentTimeMillis()));
+            List<?> all = selectorService.listAll();
+            this.updateCache(ConfigGroupEnum.SELECTOR, snapshot -> snapshot.rebuild(all));
         } catch (Exception e) {
             LOGGER.warn("updateSelectorCache error.", e);
         }
@@ -228,9 +339,8 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
      */
     protected void updateRuleCache() {
         try {
-            String json = GsonUtils.getInstance().toJson(ruleService.listAll());
-            String group = ConfigGroupEnum.RULE.name();
-            CACHE.put(group, new ConfigDataCache(group, Md5Utils.md5(json), System.currentTimeMillis()));
+            List<?> all = ruleService.listAll();
+            this.updateCache(ConfigGroupEnum.RULE, snapshot -> snapshot.rebuild(all));
         } catch (Exception e) {
             LOGGER.warn("updateRuleCache error.", e);
         }
@@ -241,9 +351,8 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
      */
     protected void updatePluginCache() {
         try {
-            String json = GsonUtils.getInstance().toJson(pluginService.listAll());
-            String group = ConfigGroupEnum.PLUGIN.name();
-            CACHE.put(group, new ConfigDataCache(group, Md5Utils.md5(json), System.currentTimeMillis()));
+            List<?> all = pluginService.listAll();
+            this.updateCache(ConfigGroupEnum.PLUGIN, snapshot -> snapshot.rebuild(all));
         } catch (Exception e) {
             LOGGER.warn("updatePluginCache error.", e);
         }
@@ -254,9 +363,8 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
      */
     protected void updateAppAuthCache() {
         try {
-            String json = GsonUtils.getInstance().toJson(appAuthService.listAll());
-            String group = ConfigGroupEnum.APP_AUTH.name();
-            CACHE.put(group, new ConfigDataCache(group, Md5Utils.md5(json), System.currentTimeMillis()));
+            List<?> all = appAuthService.listAll();
+            this.updateCache(ConfigGroupEnum.APP_AUTH, snapshot -> snapshot.rebuild(all));
         } catch (Exception e) {
             LOGGER.warn("updateAppAuthCache error.", e);
         }
@@ -267,9 +375,8 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
      */
     protected void updateMetaDataCache() {
         try {
-            String json = GsonUtils.getInstance().toJson(metaDataService.listAll());
-            String group = ConfigGroupEnum.META_DATA.name();
-            CACHE.put(group, new ConfigDataCache(group, Md5Utils.md5(json), System.currentTimeMillis()));
+            List<?> all = metaDataService.listAll();
+            this.updateCache(ConfigGroupEnum.META_DATA, snapshot -> snapshot.rebuild(all));
         } catch (Exception e) {
             LOGGER.warn("updateMetaDataCache error.", e);
         }
@@ -35,6 +35,8 @@ public class ConfigDataCache {
 
     private volatile long lastModifyTime;
 
+    private volatile long version = 1;
+
     /**
      * Instantiates a new Config data cache.
      *
@@ -49,7 +51,7 @@ public class ConfigDataCache {
     }
 
     /**
-     * Update.
+     * Update, and move to the next version.
      *
      * @param md5            the md 5
      * @param lastModifyTime the last modify time
@@ -57,6 +59,7 @@ public class ConfigDataCache {
     protected synchronized void update(String md5, long lastModifyTime) {
         this.md5 = md5;
         this.lastModifyTime = lastModifyTime;
+        this.version++;
     }
 
     /**
@@ -85,4 +88,13 @@ public class ConfigDataCache {
     public long getLastModifyTime() {
         return lastModifyTime;
     }
+
+    /**
+     * Gets version, it increases on every change of the group content.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.dromara.soul.admin.listener;
+
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.dromara.soul.common.enums.DataEventTypeEnum;
+import org.dromara.soul.common.utils.ConfigBinaryCodec;
+import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.common.utils.Md5Utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The materialized records of one config group, kept in sync by change events.
+ * Every record keeps its own json and md5, the group hash is the sum of the record md5,
+ * so a change only serializes and rehashes the changed records instead of the whole group.
+ *
+ * @param <T> the record type
+ * @author xiaoyu
+ */
+class ConfigGroupSnapshot<T> {
+
+    private final Function<T, String> keyMapper;
+
+    private final Map<String, Record<T>> records = new LinkedHashMap<>();
+
+    private long high;
+
+    private long low;
+
+    /**
+     * the json array of all records, built once per content change.
+     */
+    private String serialized;
+
+    /**
+     * the binary handshake frame of all records, built once per content change.
+     */
+    private byte[] encoded;
+
+    /**
+     * Instantiates a new Config group snapshot.
+     *
+     * @param keyMapper the unique key of a record
+     */
+    ConfigGroupSnapshot(final Function<T, String> keyMapper) {
+        this.keyMapper = keyMapper;
+    }
+
+    /**
+     * Replace every record of the group.
+     *
+     * @param all all records
+     */
+    synchronized void rebuild(final List<T> all) {
+        records.clear();
+        high = 0;
+        low = 0;
+        all.forEach(this::put);
+        serialized = null;
+        encoded = null;
+    }
+
+    /**
+     * Apply the records of a change event.
+     *
+     * @param changed   the changed records
+     * @param eventType the event type
+     */
+    synchronized void apply(final List<T> changed, final DataEventTypeEnum eventType) {
+        if (eventType == DataEventTypeEnum.REFRESH || eventType == DataEventTypeEnum.MYSELF) {
+            rebuild(changed);
+            return;
+        }
+        if (eventType == DataEventTypeEnum.DELETE) {
+            changed.forEach(record -> subtract(records.remove(keyMapper.apply(record))));
+        } else {
+            changed.forEach(this::put);
+        }
+        serialized = null;
+        encoded = null;
+    }
+
+    /**
+     * The md5 of the group.
+     *
+     * @return the md5
+     */
+    synchronized String md5() {
+        return String.format("%016x%016x", high, low);
+    }
+
+    /**
+     * All records of the group.
+     *
+     * @return the records
+     */
+    synchronized List<T> records() {
+        List<T> list = new ArrayList<>(records.size());
+        records.values().forEach(record -> list.add(record.data));
+        return list;
+    }
+
+    /**
+     * The json array of all records, joined from the json kept per record.
+     *
+     * @return the json
+     */
+    synchronized String serialize() {
+        if (serialized == null) {
+            StringBuilder builder = new StringBuilder("[");
+            for (Record<T> record : records.values()) {
+                if (builder.length() > 1) {
+                    builder.append(',');
+                }
+                builder.append(record.json);
+            }
+            serialized = builder.append(']').toString();
+        }
+        return serialized;
+    }
+
+    /**
+     * The binary {@code MYSELF} frame of all records.
+     *
+     * @param group the group of this snapshot
+     * @return the frame
+     */
+    synchronized byte[] encode(final ConfigGroupEnum group) {
+        if (encoded == null) {
+            encoded = ConfigBinaryCodec.encode(group, DataEventTypeEnum.MYSELF, records());
+        }
+        return encoded;
+    }
+
+    private void put(final T data) {
+        String json = GsonUtils.getInstance().toJson(data);
+        String hex = Md5Utils.md5(json);
+        Record<T> record = new Record<>(data, json,
+                Long.parseUnsignedLong(hex.substring(0, 16), 16), Long.parseUnsignedLong(hex.substring(16), 16));
+        subtract(records.put(keyMapper.apply(data), record));
+        high += record.high;
+        low += record.low;
+    }
+
+    private void subtract(final Record<T> record) {
+        if (record != null) {
+            high -= record.high;
+            low -= record.low;
+        }
+    }
+
+    private static final class Record<T> {
+
+        private final T data;
+
+        private final String json;
+
+        private final long high;
+
+        private final long low;
+
+        Record(final T data, final String json, final long high, final long low) {
+            this.data = data;
+            this.json = json;
+            this.high = high;
+            this.low = low;
+        }
+    }
+}
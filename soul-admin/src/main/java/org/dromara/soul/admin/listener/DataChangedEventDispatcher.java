@@ -17,11 +17,17 @@
 
 package org.dromara.soul.admin.listener;
 
+import org.dromara.soul.common.concurrent.SoulThreadFactory;
 import org.dromara.soul.common.dto.AppAuthData;
 import org.dromara.soul.common.dto.MetaData;
 import org.dromara.soul.common.dto.PluginData;
 import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.dromara.soul.common.enums.DataEventTypeEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationListener;
@@ -30,28 +36,141 @@ import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Event forwarders, which forward the changed events to each ConfigEventListener.
+ * Events are buffered for a short window and the consecutive events of a group with the same type
+ * are merged into one, so a bulk operation reaches the listeners as a handful of batches.
  *
  * @author huangxiaofeng
  * @author xiaoyu
  */
 @Component
-public class DataChangedEventDispatcher implements ApplicationListener<DataChangedEvent>, InitializingBean {
+public class DataChangedEventDispatcher implements ApplicationListener<DataChangedEvent>, InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataChangedEventDispatcher.class);
+
+    private static final long DISPATCH_WINDOW_MILLIS = 50;
+
+    /**
+     * selectors and rules follow their plugin.
+     */
+    private static final ConfigGroupEnum[] DISPATCH_ORDER = {ConfigGroupEnum.PLUGIN, ConfigGroupEnum.SELECTOR,
+        ConfigGroupEnum.RULE, ConfigGroupEnum.APP_AUTH, ConfigGroupEnum.META_DATA};
 
     private ApplicationContext applicationContext;
 
     private List<DataChangedListener> listeners;
 
+    private final Map<ConfigGroupEnum, List<DataChangedEvent>> pending = new EnumMap<>(ConfigGroupEnum.class);
+
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1,
+            SoulThreadFactory.create("data-changed-dispatcher", true));
+
+    /**
+     * serializes the flushes of the executor, of a rejected schedule and of destroy.
+     */
+    private final Object flushLock = new Object();
+
+    private boolean scheduled;
+
+    private ScheduledFuture<?> scheduledFlush;
+
     public DataChangedEventDispatcher(final ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void onApplicationEvent(final DataChangedEvent event) {
+        boolean rejected = false;
+        synchronized (pending) {
+            pending.computeIfAbsent(event.getGroupKey(), key -> new ArrayList<>()).add(event);
+            if (!scheduled) {
+                try {
+                    scheduledFlush = executor.schedule(this::flush, DISPATCH_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+                    scheduled = true;
+                } catch (RejectedExecutionException e) {
+                    // the dispatcher is shutting down, deliver the event right away instead of losing it.
+                    rejected = true;
+                }
+            }
+        }
+        if (rejected) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        synchronized (flushLock) {
+            Map<ConfigGroupEnum, List<DataChangedEvent>> batch;
+            synchronized (pending) {
+                batch = new EnumMap<>(pending);
+                pending.clear();
+                scheduled = false;
+                scheduledFlush = null;
+            }
+            dispatchBatch(batch);
+        }
+    }
+
+    /**
+     * Dispatch the buffered events group by group, in {@link #DISPATCH_ORDER}.
+     *
+     * @param batch the buffered events by group
+     */
+    void dispatchBatch(final Map<ConfigGroupEnum, List<DataChangedEvent>> batch) {
+        for (ConfigGroupEnum group : DISPATCH_ORDER) {
+            List<DataChangedEvent> events = batch.get(group);
+            if (events != null) {
+                for (DataChangedEvent event : coalesce(events)) {
+                    try {
+                        dispatch(event);
+                    } catch (Exception e) {
+                        LOGGER.error("dispatch {} {} event error.", event.getGroupKey(), event.getEventType(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Merge the consecutive events with the same type, a full refresh supersedes everything before it.
+     *
+     * @param events the events of one group in publish order
+     * @return the merged events
+     */
+    static List<DataChangedEvent> coalesce(final List<DataChangedEvent> events) {
+        List<DataChangedEvent> merged = new ArrayList<>();
+        List<Object> data = null;
+        for (DataChangedEvent event : events) {
+            DataEventTypeEnum type = event.getEventType();
+            if (type == DataEventTypeEnum.REFRESH || type == DataEventTypeEnum.MYSELF) {
+                merged.clear();
+                merged.add(event);
+                data = null;
+                continue;
+            }
+            DataChangedEvent last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (data != null && last.getEventType() == type) {
+                data.addAll(event.getSource());
+            } else {
+                data = new ArrayList<>(event.getSource());
+                merged.add(new DataChangedEvent(event.getGroupKey(), type, data));
+            }
+        }
+        return merged;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatch(final DataChangedEvent event) {
         for (DataChangedListener listener : listeners) {
             switch (event.getGroupKey()) {
                 case APP_AUTH:
@@ -81,4 +200,16 @@ public class DataChangedEventDispatcher implements ApplicationListener<DataChang
         this.listeners = Collections.unmodifiableList(new ArrayList<>(listenerBeans));
     }
 
+    @Override
+    public void destroy() {
+        synchronized (pending) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+            }
+        }
+        executor.shutdown();
+        // dispatch what is still buffered, after a flush that is already running.
+        flush();
+    }
+
 }
@@ -0,0 +1,170 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.admin.listener.http;
+
+import org.dromara.soul.common.dto.ConfigChange;
+import org.dromara.soul.common.dto.ConfigDelta;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded, versioned change log per config group, so that long polling clients
+ * can pull only the records changed since the version they last applied.
+ *
+ * @author xiaoyu
+ */
+class ConfigChangeLog {
+
+    private final long epoch = System.currentTimeMillis();
+
+    private final int capacity;
+
+    private final Map<ConfigGroupEnum, GroupLog> logs = new EnumMap<>(ConfigGroupEnum.class);
+
+    /**
+     * Instantiates a new Config change log.
+     *
+     * @param capacity the number of changes kept per group
+     */
+    ConfigChangeLog(final int capacity) {
+        this.capacity = capacity;
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            logs.put(group, new GroupLog());
+        }
+    }
+
+    /**
+     * Record a change of the group, stamped with the next version.
+     *
+     * @param group          the group
+     * @param eventType      the event type
+     * @param changed        the changed records
+     * @param md5            the group md5 after the change
+     * @param lastModifyTime the group modify time after the change
+     */
+    void append(final ConfigGroupEnum group, final String eventType, final List<?> changed,
+                final String md5, final long lastModifyTime) {
+        GroupLog log = logs.get(group);
+        synchronized (log) {
+            log.version++;
+            log.entries.addLast(new ConfigChange<Object>(log.version, eventType, new ArrayList<Object>(changed)));
+            if (log.entries.size() > capacity) {
+                log.floor = log.entries.removeFirst().getVersion();
+            }
+            log.md5 = md5;
+            log.lastModifyTime = lastModifyTime;
+        }
+    }
+
+    /**
+     * Drop the changes of the group, every client then falls back to a full snapshot.
+     *
+     * @param group          the group
+     * @param md5            the group md5
+     * @param lastModifyTime the group modify time
+     */
+    void reset(final ConfigGroupEnum group, final String md5, final long lastModifyTime) {
+        GroupLog log = logs.get(group);
+        synchronized (log) {
+            log.version++;
+            log.entries.clear();
+            log.floor = log.version;
+            log.md5 = md5;
+            log.lastModifyTime = lastModifyTime;
+        }
+    }
+
+    /**
+     * The changes after the client version, or null if the log no longer covers it.
+     *
+     * @param group         the group
+     * @param clientEpoch   the epoch the client version belongs to
+     * @param clientVersion the version the client last applied
+     * @return the delta, or null
+     */
+    ConfigDelta<Object> since(final ConfigGroupEnum group, final long clientEpoch, final long clientVersion) {
+        if (clientEpoch != epoch) {
+            return null;
+        }
+        GroupLog log = logs.get(group);
+        synchronized (log) {
+            if (log.md5 == null || clientVersion < log.floor || clientVersion > log.version) {
+                return null;
+            }
+            List<ConfigChange<Object>> changes = new ArrayList<>();
+            for (ConfigChange<Object> entry : log.entries) {
+                if (entry.getVersion() > clientVersion) {
+                    changes.add(entry);
+                }
+            }
+            return stamp(log).setChanges(changes);
+        }
+    }
+
+    /**
+     * The current version of the group, to stamp a full snapshot which is read afterwards.
+     * The md5 is only taken from the arguments when the group has not changed yet.
+     *
+     * @param group          the group
+     * @param md5            the current group md5
+     * @param lastModifyTime the current group modify time
+     * @return the delta without data
+     */
+    ConfigDelta<Object> current(final ConfigGroupEnum group, final String md5, final long lastModifyTime) {
+        GroupLog log = logs.get(group);
+        synchronized (log) {
+            if (log.md5 == null) {
+                log.md5 = md5;
+                log.lastModifyTime = lastModifyTime;
+            }
+            return stamp(log).setFull(true);
+        }
+    }
+
+    private ConfigDelta<Object> stamp(final GroupLog log) {
+        return new ConfigDelta<>()
+                .setEpoch(epoch)
+                .setVersion(log.version)
+                .setMd5(log.md5)
+                .setLastModifyTime(log.lastModifyTime);
+    }
+
+    private static final class GroupLog {
+
+        private final Deque<ConfigChange<Object>> entries = new ArrayDeque<>();
+
+        private long version = 1;
+
+        /**
+         * the changes after this version are all kept.
+         */
+        private long floor = 1;
+
+        private String md5;
+
+        private long lastModifyTime;
+    }
+}
@@ -28,28 +28,32 @@ import org.dromara.soul.admin.result.SoulAdminResult;
 import org.dromara.soul.common.concurrent.SoulThreadFactory;
 import org.dromara.soul.common.constant.HttpConstants;
 import org.dromara.soul.common.dto.AppAuthData;
+import org.dromara.soul.common.dto.ConfigDelta;
 import org.dromara.soul.common.dto.MetaData;
 import org.dromara.soul.common.dto.PluginData;
 import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.enums.ConfigGroupEnum;
 import org.dromara.soul.common.enums.DataEventTypeEnum;
+import org.dromara.soul.common.exception.CommonErrorCode;
 import org.dromara.soul.common.exception.SoulException;
 import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.common.utils.Md5Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.http.MediaType;
 
 import javax.servlet.AsyncContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Future;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -64,7 +68,7 @@ import java.util.concurrent.TimeUnit;
  * @since 2.0.0
  */
 @SuppressWarnings("all")
-public class HttpLongPollingDataChangedListener extends AbstractDataChangedListener {
+public class HttpLongPollingDataChangedListener extends AbstractDataChangedListener implements DisposableBean {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpLongPollingDataChangedListener.class);
 
@@ -74,29 +78,39 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
 
     private static final String X_FORWARDED_FOR_SPLIT_SYMBOL = ",";
 
+    private static final int CHANGE_LOG_CAPACITY = 512;
+
     /**
      * Blocked client.
      */
-    private final BlockingQueue<LongPollingClient> clients;
+    private final LongPollingHoldQueue clients;
 
     private final ScheduledExecutorService scheduler;
 
+    private final ConfigChangeLog changeLog;
+
+    /**
+     * fetch responses by the requested groups.
+     */
+    private final ConcurrentMap<String, SerializedConfigs> serializedConfigs = new ConcurrentHashMap<>();
 
     /**
      * Instantiates a new Http long polling data changed listener.
      */
     public HttpLongPollingDataChangedListener() {
-        this.clients = new ArrayBlockingQueue<>(1024);
+        this.clients = new LongPollingHoldQueue(this::sendResponse, this::sendEmptyResponse);
         this.scheduler = new ScheduledThreadPoolExecutor(1,
                 SoulThreadFactory.create("long-polling", true));
+        this.changeLog = new ConfigChangeLog(CHANGE_LOG_CAPACITY);
 
         // Periodically check the data for changes and update the cache
         scheduler.scheduleWithFixedDelay(() -> {
-            this.updateAppAuthCache();
-            this.updatePluginCache();
-            this.updateRuleCache();
-            this.updateSelectorCache();
-            this.updateMetaDataCache();
+            // a change that did not come through an event can not be replayed, so drop the log of that group.
+            for (ConfigGroupEnum group : this.reloadFromDatabase()) {
+                ConfigDataCache cache = CACHE.get(group.name());
+                changeLog.reset(group, cache.getMd5(), cache.getLastModifyTime());
+                clients.wake(group, cache.getMd5());
+            }
         }, 300, 300, TimeUnit.SECONDS);
 
     }
@@ -128,33 +142,104 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
         asyncContext.setTimeout(0L);
 
         // block client's thread.
-        scheduler.execute(new LongPollingClient(asyncContext, clientIp, HttpConstants.SERVER_MAX_HOLD_TIMEOUT));
+        LongPollingClient client = new LongPollingClient(asyncContext, clientIp);
+        clients.hold(client, HttpConstants.SERVER_MAX_HOLD_TIMEOUT);
+
+        // a change between the comparison above and holding the client would otherwise wait for the timeout.
+        if (CollectionUtils.isNotEmpty(compareMD5(request))) {
+            clients.release(client);
+        }
+    }
+
+    /**
+     * The serialized fetch response of the groups, assembled from the pre-serialized snapshots
+     * and only rebuilt when one of the groups changed.
+     *
+     * @param groups the groups
+     * @return the serialized configs
+     */
+    public SerializedConfigs serializeConfigs(final ConfigGroupEnum... groups) {
+        StringBuilder md5 = new StringBuilder();
+        for (ConfigGroupEnum group : groups) {
+            md5.append(CACHE.get(group.name()).getMd5()).append(',');
+        }
+        String etag = "\"" + Md5Utils.md5(md5.toString()) + "\"";
+        String key = Arrays.toString(groups);
+        SerializedConfigs cached = serializedConfigs.get(key);
+        if (cached != null && cached.getEtag().equals(etag)) {
+            return cached;
+        }
+        StringBuilder json = new StringBuilder("{\"code\":").append(CommonErrorCode.SUCCESSFUL)
+                .append(",\"message\":\"success\",\"data\":{");
+        for (int i = 0; i < groups.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(groups[i].name()).append("\":").append(serializeConfig(groups[i]));
+        }
+        SerializedConfigs configs = new SerializedConfigs(etag, json.append("}}").toString().getBytes(StandardCharsets.UTF_8));
+        serializedConfigs.put(key, configs);
+        return configs;
+    }
+
+    /**
+     * Fetch the changes of a group since the client version.
+     * If the change log no longer covers that version, the whole group is returned.
+     *
+     * @param group   the group
+     * @param epoch   the epoch of the client version
+     * @param version the version the client last applied
+     * @return the config delta
+     */
+    public ConfigDelta<?> fetchDelta(final ConfigGroupEnum group, final long epoch, final long version) {
+        ConfigDelta<Object> delta = changeLog.since(group, epoch, version);
+        if (delta != null) {
+            return delta;
+        }
+        // stamp the version before reading, the changes after it are idempotent for the client to replay.
+        ConfigDataCache cache = CACHE.get(group.name());
+        ConfigDelta<Object> full = changeLog.current(group, cache.getMd5(), cache.getLastModifyTime());
+        return full.setData((List<Object>) fetchConfig(group).getData());
     }
 
     @Override
     protected void afterAppAuthChanged(final List<AppAuthData> changed, final DataEventTypeEnum eventType) {
-        scheduler.execute(new DataChangeTask(ConfigGroupEnum.APP_AUTH));
+        recordChange(ConfigGroupEnum.APP_AUTH, changed, eventType);
+        clients.wake(ConfigGroupEnum.APP_AUTH, CACHE.get(ConfigGroupEnum.APP_AUTH.name()).getMd5());
     }
 
     @Override
     protected void afterMetaDataChanged(final List<MetaData> changed, final DataEventTypeEnum eventType) {
-        scheduler.execute(new DataChangeTask(ConfigGroupEnum.META_DATA));
+        recordChange(ConfigGroupEnum.META_DATA, changed, eventType);
+        clients.wake(ConfigGroupEnum.META_DATA, CACHE.get(ConfigGroupEnum.META_DATA.name()).getMd5());
     }
 
 
     @Override
     protected void afterPluginChanged(final List<PluginData> changed, final DataEventTypeEnum eventType) {
-        scheduler.execute(new DataChangeTask(ConfigGroupEnum.PLUGIN));
+        recordChange(ConfigGroupEnum.PLUGIN, changed, eventType);
+        clients.wake(ConfigGroupEnum.PLUGIN, CACHE.get(ConfigGroupEnum.PLUGIN.name()).getMd5());
     }
 
     @Override
     protected void afterRuleChanged(final List<RuleData> changed, final DataEventTypeEnum eventType) {
-        scheduler.execute(new DataChangeTask(ConfigGroupEnum.RULE));
+        recordChange(ConfigGroupEnum.RULE, changed, eventType);
+        clients.wake(ConfigGroupEnum.RULE, CACHE.get(ConfigGroupEnum.RULE.name()).getMd5());
     }
 
     @Override
     protected void afterSelectorChanged(final List<SelectorData> changed, final DataEventTypeEnum eventType) {
-        scheduler.execute(new DataChangeTask(ConfigGroupEnum.SELECTOR));
+        recordChange(ConfigGroupEnum.SELECTOR, changed, eventType);
+        clients.wake(ConfigGroupEnum.SELECTOR, CACHE.get(ConfigGroupEnum.SELECTOR.name()).getMd5());
+    }
+
+    private void recordChange(final ConfigGroupEnum group, final List<?> changed, final DataEventTypeEnum eventType) {
+        ConfigDataCache cache = CACHE.get(group.name());
+        if (eventType == DataEventTypeEnum.REFRESH || eventType == DataEventTypeEnum.MYSELF) {
+            changeLog.reset(group, cache.getMd5(), cache.getLastModifyTime());
+        } else {
+            changeLog.append(group, eventType.name(), changed, cache.getMd5(), cache.getLastModifyTime());
+        }
     }
 
     private static List<ConfigGroupEnum> compareMD5(final HttpServletRequest request) {
@@ -196,123 +281,50 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
 
 
     /**
-     * get real client ip.
+     * Respond a released client with the groups it is stale for, an empty list on timeout.
      *
-     * @param request the request
-     * @return the remote ip
+     * @param client the client
      */
-    private static String getRemoteIp(final HttpServletRequest request) {
-        String xForwardedFor = request.getHeader(X_FORWARDED_FOR);
-        if (!StringUtils.isBlank(xForwardedFor)) {
-            return xForwardedFor.split(X_FORWARDED_FOR_SPLIT_SYMBOL)[0].trim();
+    private void sendResponse(final LongPollingClient client) {
+        AsyncContext asyncContext = client.getAsyncContext();
+        List<ConfigGroupEnum> changedGroups = compareMD5((HttpServletRequest) asyncContext.getRequest());
+        generateResponse((HttpServletResponse) asyncContext.getResponse(), changedGroups);
+        asyncContext.complete();
+        if (CollectionUtils.isNotEmpty(changedGroups)) {
+            LOGGER.info("send response with the changed group,ip={},group={}", client.getIp(), changedGroups);
         }
-        String header = request.getHeader(X_REAL_IP);
-        return StringUtils.isBlank(header) ? request.getRemoteAddr() : header;
     }
 
-
     /**
-     * When a group's data changes, the thread is created to notify the client asynchronously.
+     * Respond a client held when the admin shuts down with an empty change list.
+     *
+     * @param client the client
      */
-    class DataChangeTask implements Runnable {
-
-        /**
-         * The Group where the data has changed.
-         */
-        private final ConfigGroupEnum groupKey;
-
-        /**
-         * The Change time.
-         */
-        private final long changeTime = System.currentTimeMillis();
-
-        /**
-         * Instantiates a new Data change task.
-         *
-         * @param groupKey the group key
-         */
-        DataChangeTask(final ConfigGroupEnum groupKey) {
-            this.groupKey = groupKey;
-        }
+    private void sendEmptyResponse(final LongPollingClient client) {
+        AsyncContext asyncContext = client.getAsyncContext();
+        generateResponse((HttpServletResponse) asyncContext.getResponse(), Collections.emptyList());
+        asyncContext.complete();
+    }
 
-        @Override
-        public void run() {
-            try {
-                for (Iterator<LongPollingClient> iter = clients.iterator(); iter.hasNext();) {
-                    LongPollingClient client = iter.next();
-                    iter.remove();
-                    client.sendResponse(Collections.singletonList(groupKey));
-                    LOGGER.info("send response with the changed group,ip={},group={},changeTime={}", client.ip, groupKey, changeTime);
-                }
-            } catch (Throwable e) {
-                LOGGER.error("data change error.", e);
-            }
-        }
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        clients.close();
     }
 
     /**
-     * If you exceed {@link HttpConstants#SERVER_MAX_HOLD_TIMEOUT} and still have no data change,
-     * empty data is returned. If the data changes within this time frame, the DataChangeTask
-     * cancellations the timed task and responds to the changed group data.
+     * get real client ip.
+     *
+     * @param request the request
+     * @return the remote ip
      */
-    class LongPollingClient implements Runnable {
-
-        /**
-         * The Async context.
-         */
-        private final AsyncContext asyncContext;
-
-        /**
-         * The Ip.
-         */
-        private final String ip;
-
-        /**
-         * The Timeout time.
-         */
-        private final long timeoutTime;
-
-        /**
-         * The Async timeout future.
-         */
-        private Future<?> asyncTimeoutFuture;
-
-        /**
-         * Instantiates a new Long polling client.
-         *
-         * @param ac          the ac
-         * @param ip          the ip
-         * @param timeoutTime the timeout time
-         */
-        LongPollingClient(final AsyncContext ac, final String ip, final long timeoutTime) {
-            this.asyncContext = ac;
-            this.ip = ip;
-            this.timeoutTime = timeoutTime;
-        }
-
-        @Override
-        public void run() {
-            this.asyncTimeoutFuture = scheduler.schedule(() -> {
-                clients.remove(LongPollingClient.this);
-                List<ConfigGroupEnum> changedGroups = HttpLongPollingDataChangedListener.compareMD5((HttpServletRequest) asyncContext.getRequest());
-                sendResponse(changedGroups);
-            }, timeoutTime, TimeUnit.MILLISECONDS);
-            clients.add(this);
-        }
-
-        /**
-         * Send response.
-         *
-         * @param changedGroups the changed groups
-         */
-        void sendResponse(final List<ConfigGroupEnum> changedGroups) {
-            // cancel scheduler
-            if (null != asyncTimeoutFuture) {
-                asyncTimeoutFuture.cancel(false);
-            }
-            generateResponse((HttpServletResponse) asyncContext.getResponse(), changedGroups);
-            asyncContext.complete();
+    private static String getRemoteIp(final HttpServletRequest request) {
+        String xForwardedFor = request.getHeader(X_FORWARDED_FOR);
+        if (!StringUtils.isBlank(xForwardedFor)) {
+            return xForwardedFor.split(X_FORWARDED_FOR_SPLIT_SYMBOL)[0].trim();
         }
+        String header = request.getHeader(X_REAL_IP);
+        return StringUtils.isBlank(header) ? request.getRemoteAddr() : header;
     }
 
 }
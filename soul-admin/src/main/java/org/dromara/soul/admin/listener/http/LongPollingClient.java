@@ -0,0 +1,121 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.admin.listener.http;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A parked long polling request, with the md5 of every group the client holds.
+ *
+ * @author huangxiaofeng
+ * @author xiaoyu
+ */
+class LongPollingClient {
+
+    private final AsyncContext asyncContext;
+
+    private final String ip;
+
+    private final Map<ConfigGroupEnum, String> md5 = new EnumMap<>(ConfigGroupEnum.class);
+
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
+    /**
+     * the wheel tick the client times out at.
+     */
+    private long deadlineTick;
+
+    /**
+     * Instantiates a new Long polling client.
+     *
+     * @param asyncContext the async context
+     * @param ip           the ip
+     */
+    LongPollingClient(final AsyncContext asyncContext, final String ip) {
+        this.asyncContext = asyncContext;
+        this.ip = ip;
+        HttpServletRequest request = (HttpServletRequest) asyncContext.getRequest();
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            // md5,lastModifyTime
+            md5.put(group, StringUtils.substringBefore(request.getParameter(group.name()), ","));
+        }
+    }
+
+    /**
+     * Gets async context.
+     *
+     * @return the async context
+     */
+    AsyncContext getAsyncContext() {
+        return asyncContext;
+    }
+
+    /**
+     * Gets ip.
+     *
+     * @return the ip
+     */
+    String getIp() {
+        return ip;
+    }
+
+    /**
+     * The md5 the client holds for the group.
+     *
+     * @param group the group
+     * @return the md5
+     */
+    String md5(final ConfigGroupEnum group) {
+        return md5.get(group);
+    }
+
+    /**
+     * Claim the client for a response, only the first caller wins.
+     *
+     * @return true if the caller must respond
+     */
+    boolean release() {
+        return released.compareAndSet(false, true);
+    }
+
+    /**
+     * Whether the client was responded or is being responded.
+     *
+     * @return true if released
+     */
+    boolean isReleased() {
+        return released.get();
+    }
+
+    long getDeadlineTick() {
+        return deadlineTick;
+    }
+
+    void setDeadlineTick(final long deadlineTick) {
+        this.deadlineTick = deadlineTick;
+    }
+}
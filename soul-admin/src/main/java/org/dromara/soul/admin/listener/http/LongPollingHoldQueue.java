@@ -0,0 +1,225 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.admin.listener.http;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.soul.common.concurrent.SoulThreadFactory;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Holds parked long polling clients without a capacity limit.
+ * Every group indexes its clients by the md5 they hold, so a change of one group only touches
+ * the clients that are stale for it. Timeouts are kept on a hashed wheel, responses are written
+ * in parallel by a fan-out pool.
+ *
+ * @author xiaoyu
+ */
+class LongPollingHoldQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LongPollingHoldQueue.class);
+
+    private static final long TICK_MILLIS = 100;
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final Map<ConfigGroupEnum, ConcurrentMap<String, Set<LongPollingClient>>> index = new EnumMap<>(ConfigGroupEnum.class);
+
+    private final Queue<LongPollingClient>[] wheel;
+
+    private final ScheduledExecutorService ticker;
+
+    private final ExecutorService fanOut;
+
+    private final Consumer<LongPollingClient> responder;
+
+    private final Consumer<LongPollingClient> closeResponder;
+
+    private volatile long tick;
+
+    private volatile boolean closed;
+
+    /**
+     * Instantiates a new Long polling hold queue.
+     *
+     * @param responder      writes the response of a released client
+     * @param closeResponder writes the empty response of a client held when the queue is closed
+     */
+    @SuppressWarnings("unchecked")
+    LongPollingHoldQueue(final Consumer<LongPollingClient> responder, final Consumer<LongPollingClient> closeResponder) {
+        this.responder = responder;
+        this.closeResponder = closeResponder;
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            index.put(group, new ConcurrentHashMap<>());
+        }
+        this.wheel = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        this.fanOut = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), SoulThreadFactory.create("long-polling-response", true));
+        this.ticker = new ScheduledThreadPoolExecutor(1, SoulThreadFactory.create("long-polling-timer", true));
+        ticker.scheduleAtFixedRate(this::advance, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Park the client until a group it holds changes or the timeout is reached.
+     *
+     * @param client        the client
+     * @param timeoutMillis the timeout in milliseconds
+     */
+    void hold(final LongPollingClient client, final long timeoutMillis) {
+        if (closed) {
+            respondClosed(client);
+            return;
+        }
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            index.get(group).compute(StringUtils.defaultString(client.md5(group)), (md5, clients) -> {
+                Set<LongPollingClient> holders = clients == null ? ConcurrentHashMap.newKeySet() : clients;
+                holders.add(client);
+                return holders;
+            });
+        }
+        long deadline = tick + Math.max(1, (timeoutMillis + TICK_MILLIS - 1) / TICK_MILLIS);
+        client.setDeadlineTick(deadline);
+        wheel[(int) (deadline & (WHEEL_SIZE - 1))].offer(client);
+    }
+
+    /**
+     * Release every client whose md5 of the group differs from the server md5.
+     *
+     * @param group     the changed group
+     * @param serverMd5 the server md5 of the group
+     */
+    void wake(final ConfigGroupEnum group, final String serverMd5) {
+        List<LongPollingClient> stale = new ArrayList<>();
+        index.get(group).forEach((md5, clients) -> {
+            if (!StringUtils.equals(md5, serverMd5)) {
+                stale.addAll(clients);
+            }
+        });
+        stale.forEach(this::release);
+    }
+
+    /**
+     * Respond the client now, unless it was released already.
+     *
+     * @param client the client
+     */
+    void release(final LongPollingClient client) {
+        if (!client.release()) {
+            return;
+        }
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            index.get(group).computeIfPresent(StringUtils.defaultString(client.md5(group)), (md5, clients) -> {
+                clients.remove(client);
+                return clients.isEmpty() ? null : clients;
+            });
+        }
+        try {
+            fanOut.execute(() -> respond(client));
+        } catch (RejectedExecutionException e) {
+            // closing, the fan-out pool no longer takes work.
+            respond(client);
+        }
+    }
+
+    /**
+     * Answer every held client with an empty change list and stop the timer and the fan-out pool.
+     * The clients poll again, and reach another admin if this one is going away.
+     */
+    void close() {
+        closed = true;
+        ticker.shutdownNow();
+        for (Queue<LongPollingClient> bucket : wheel) {
+            LongPollingClient client;
+            while ((client = bucket.poll()) != null) {
+                if (client.release()) {
+                    respondClosed(client);
+                }
+            }
+        }
+        index.values().forEach(Map::clear);
+        fanOut.shutdown();
+        try {
+            if (!fanOut.awaitTermination(5, TimeUnit.SECONDS)) {
+                fanOut.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            fanOut.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(final LongPollingClient client) {
+        try {
+            responder.accept(client);
+        } catch (Throwable e) {
+            LOGGER.error("long polling response error.", e);
+        }
+    }
+
+    private void respondClosed(final LongPollingClient client) {
+        try {
+            closeResponder.accept(client);
+        } catch (Throwable e) {
+            LOGGER.error("long polling close response error.", e);
+        }
+    }
+
+    private void advance() {
+        long current = tick + 1;
+        Queue<LongPollingClient> bucket = wheel[(int) (current & (WHEEL_SIZE - 1))];
+        List<LongPollingClient> pending = new ArrayList<>();
+        LongPollingClient client;
+        while ((client = bucket.poll()) != null) {
+            if (client.isReleased()) {
+                continue;
+            }
+            if (client.getDeadlineTick() <= current) {
+                release(client);
+            } else {
+                pending.add(client);
+            }
+        }
+        pending.forEach(bucket::offer);
+        tick = current;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.admin.listener.http;
+
+import org.dromara.soul.common.exception.SoulException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A pre-serialized fetch response, with its entity tag and a lazily compressed copy.
+ *
+ * @author xiaoyu
+ */
+public class SerializedConfigs {
+
+    private final String etag;
+
+    private final byte[] json;
+
+    private volatile byte[] gzip;
+
+    /**
+     * Instantiates a new Serialized configs.
+     *
+     * @param etag the entity tag
+     * @param json the utf-8 json body
+     */
+    SerializedConfigs(final String etag, final byte[] json) {
+        this.etag = etag;
+        this.json = json;
+    }
+
+    /**
+     * Gets etag.
+     *
+     * @return the etag
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Gets json.
+     *
+     * @return the json
+     */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * Gets the gzip compressed json, it is compressed once on first use.
+     *
+     * @return the gzip bytes
+     */
+    public byte[] getGzip() {
+        byte[] compressed = gzip;
+        if (compressed == null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                gzipOut.write(json);
+            } catch (IOException e) {
+                throw new SoulException(e);
+            }
+            compressed = out.toByteArray();
+            gzip = compressed;
+        }
+        return compressed;
+    }
+}
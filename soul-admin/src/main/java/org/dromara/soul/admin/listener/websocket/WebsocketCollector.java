@@ -17,10 +17,10 @@
 
 package org.dromara.soul.admin.listener.websocket;
 
-import org.apache.commons.lang3.StringUtils;
-import org.dromara.soul.admin.service.SyncDataService;
 import org.dromara.soul.admin.spring.SpringBeanUtils;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
 import org.dromara.soul.common.enums.DataEventTypeEnum;
+import org.dromara.soul.common.utils.ConfigBinaryCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,9 +30,8 @@ import javax.websocket.OnMessage;
 import javax.websocket.OnOpen;
 import javax.websocket.Session;
 import javax.websocket.server.ServerEndpoint;
-import java.io.IOException;
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * The type Websocket data changed listener.
@@ -46,9 +45,14 @@ public class WebsocketCollector {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WebsocketCollector.class);
 
-    private static final Set<Session> SESSION_SET = new CopyOnWriteArraySet<>();
+    /**
+     * frames a gateway may fall behind before it is disconnected, a handshake takes one per group.
+     */
+    private static final int OUTBOUND_CAPACITY = 256;
+
+    private static final long SEND_TIMEOUT_MILLIS = 10_000;
 
-    private static Session session;
+    private static final ConcurrentMap<String, WebsocketSessionQueue> SESSION_MAP = new ConcurrentHashMap<>();
 
     /**
      * On open.
@@ -58,7 +62,7 @@ public class WebsocketCollector {
     @OnOpen
     public void onOpen(final Session session) {
         LOGGER.info("websocket on open successful....");
-        SESSION_SET.add(session);
+        SESSION_MAP.put(session.getId(), new WebsocketSessionQueue(session, OUTBOUND_CAPACITY, SEND_TIMEOUT_MILLIS));
     }
 
     /**
@@ -69,9 +73,25 @@ public class WebsocketCollector {
      */
     @OnMessage
     public void onMessage(final String message, final Session session) {
-        if (message.equals(DataEventTypeEnum.MYSELF.name())) {
-            WebsocketCollector.session = session;
-            SpringBeanUtils.getInstance().getBean(SyncDataService.class).syncAll(DataEventTypeEnum.MYSELF);
+        boolean binary = message.equals(ConfigBinaryCodec.HANDSHAKE);
+        if (binary || message.equals(DataEventTypeEnum.MYSELF.name())) {
+            // answer the handshake from the materialized snapshot instead of reloading every table.
+            // the frames go through the session queue, so they are never written concurrently with a broadcast.
+            WebsocketSessionQueue queue = SESSION_MAP.get(session.getId());
+            if (queue == null) {
+                return;
+            }
+            if (binary) {
+                queue.useBinary();
+            }
+            WebsocketDataChangedListener listener = SpringBeanUtils.getInstance().getBean(WebsocketDataChangedListener.class);
+            for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+                if (binary) {
+                    queue.offerBinary(listener.encodeWebsocketData(group));
+                } else {
+                    queue.offerText(listener.serializeWebsocketData(group, DataEventTypeEnum.MYSELF));
+                }
+            }
         }
     }
 
@@ -82,8 +102,7 @@ public class WebsocketCollector {
      */
     @OnClose
     public void onClose(final Session session) {
-        SESSION_SET.remove(session);
-        WebsocketCollector.session = null;
+        release(session);
     }
 
     /**
@@ -94,34 +113,32 @@ public class WebsocketCollector {
      */
     @OnError
     public void onError(final Session session, final Throwable error) {
-        SESSION_SET.remove(session);
-        WebsocketCollector.session = null;
+        release(session);
         LOGGER.error("websocket collection error:", error);
     }
 
     /**
      * Send.
+     * The frame is encoded at most once per wire format and the same bytes are queued on every session,
+     * the call never waits on the network.
      *
-     * @param message the message
-     * @param type    the type
+     * @param frame the frame
+     * @param type  the type
      */
-    public static void send(final String message, final DataEventTypeEnum type) {
-        if (StringUtils.isNotBlank(message)) {
-            if (DataEventTypeEnum.MYSELF == type) {
-                try {
-                    session.getBasicRemote().sendText(message);
-                } catch (IOException e) {
-                    LOGGER.error("websocket send result is exception :", e);
-                }
-                return;
-            }
-            for (Session session : SESSION_SET) {
-                try {
-                    session.getBasicRemote().sendText(message);
-                } catch (IOException e) {
-                    LOGGER.error("websocket send result is exception :", e);
-                }
-            }
+    static void send(final WebsocketFrame frame, final DataEventTypeEnum type) {
+        // the handshake of a single gateway is answered in onMessage, never broadcast it.
+        if (DataEventTypeEnum.MYSELF == type) {
+            return;
+        }
+        for (WebsocketSessionQueue queue : SESSION_MAP.values()) {
+            queue.offer(frame);
+        }
+    }
+
+    private static void release(final Session session) {
+        WebsocketSessionQueue queue = SESSION_MAP.remove(session.getId());
+        if (queue != null) {
+            queue.discard();
         }
     }
 }
@@ -19,60 +19,77 @@ package org.dromara.soul.admin.listener.websocket;
 
 import org.dromara.soul.admin.listener.AbstractDataChangedListener;
 import org.dromara.soul.admin.listener.DataChangedListener;
+import org.dromara.soul.common.concurrent.SoulThreadFactory;
 import org.dromara.soul.common.dto.AppAuthData;
 import org.dromara.soul.common.dto.MetaData;
 import org.dromara.soul.common.dto.PluginData;
 import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
-import org.dromara.soul.common.dto.WebsocketData;
 import org.dromara.soul.common.enums.ConfigGroupEnum;
 import org.dromara.soul.common.enums.DataEventTypeEnum;
-import org.dromara.soul.common.utils.GsonUtils;
+import org.springframework.beans.factory.DisposableBean;
 
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The type Websocket data changed listener.
+ * The materialized snapshot is kept up to date by the super class before every broadcast,
+ * a gateway handshake is served from it by {@link WebsocketCollector}.
+ * The snapshot is also rebuilt from the database periodically, and a group that drifted is broadcast as a refresh.
  *
  * @author xiaoyu(Myth)
  * @author huangxiaofeng
  * @since 2.0.0
  */
-public class WebsocketDataChangedListener extends AbstractDataChangedListener implements DataChangedListener {
+public class WebsocketDataChangedListener extends AbstractDataChangedListener implements DataChangedListener, DisposableBean {
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Instantiates a new Websocket data changed listener.
+     */
+    public WebsocketDataChangedListener() {
+        this.scheduler = new ScheduledThreadPoolExecutor(1,
+                SoulThreadFactory.create("websocket-reload", true));
+        scheduler.scheduleWithFixedDelay(() -> {
+            for (ConfigGroupEnum group : this.reloadFromDatabase()) {
+                WebsocketCollector.send(new WebsocketFrame(group, DataEventTypeEnum.REFRESH,
+                        fetchConfig(group).getData()), DataEventTypeEnum.REFRESH);
+            }
+        }, 300, 300, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
 
     @Override
-    public void onPluginChanged(final List<PluginData> pluginDataList, final DataEventTypeEnum eventType) {
-        WebsocketData<PluginData> websocketData =
-                new WebsocketData<>(ConfigGroupEnum.PLUGIN.name(), eventType.name(), pluginDataList);
-        WebsocketCollector.send(GsonUtils.getInstance().toJson(websocketData), eventType);
+    protected void afterPluginChanged(final List<PluginData> pluginDataList, final DataEventTypeEnum eventType) {
+        WebsocketCollector.send(new WebsocketFrame(ConfigGroupEnum.PLUGIN, eventType, pluginDataList), eventType);
     }
 
     @Override
-    public void onSelectorChanged(final List<SelectorData> selectorDataList, final DataEventTypeEnum eventType) {
-        WebsocketData<SelectorData> websocketData =
-                new WebsocketData<>(ConfigGroupEnum.SELECTOR.name(), eventType.name(), selectorDataList);
-        WebsocketCollector.send(GsonUtils.getInstance().toJson(websocketData), eventType);
+    protected void afterSelectorChanged(final List<SelectorData> selectorDataList, final DataEventTypeEnum eventType) {
+        WebsocketCollector.send(new WebsocketFrame(ConfigGroupEnum.SELECTOR, eventType, selectorDataList), eventType);
     }
 
     @Override
-    public void onRuleChanged(final List<RuleData> ruleDataList, final DataEventTypeEnum eventType) {
-        WebsocketData<RuleData> configData =
-                new WebsocketData<>(ConfigGroupEnum.RULE.name(), eventType.name(), ruleDataList);
-        WebsocketCollector.send(GsonUtils.getInstance().toJson(configData), eventType);
+    protected void afterRuleChanged(final List<RuleData> ruleDataList, final DataEventTypeEnum eventType) {
+        WebsocketCollector.send(new WebsocketFrame(ConfigGroupEnum.RULE, eventType, ruleDataList), eventType);
     }
 
     @Override
-    public void onAppAuthChanged(final List<AppAuthData> appAuthDataList, final DataEventTypeEnum eventType) {
-        WebsocketData<AppAuthData> configData =
-                new WebsocketData<>(ConfigGroupEnum.APP_AUTH.name(), eventType.name(), appAuthDataList);
-        WebsocketCollector.send(GsonUtils.getInstance().toJson(configData), eventType);
+    protected void afterAppAuthChanged(final List<AppAuthData> appAuthDataList, final DataEventTypeEnum eventType) {
+        WebsocketCollector.send(new WebsocketFrame(ConfigGroupEnum.APP_AUTH, eventType, appAuthDataList), eventType);
     }
 
     @Override
-    public void onMetaDataChanged(final List<MetaData> metaDataList, final DataEventTypeEnum eventType) {
-        WebsocketData<MetaData> configData =
-                new WebsocketData<>(ConfigGroupEnum.META_DATA.name(), eventType.name(), metaDataList);
-        WebsocketCollector.send(GsonUtils.getInstance().toJson(configData), eventType);
+    protected void afterMetaDataChanged(final List<MetaData> metaDataList, final DataEventTypeEnum eventType) {
+        WebsocketCollector.send(new WebsocketFrame(ConfigGroupEnum.META_DATA, eventType, metaDataList), eventType);
     }
 
 }
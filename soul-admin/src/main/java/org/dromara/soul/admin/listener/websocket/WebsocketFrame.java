@@ -0,0 +1,81 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.dromara.soul.admin.listener.websocket;
+
+import org.dromara.soul.common.dto.WebsocketData;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.dromara.soul.common.enums.DataEventTypeEnum;
+import org.dromara.soul.common.utils.ConfigBinaryCodec;
+import org.dromara.soul.common.utils.GsonUtils;
+
+import java.util.List;
+
+/**
+ * One broadcast change, encoded at most once per wire format and shared by every session.
+ *
+ * @author xiaoyu
+ */
+final class WebsocketFrame {
+
+    private final ConfigGroupEnum group;
+
+    private final DataEventTypeEnum eventType;
+
+    private final List<?> data;
+
+    private String text;
+
+    private byte[] binary;
+
+    /**
+     * Instantiates a new Websocket frame.
+     *
+     * @param group     the group
+     * @param eventType the event type
+     * @param data      the changed records
+     */
+    WebsocketFrame(final ConfigGroupEnum group, final DataEventTypeEnum eventType, final List<?> data) {
+        this.group = group;
+        this.eventType = eventType;
+        this.data = data;
+    }
+
+    /**
+     * The {@link WebsocketData} json.
+     *
+     * @return the text frame
+     */
+    synchronized String text() {
+        if (text == null) {
+            text = GsonUtils.getInstance().toJson(new WebsocketData<>(group.name(), eventType.name(), data));
+        }
+        return text;
+    }
+
+    /**
+     * The {@link ConfigBinaryCodec} encoding.
+     *
+     * @return the binary frame
+     */
+    synchronized byte[] binary() {
+        if (binary == null) {
+            binary = ConfigBinaryCodec.encode(group, eventType, data);
+        }
+        return binary;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.dromara.soul.admin.listener.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.websocket.CloseReason;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * The bounded outbound queue of one gateway session.
+ * At most one asynchronous send is in flight per session, the next frame is written from its completion,
+ * so a slow gateway only fills its own queue and never delays the others.
+ * A session whose queue overflows, or whose pending send times out, is closed as a slow consumer
+ * and resyncs from the snapshot when it reconnects.
+ *
+ * @author xiaoyu
+ */
+class WebsocketSessionQueue implements SendHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebsocketSessionQueue.class);
+
+    private final Session session;
+
+    private final int capacity;
+
+    private final Queue<Outbound> frames;
+
+    private volatile boolean binary;
+
+    private boolean sending;
+
+    private boolean closed;
+
+    /**
+     * Instantiates a new Websocket session queue.
+     *
+     * @param session           the session
+     * @param capacity          the max frames waiting behind the one in flight
+     * @param sendTimeoutMillis the max millis a single frame may stay in flight
+     */
+    WebsocketSessionQueue(final Session session, final int capacity, final long sendTimeoutMillis) {
+        this.session = session;
+        this.capacity = capacity;
+        this.frames = new ArrayDeque<>(capacity);
+        session.getAsyncRemote().setSendTimeout(sendTimeoutMillis);
+    }
+
+    /**
+     * Whether the gateway negotiated binary frames at its handshake.
+     *
+     * @return true if binary
+     */
+    boolean isBinary() {
+        return binary;
+    }
+
+    /**
+     * Switch the session to binary frames.
+     */
+    void useBinary() {
+        binary = true;
+    }
+
+    /**
+     * Queue a broadcast in the wire format of this session.
+     *
+     * @param frame the frame
+     */
+    void offer(final WebsocketFrame frame) {
+        if (binary) {
+            offerBinary(frame.binary());
+        } else {
+            offerText(frame.text());
+        }
+    }
+
+    /**
+     * Queue a pre-serialized text frame, the same instance is shared by every session of a broadcast.
+     *
+     * @param text the text frame
+     */
+    void offerText(final String text) {
+        enqueue(new Outbound(text, null));
+    }
+
+    /**
+     * Queue a pre-encoded binary frame, the same bytes are shared by every session of a broadcast.
+     *
+     * @param bytes the binary frame
+     */
+    void offerBinary(final byte[] bytes) {
+        enqueue(new Outbound(null, bytes));
+    }
+
+    private void enqueue(final Outbound frame) {
+        Outbound next;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (sending) {
+                if (frames.size() >= capacity) {
+                    closed = true;
+                    frames.clear();
+                    next = null;
+                } else {
+                    frames.add(frame);
+                    return;
+                }
+            } else {
+                sending = true;
+                next = frame;
+            }
+        }
+        if (next == null) {
+            close("outbound queue is full");
+        } else {
+            write(next);
+        }
+    }
+
+    /**
+     * Drop every pending frame, the session is gone.
+     */
+    synchronized void discard() {
+        closed = true;
+        frames.clear();
+    }
+
+    @Override
+    public void onResult(final SendResult result) {
+        if (!result.isOK()) {
+            synchronized (this) {
+                closed = true;
+                frames.clear();
+            }
+            LOGGER.warn("websocket send to session {} failed : {}", session.getId(), result.getException().getMessage());
+            close("send timed out or failed");
+            return;
+        }
+        Outbound next;
+        synchronized (this) {
+            next = closed ? null : frames.poll();
+            sending = next != null;
+        }
+        if (next != null) {
+            write(next);
+        }
+    }
+
+    private void write(final Outbound frame) {
+        try {
+            if (frame.bytes != null) {
+                session.getAsyncRemote().sendBinary(ByteBuffer.wrap(frame.bytes), this);
+            } else {
+                session.getAsyncRemote().sendText(frame.text, this);
+            }
+        } catch (IllegalStateException e) {
+            // the session was closed underneath, release the queue.
+            discard();
+        }
+    }
+
+    private void close(final String reason) {
+        LOGGER.warn("websocket session {} is a slow consumer, close it : {}", session.getId(), reason);
+        try {
+            session.close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, reason));
+        } catch (IOException e) {
+            LOGGER.error("websocket close session is exception :", e);
+        }
+    }
+
+    /**
+     * A queued frame, exactly one of its fields is set.
+     */
+    private static final class Outbound {
+
+        private final String text;
+
+        private final byte[] bytes;
+
+        Outbound(final String text, final byte[] bytes) {
+            this.text = text;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -19,13 +19,12 @@
 
 package org.dromara.soul.admin.listener.zookeeper;
 
-import org.I0Itec.zkclient.ZkClient;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.dromara.soul.admin.entity.SelectorDO;
 import org.dromara.soul.admin.listener.DataChangedEvent;
 import org.dromara.soul.admin.mapper.SelectorMapper;
 import org.dromara.soul.admin.service.SelectorService;
+import org.dromara.soul.common.concurrent.SoulThreadFactory;
 import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.dto.convert.DivideUpstream;
 import org.dromara.soul.common.enums.ConfigGroupEnum;
@@ -33,33 +32,37 @@ import org.dromara.soul.common.enums.DataEventTypeEnum;
 import org.dromara.soul.common.utils.GsonUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * The type Http service discovery.
+ * The instances of every context path are cached and changed by the registry diffs,
+ * a burst of changes is applied once per debounce window and only the changed selectors are published.
  *
  * @author xiaoyu
  */
 @Component
-@SuppressWarnings("all")
-public class HttpServiceDiscovery implements InitializingBean {
-
-    private static final String ROOT = "/soul/register";
+public class HttpServiceDiscovery implements InitializingBean, DisposableBean, ServiceRegistry.Listener {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpServiceDiscovery.class);
 
-    private ZkClient zkClient;
-
     private final SelectorService selectorService;
 
     private final SelectorMapper selectorMapper;
@@ -68,24 +71,48 @@ public class HttpServiceDiscovery implements InitializingBean {
 
     private final Environment env;
 
-    private volatile List<String> contextPathList;
+    private final ObjectProvider<ServiceRegistry> registryProvider;
+
+    /**
+     * context path -> instance id -> uri.
+     */
+    private final Map<String, Map<String, String>> instances = new HashMap<>();
+
+    private final Set<String> changedContextPaths = new HashSet<>();
+
+    /**
+     * the uri list last written to the selector of each context path.
+     */
+    private final Map<String, List<String>> appliedUris = new HashMap<>();
+
+    private ScheduledThreadPoolExecutor executor;
+
+    private ServiceRegistry registry;
+
+    private long debounceMillis;
+
+    private boolean scheduled;
 
     /**
      * Instantiates a new Http service discovery.
      *
-     * @param selectorService the selector service
-     * @param selectorMapper  the selector mapper
-     * @param eventPublisher  the event publisher
+     * @param selectorService  the selector service
+     * @param selectorMapper   the selector mapper
+     * @param eventPublisher   the event publisher
+     * @param env              the env
+     * @param registryProvider the custom service registry, if any
      */
     @Autowired(required = false)
     public HttpServiceDiscovery(final SelectorService selectorService,
                                 final SelectorMapper selectorMapper,
                                 final ApplicationEventPublisher eventPublisher,
-                                final Environment env) {
+                                final Environment env,
+                                final ObjectProvider<ServiceRegistry> registryProvider) {
         this.selectorService = selectorService;
         this.selectorMapper = selectorMapper;
         this.eventPublisher = eventPublisher;
         this.env = env;
+        this.registryProvider = registryProvider;
     }
 
     @Override
@@ -93,20 +120,11 @@ public class HttpServiceDiscovery implements InitializingBean {
         try {
             Boolean register = env.getProperty("soul.http.register", Boolean.class, false);
             if (register) {
-                String zookeeperUrl = env.getProperty("soul.http.zookeeperUrl", "");
-                if (StringUtils.isNoneBlank(zookeeperUrl)) {
-                    zkClient = new ZkClient(zookeeperUrl, 5000, 2000);
-                    boolean exists = zkClient.exists(ROOT);
-                    if (!exists) {
-                        zkClient.createPersistent(ROOT, true);
-                    }
-                    contextPathList = zkClient.getChildren(ROOT);
-                    updateServerNode(contextPathList);
-                    zkClient.subscribeChildChanges(ROOT, (parentPath, childs) -> {
-                        final List<String> addSubscribePath = addSubscribePath(contextPathList, childs);
-                        updateServerNode(addSubscribePath);
-                        contextPathList = childs;
-                    });
+                registry = registryProvider.getIfAvailable(this::buildRegistry);
+                if (Objects.nonNull(registry)) {
+                    debounceMillis = env.getProperty("soul.http.debounceMillis", Long.class, 500L);
+                    executor = new ScheduledThreadPoolExecutor(1, SoulThreadFactory.create("http-service-discovery", true));
+                    registry.subscribe(this);
                 }
             }
         } catch (Exception e) {
@@ -114,75 +132,88 @@ public class HttpServiceDiscovery implements InitializingBean {
         }
     }
 
-    private void updateServerNode(final List<String> serverNodeList) {
-        for (String children : serverNodeList) {
-            String serverPath = buildServerPath(children);
-            List<String> realPath = zkClient.getChildren(serverPath);
-            List<String> collect = realPath.stream().map(r -> buildRealPath(children, r)).collect(Collectors.toList());
-            updateServiceList(collect, "/" + children);
-            subscribeChildChanges(serverPath);
+    @Override
+    public void destroy() {
+        if (Objects.nonNull(registry)) {
+            registry.close();
+            executor.shutdownNow();
         }
     }
 
-    private void subscribeChildChanges(final String children) {
-        zkClient.subscribeChildChanges(children, (parentPath, currentChilds) -> {
-            String[] split = StringUtils.split(parentPath, "/");
-            String contextPath = "/" + split[2];
-            if (CollectionUtils.isEmpty(currentChilds)) {
-                //表示一个都没了
-                updateSelectorHandler(contextPath, null);
-            } else {
-                List<String> uriList = new ArrayList<>();
-                for (String subNode : currentChilds) {
-                    // 读取节点内容
-                    String data = zkClient.readData(parentPath + "/" + subNode);
-                    uriList.add(data);
-                }
-                updateSelectorHandler(contextPath, uriList);
-            }
-        });
+    @Override
+    public synchronized void onAdded(final String contextPath, final String instanceId, final String uri) {
+        instances.computeIfAbsent(contextPath, k -> new HashMap<>()).put(instanceId, uri);
+        changed(contextPath);
     }
 
-    private List<String> addSubscribePath(final List<String> alreadyChildren, final List<String> currentChildren) {
-        if (CollectionUtils.isEmpty(alreadyChildren)) {
-            return currentChildren;
+    @Override
+    public synchronized void onRemoved(final String contextPath, final String instanceId) {
+        Map<String, String> uris = instances.get(contextPath);
+        if (Objects.nonNull(uris) && Objects.nonNull(uris.remove(instanceId))) {
+            changed(contextPath);
         }
-        return currentChildren.stream().filter(current -> alreadyChildren.stream().noneMatch(current::equals)).collect(Collectors.toList());
     }
 
-    private void updateServiceList(final List<String> children, final String contextPath) {
-        try {
-            List<String> uriList = new ArrayList<>();
-            for (String subNode : children) {
-                // 读取节点内容
-                String data = zkClient.readData(subNode);
-                uriList.add(data);
-            }
-            updateSelectorHandler(contextPath, uriList);
-        } catch (Exception e) {
-            LOGGER.error("更新订阅服务失败....", e);
+    private ServiceRegistry buildRegistry() {
+        if ("file".equals(env.getProperty("soul.http.registry"))) {
+            return new LocalFileServiceRegistry(env.getProperty("soul.http.registryFile", "soul-register.properties"));
         }
+        String zookeeperUrl = env.getProperty("soul.http.zookeeperUrl", "");
+        return StringUtils.isNoneBlank(zookeeperUrl) ? new ZookeeperServiceRegistry(zookeeperUrl) : null;
     }
 
-    private void updateSelectorHandler(final String contextPath, final List<String> uriList) {
-        SelectorDO selector = selectorService.findByName(contextPath);
-        if (Objects.nonNull(selector)) {
-            SelectorData selectorData = selectorService.buildByName(contextPath);
-            if (uriList == null) {
-                selector.setHandle("");
-                selectorData.setHandle("");
-            } else {
-                String handler = GsonUtils.getInstance().toJson(buildDivideUpstream(uriList));
-                selector.setHandle(handler);
-                selectorData.setHandle(handler);
-            }
-            selectorMapper.updateSelective(selector);
+    private void changed(final String contextPath) {
+        changedContextPaths.add(contextPath);
+        if (!scheduled) {
+            scheduled = true;
+            executor.schedule(this::applyChanged, debounceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
 
-            //发送更新事件
+    private void applyChanged() {
+        Map<String, List<String>> changedUris = new HashMap<>();
+        synchronized (this) {
+            scheduled = false;
+            for (String contextPath : changedContextPaths) {
+                List<String> uris = instances.getOrDefault(contextPath, new HashMap<>()).values().stream()
+                        .distinct().sorted().collect(Collectors.toList());
+                if (!uris.equals(appliedUris.get(contextPath))) {
+                    changedUris.put(contextPath, uris);
+                }
+            }
+            changedContextPaths.clear();
+        }
+        List<SelectorData> selectorDataList = new ArrayList<>();
+        changedUris.forEach((contextPath, uris) -> {
+            try {
+                SelectorData selectorData = updateSelectorHandler(contextPath, uris);
+                if (Objects.nonNull(selectorData)) {
+                    selectorDataList.add(selectorData);
+                    synchronized (this) {
+                        appliedUris.put(contextPath, uris);
+                    }
+                }
+            } catch (Exception e) {
+                LOGGER.error("更新订阅服务失败....", e);
+            }
+        });
+        if (!selectorDataList.isEmpty()) {
             // publish change event.
-            eventPublisher.publishEvent(new DataChangedEvent(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.UPDATE,
-                    Collections.singletonList(selectorData)));
+            eventPublisher.publishEvent(new DataChangedEvent(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.UPDATE, selectorDataList));
+        }
+    }
+
+    private SelectorData updateSelectorHandler(final String contextPath, final List<String> uriList) {
+        SelectorDO selector = selectorService.findByName(contextPath);
+        if (Objects.isNull(selector)) {
+            return null;
         }
+        String handler = uriList.isEmpty() ? "" : GsonUtils.getInstance().toJson(buildDivideUpstream(uriList));
+        selector.setHandle(handler);
+        selectorMapper.updateSelective(selector);
+        SelectorData selectorData = selectorService.buildByName(contextPath);
+        selectorData.setHandle(handler);
+        return selectorData;
     }
 
     private List<DivideUpstream> buildDivideUpstream(final List<String> uriList) {
@@ -195,12 +226,4 @@ public class HttpServiceDiscovery implements InitializingBean {
             return divideUpstream;
         }).collect(Collectors.toList());
     }
-
-    private String buildServerPath(final String serverNode) {
-        return ROOT + "/" + serverNode;
-    }
-
-    private String buildRealPath(final String serverNode, final String path) {
-        return ROOT + "/" + serverNode + "/" + path;
-    }
 }
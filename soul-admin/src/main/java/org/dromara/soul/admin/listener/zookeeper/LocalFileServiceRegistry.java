@@ -0,0 +1,119 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.admin.listener.zookeeper;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.soul.common.concurrent.SoulThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A service registry read from a local properties file, such as {@code /http=127.0.0.1:8188,127.0.0.1:8189}.
+ * The file is checked every second, it is meant for testing without zookeeper.
+ *
+ * @author xiaoyu
+ */
+class LocalFileServiceRegistry implements ServiceRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalFileServiceRegistry.class);
+
+    private final Path path;
+
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+            SoulThreadFactory.create("local-file-registry", true));
+
+    private Map<String, Set<String>> instances = Collections.emptyMap();
+
+    private long lastModified = -1;
+
+    /**
+     * Instantiates a new Local file service registry.
+     *
+     * @param file the registry file
+     */
+    LocalFileServiceRegistry(final String file) {
+        this.path = Paths.get(file);
+    }
+
+    @Override
+    public void subscribe(final Listener listener) {
+        executor.scheduleWithFixedDelay(() -> reload(listener), 0, 1, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void reload(final Listener listener) {
+        try {
+            long modified = Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : 0;
+            if (modified == lastModified) {
+                return;
+            }
+            lastModified = modified;
+            Map<String, Set<String>> current = modified == 0 ? Collections.emptyMap() : read();
+            current.forEach((contextPath, uris) -> {
+                Set<String> known = instances.getOrDefault(contextPath, Collections.emptySet());
+                uris.stream().filter(uri -> !known.contains(uri)).forEach(uri -> listener.onAdded(contextPath, uri, uri));
+            });
+            instances.forEach((contextPath, uris) -> {
+                Set<String> kept = current.getOrDefault(contextPath, Collections.emptySet());
+                uris.stream().filter(uri -> !kept.contains(uri)).forEach(uri -> listener.onRemoved(contextPath, uri));
+            });
+            instances = current;
+        } catch (IOException e) {
+            LOGGER.error("read the service registry file {} error:", path, e);
+        }
+    }
+
+    private Map<String, Set<String>> read() throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, Set<String>> current = new HashMap<>();
+        for (String contextPath : properties.stringPropertyNames()) {
+            Set<String> uris = new HashSet<>();
+            for (String uri : StringUtils.split(properties.getProperty(contextPath), ',')) {
+                if (StringUtils.isNotBlank(uri)) {
+                    uris.add(uri.trim());
+                }
+            }
+            current.put(contextPath, uris);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.admin.listener.zookeeper;
+
+/**
+ * The registry the http services register their instances to.
+ * A {@code ServiceRegistry} bean replaces the registry configured by {@code soul.http.registry}.
+ *
+ * @author xiaoyu
+ */
+public interface ServiceRegistry {
+
+    /**
+     * Subscribe the instances, the current instances are reported as added first.
+     *
+     * @param listener the listener
+     */
+    void subscribe(Listener listener);
+
+    /**
+     * Close the registry.
+     */
+    void close();
+
+    /**
+     * The instance change listener, it is only called with the instances that changed.
+     */
+    interface Listener {
+
+        /**
+         * An instance was added.
+         *
+         * @param contextPath the context path
+         * @param instanceId  the instance id, unique in its context path
+         * @param uri         the instance host:port
+         */
+        void onAdded(String contextPath, String instanceId, String uri);
+
+        /**
+         * An instance was removed.
+         *
+         * @param contextPath the context path
+         * @param instanceId  the instance id
+         */
+        void onRemoved(String contextPath, String instanceId);
+    }
+}
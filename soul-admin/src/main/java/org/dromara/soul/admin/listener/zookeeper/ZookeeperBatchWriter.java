@@ -0,0 +1,313 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.dromara.soul.admin.listener.zookeeper;
+
+import org.I0Itec.zkclient.ZkClient;
+import org.I0Itec.zkclient.serialize.ZkSerializer;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.Op;
+import org.apache.zookeeper.ZooDefs;
+import org.dromara.soul.common.concurrent.SoulThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes change sets to zookeeper in {@code multi()} transactions, off the thread that published the change.
+ * Writes are striped over single thread executors by an ordering key, so all writes of one key are applied in order.
+ * Every parent is created once, and one {@code getChildren} per parent and batch replaces the {@code exists} round trip per node.
+ * A transaction that fails, e.g. because a node was changed outside of admin, is replayed node by node.
+ *
+ * @author xiaoyu
+ */
+class ZookeeperBatchWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ZookeeperBatchWriter.class);
+
+    private static final int MAX_OPS_PER_TRANSACTION = 256;
+
+    private static final int STRIPES = 4;
+
+    private final ZkClient zkClient;
+
+    private final ZkSerializer zkSerializer;
+
+    private final Set<String> knownParents = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService[] stripes = new ExecutorService[STRIPES];
+
+    /**
+     * Instantiates a new Zookeeper batch writer.
+     *
+     * @param zkClient     the zk client
+     * @param zkSerializer the serializer of the zk client
+     */
+    ZookeeperBatchWriter(final ZkClient zkClient, final ZkSerializer zkSerializer) {
+        this.zkClient = zkClient;
+        this.zkSerializer = zkSerializer;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), SoulThreadFactory.create("zookeeper-sync-writer-" + i, true));
+        }
+    }
+
+    /**
+     * Create a batch, writes of the same ordering key must always use the same key.
+     *
+     * @return the batch
+     */
+    Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Shut down, waiting for the queued batches.
+     */
+    void close() {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+        try {
+            for (ExecutorService stripe : stripes) {
+                stripe.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void execute(final List<Action> actions) {
+        Map<String, Set<String>> children = new HashMap<>();
+        List<Op> ops = new ArrayList<>();
+        List<Action> pending = new ArrayList<>();
+        for (Action action : actions) {
+            action.collect(children, ops);
+            pending.add(action);
+            if (ops.size() >= MAX_OPS_PER_TRANSACTION) {
+                commit(ops, pending);
+                ops = new ArrayList<>();
+                pending = new ArrayList<>();
+            }
+        }
+        if (!ops.isEmpty()) {
+            commit(ops, pending);
+        }
+    }
+
+    private void commit(final List<Op> ops, final List<Action> actions) {
+        try {
+            zkClient.multi(ops);
+        } catch (RuntimeException e) {
+            LOGGER.warn("zookeeper transaction of {} ops fail, apply them one by one : {}", ops.size(), e.getMessage());
+            for (Action action : actions) {
+                try {
+                    action.applyDirectly();
+                } catch (RuntimeException ex) {
+                    LOGGER.error("zookeeper write fail :", ex);
+                }
+            }
+        }
+    }
+
+    private void ensureParent(final String parent) {
+        if (!knownParents.contains(parent)) {
+            if (!zkClient.exists(parent)) {
+                zkClient.createPersistent(parent, true);
+            }
+            knownParents.add(parent);
+        }
+    }
+
+    private Set<String> children(final Map<String, Set<String>> children, final String parent) {
+        return children.computeIfAbsent(parent, p -> zkClient.exists(p) ? new HashSet<>(zkClient.getChildren(p)) : new HashSet<>());
+    }
+
+    private static String name(final String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * The writes of one change set, split by stripe when submitted.
+     */
+    final class Batch {
+
+        private final Map<Integer, List<Action>> actions = new HashMap<>();
+
+        /**
+         * Create or update a node.
+         *
+         * @param key    the ordering key
+         * @param parent the parent path
+         * @param path   the node path
+         * @param data   the data
+         * @return this batch
+         */
+        Batch write(final String key, final String parent, final String path, final Object data) {
+            return add(key, new Write(parent, path, data));
+        }
+
+        /**
+         * Delete a node if it exists.
+         *
+         * @param key    the ordering key
+         * @param parent the parent path
+         * @param path   the node path
+         * @return this batch
+         */
+        Batch delete(final String key, final String parent, final String path) {
+            return add(key, new Delete(parent, path));
+        }
+
+        /**
+         * Delete a node and its children if it exists.
+         *
+         * @param key  the ordering key
+         * @param path the node path
+         * @return this batch
+         */
+        Batch deleteTree(final String key, final String path) {
+            return add(key, new DeleteTree(path));
+        }
+
+        /**
+         * Queue the batch, one transaction sequence per stripe.
+         */
+        void submit() {
+            actions.forEach((stripe, list) -> stripes[stripe].execute(() -> {
+                try {
+                    execute(list);
+                } catch (RuntimeException e) {
+                    LOGGER.error("zookeeper sync batch fail :", e);
+                }
+            }));
+        }
+
+        private Batch add(final String key, final Action action) {
+            actions.computeIfAbsent(Math.floorMod(key.hashCode(), STRIPES), k -> new ArrayList<>()).add(action);
+            return this;
+        }
+    }
+
+    private interface Action {
+
+        void collect(Map<String, Set<String>> children, List<Op> ops);
+
+        void applyDirectly();
+    }
+
+    private final class Write implements Action {
+
+        private final String parent;
+
+        private final String path;
+
+        private final Object data;
+
+        Write(final String parent, final String path, final Object data) {
+            this.parent = parent;
+            this.path = path;
+            this.data = data;
+        }
+
+        @Override
+        public void collect(final Map<String, Set<String>> children, final List<Op> ops) {
+            ensureParent(parent);
+            byte[] bytes = zkSerializer.serialize(data);
+            if (children(children, parent).add(name(path))) {
+                ops.add(Op.create(path, bytes, ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT));
+            } else {
+                ops.add(Op.setData(path, bytes, -1));
+            }
+        }
+
+        @Override
+        public void applyDirectly() {
+            if (!zkClient.exists(path)) {
+                zkClient.createPersistent(path, true);
+            }
+            zkClient.writeData(path, data);
+        }
+    }
+
+    private final class Delete implements Action {
+
+        private final String parent;
+
+        private final String path;
+
+        Delete(final String parent, final String path) {
+            this.parent = parent;
+            this.path = path;
+        }
+
+        @Override
+        public void collect(final Map<String, Set<String>> children, final List<Op> ops) {
+            if (children(children, parent).remove(name(path))) {
+                ops.add(Op.delete(path, -1));
+            }
+        }
+
+        @Override
+        public void applyDirectly() {
+            if (zkClient.exists(path)) {
+                zkClient.delete(path);
+            }
+        }
+    }
+
+    private final class DeleteTree implements Action {
+
+        private final String path;
+
+        DeleteTree(final String path) {
+            this.path = path;
+        }
+
+        @Override
+        public void collect(final Map<String, Set<String>> children, final List<Op> ops) {
+            knownParents.remove(path);
+            if (!zkClient.exists(path)) {
+                return;
+            }
+            for (String child : children(children, path)) {
+                ops.add(Op.delete(path + "/" + child, -1));
+            }
+            ops.add(Op.delete(path, -1));
+            children.put(path, new HashSet<>());
+        }
+
+        @Override
+        public void applyDirectly() {
+            knownParents.remove(path);
+            if (zkClient.exists(path)) {
+                zkClient.deleteRecursive(path);
+            }
+        }
+    }
+}
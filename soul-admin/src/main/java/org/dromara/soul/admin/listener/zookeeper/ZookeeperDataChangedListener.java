@@ -18,6 +18,7 @@
 package org.dromara.soul.admin.listener.zookeeper;
 
 import org.I0Itec.zkclient.ZkClient;
+import org.I0Itec.zkclient.serialize.ZkSerializer;
 import org.dromara.soul.admin.listener.DataChangedListener;
 import org.dromara.soul.common.constant.ZkPathConstants;
 import org.dromara.soul.common.dto.AppAuthData;
@@ -26,135 +27,103 @@ import org.dromara.soul.common.dto.PluginData;
 import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.enums.DataEventTypeEnum;
+import org.springframework.beans.factory.DisposableBean;
 
 import java.util.List;
 
 /**
  * Use zookeeper to push data changes.
+ * Every change set is written asynchronously in batched transactions by {@link ZookeeperBatchWriter},
+ * plugins, selectors and rules are ordered by plugin name, app auths and meta data by their node.
  *
  * @author huangxiaofeng
  * @author xiaoyu
  */
-public class ZookeeperDataChangedListener implements DataChangedListener {
+public class ZookeeperDataChangedListener implements DataChangedListener, DisposableBean {
 
-    private final ZkClient zkClient;
+    private final ZookeeperBatchWriter writer;
 
-    public ZookeeperDataChangedListener(final ZkClient zkClient) {
-        this.zkClient = zkClient;
+    public ZookeeperDataChangedListener(final ZkClient zkClient, final ZkSerializer zkSerializer) {
+        this.writer = new ZookeeperBatchWriter(zkClient, zkSerializer);
     }
 
     @Override
     public void onAppAuthChanged(final List<AppAuthData> changed, final DataEventTypeEnum eventType) {
+        ZookeeperBatchWriter.Batch batch = writer.batch();
         for (AppAuthData data : changed) {
-            // delete
-            if (eventType == DataEventTypeEnum.DELETE) {
-                String pluginPath = ZkPathConstants.buildAppAuthPath(data.getAppKey());
-                if (zkClient.exists(pluginPath)) {
-                    zkClient.delete(pluginPath);
-                }
-                continue;
-            }
-
-            // create or update
             String appAuthPath = ZkPathConstants.buildAppAuthPath(data.getAppKey());
-            if (!zkClient.exists(appAuthPath)) {
-                zkClient.createPersistent(appAuthPath, true);
+            if (eventType == DataEventTypeEnum.DELETE) {
+                batch.delete(appAuthPath, ZkPathConstants.APP_AUTH_PARENT, appAuthPath);
+            } else {
+                batch.write(appAuthPath, ZkPathConstants.APP_AUTH_PARENT, appAuthPath, data);
             }
-            zkClient.writeData(appAuthPath, data);
         }
+        batch.submit();
     }
 
     @Override
     public void onMetaDataChanged(final List<MetaData> changed, final DataEventTypeEnum eventType) {
+        ZookeeperBatchWriter.Batch batch = writer.batch();
         for (MetaData data : changed) {
-            // delete
-            if (eventType == DataEventTypeEnum.DELETE) {
-                String path = ZkPathConstants.buildMetaDataPath(data.getAppName(), data.getServiceName(), data.getMethodName());
-                if (zkClient.exists(path)) {
-                    zkClient.delete(path);
-                }
-                continue;
-            }
-            // create or update
             String metaDataPath = ZkPathConstants.buildMetaDataPath(data.getAppName(), data.getServiceName(), data.getMethodName());
-            if (!zkClient.exists(metaDataPath)) {
-                zkClient.createPersistent(metaDataPath, true);
+            if (eventType == DataEventTypeEnum.DELETE) {
+                batch.delete(metaDataPath, ZkPathConstants.META_DATA, metaDataPath);
+            } else {
+                batch.write(metaDataPath, ZkPathConstants.META_DATA, metaDataPath, data);
             }
-            zkClient.writeData(metaDataPath, data);
         }
+        batch.submit();
     }
 
     @Override
     public void onPluginChanged(final List<PluginData> changed, final DataEventTypeEnum eventType) {
+        ZookeeperBatchWriter.Batch batch = writer.batch();
         for (PluginData data : changed) {
-            // delete
-            if (eventType == DataEventTypeEnum.DELETE) {
-                String pluginPath = ZkPathConstants.buildPluginPath(data.getName());
-                if (zkClient.exists(pluginPath)) {
-                    zkClient.deleteRecursive(pluginPath);
-                }
-                String selectorParentPath = ZkPathConstants.buildSelectorParentPath(data.getName());
-                if (zkClient.exists(selectorParentPath)) {
-                    zkClient.deleteRecursive(selectorParentPath);
-                }
-                String ruleParentPath = ZkPathConstants.buildRuleParentPath(data.getName());
-                if (zkClient.exists(ruleParentPath)) {
-                    zkClient.deleteRecursive(ruleParentPath);
-                }
-                continue;
-            }
-
-            // update
             String pluginPath = ZkPathConstants.buildPluginPath(data.getName());
-            if (!zkClient.exists(pluginPath)) {
-                zkClient.createPersistent(pluginPath, true);
+            if (eventType == DataEventTypeEnum.DELETE) {
+                batch.deleteTree(data.getName(), pluginPath)
+                        .deleteTree(data.getName(), ZkPathConstants.buildSelectorParentPath(data.getName()))
+                        .deleteTree(data.getName(), ZkPathConstants.buildRuleParentPath(data.getName()));
+            } else {
+                batch.write(data.getName(), ZkPathConstants.PLUGIN_PARENT, pluginPath, data);
             }
-            zkClient.writeData(pluginPath, data);
         }
+        batch.submit();
     }
 
     @Override
     public void onSelectorChanged(final List<SelectorData> changed, final DataEventTypeEnum eventType) {
+        ZookeeperBatchWriter.Batch batch = writer.batch();
         for (SelectorData data : changed) {
-            if (eventType == DataEventTypeEnum.DELETE) {
-                String selectorRealPath = ZkPathConstants.buildSelectorRealPath(data.getPluginName(), data.getId());
-                if (zkClient.exists(selectorRealPath)) {
-                    zkClient.delete(selectorRealPath);
-                }
-                continue;
-            }
             String selectorParentPath = ZkPathConstants.buildSelectorParentPath(data.getPluginName());
-            if (!zkClient.exists(selectorParentPath)) {
-                zkClient.createPersistent(selectorParentPath, true);
-            }
             String selectorRealPath = ZkPathConstants.buildSelectorRealPath(data.getPluginName(), data.getId());
-            if (!zkClient.exists(selectorRealPath)) {
-                zkClient.createPersistent(selectorRealPath, true);
+            if (eventType == DataEventTypeEnum.DELETE) {
+                batch.delete(data.getPluginName(), selectorParentPath, selectorRealPath);
+            } else {
+                batch.write(data.getPluginName(), selectorParentPath, selectorRealPath, data);
             }
-            zkClient.writeData(selectorRealPath, data);
         }
+        batch.submit();
     }
 
     @Override
     public void onRuleChanged(final List<RuleData> changed, final DataEventTypeEnum eventType) {
+        ZookeeperBatchWriter.Batch batch = writer.batch();
         for (RuleData data : changed) {
-            if (eventType == DataEventTypeEnum.DELETE) {
-                final String rulePath = ZkPathConstants.buildRulePath(data.getPluginName(), data.getSelectorId(), data.getId());
-                if (zkClient.exists(rulePath)) {
-                    zkClient.delete(rulePath);
-                }
-                continue;
-            }
             String ruleParentPath = ZkPathConstants.buildRuleParentPath(data.getPluginName());
-            if (!zkClient.exists(ruleParentPath)) {
-                zkClient.createPersistent(ruleParentPath, true);
-            }
             String ruleRealPath = ZkPathConstants.buildRulePath(data.getPluginName(), data.getSelectorId(), data.getId());
-            if (!zkClient.exists(ruleRealPath)) {
-                zkClient.createPersistent(ruleRealPath, true);
+            if (eventType == DataEventTypeEnum.DELETE) {
+                batch.delete(data.getPluginName(), ruleParentPath, ruleRealPath);
+            } else {
+                batch.write(data.getPluginName(), ruleParentPath, ruleRealPath, data);
             }
-            zkClient.writeData(ruleRealPath, data);
         }
+        batch.submit();
+    }
+
+    @Override
+    public void destroy() {
+        writer.close();
     }
 
 }
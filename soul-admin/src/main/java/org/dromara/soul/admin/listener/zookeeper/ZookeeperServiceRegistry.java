@@ -0,0 +1,111 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.admin.listener.zookeeper;
+
+import org.I0Itec.zkclient.ZkClient;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The zookeeper service registry, every instance is an ephemeral node below its context path node.
+ * Only the nodes that joined are read, the data of an instance node never changes.
+ *
+ * @author xiaoyu
+ */
+class ZookeeperServiceRegistry implements ServiceRegistry {
+
+    private static final String ROOT = "/soul/register";
+
+    private final String zookeeperUrl;
+
+    private final Map<String, Set<String>> children = new ConcurrentHashMap<>();
+
+    private ZkClient zkClient;
+
+    /**
+     * Instantiates a new Zookeeper service registry.
+     *
+     * @param zookeeperUrl the zookeeper url
+     */
+    ZookeeperServiceRegistry(final String zookeeperUrl) {
+        this.zookeeperUrl = zookeeperUrl;
+    }
+
+    @Override
+    public void subscribe(final Listener listener) {
+        zkClient = new ZkClient(zookeeperUrl, 5000, 2000);
+        if (!zkClient.exists(ROOT)) {
+            zkClient.createPersistent(ROOT, true);
+        }
+        List<String> contexts = zkClient.subscribeChildChanges(ROOT, (parentPath, currentChildren) -> {
+            if (currentChildren != null) {
+                currentChildren.forEach(context -> watchContext(context, listener));
+            }
+        });
+        if (contexts != null) {
+            contexts.forEach(context -> watchContext(context, listener));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (zkClient != null) {
+            zkClient.close();
+        }
+    }
+
+    private void watchContext(final String context, final Listener listener) {
+        if (children.putIfAbsent(context, new HashSet<>()) != null) {
+            return;
+        }
+        List<String> nodes = zkClient.subscribeChildChanges(ROOT + "/" + context,
+                (parentPath, currentChildren) -> sync(context, currentChildren, listener));
+        sync(context, nodes, listener);
+    }
+
+    private synchronized void sync(final String context, final List<String> nodes, final Listener listener) {
+        final String contextPath = "/" + context;
+        Set<String> known = children.get(context);
+        Set<String> current = nodes == null ? Collections.emptySet() : new HashSet<>(nodes);
+        for (String node : current) {
+            if (!known.contains(node)) {
+                String uri = zkClient.readData(ROOT + "/" + context + "/" + node, true);
+                // a node that is already gone is reported by its own change.
+                if (uri != null) {
+                    known.add(node);
+                    listener.onAdded(contextPath, node, uri);
+                }
+            }
+        }
+        for (Iterator<String> it = known.iterator(); it.hasNext();) {
+            String node = it.next();
+            if (!current.contains(node)) {
+                it.remove();
+                listener.onRemoved(contextPath, node);
+            }
+        }
+    }
+}
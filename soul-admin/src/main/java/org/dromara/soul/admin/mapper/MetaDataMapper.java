@@ -68,6 +68,22 @@ public interface MetaDataMapper {
      */
     MetaDataDO findByServiceNameAndMethod(@Param("serviceName") String serviceName, @Param("methodName") String methodName);
 
+    /**
+     * Select by paths list.
+     *
+     * @param paths the paths
+     * @return the list
+     */
+    List<MetaDataDO> selectByPaths(@Param("paths") List<String> paths);
+
+    /**
+     * Select by service names list.
+     *
+     * @param serviceNames the service names
+     * @return the list
+     */
+    List<MetaDataDO> selectByServiceNames(@Param("serviceNames") List<String> serviceNames);
+
 
     /**
      * Select by query list.
@@ -100,6 +116,14 @@ public interface MetaDataMapper {
      */
     int insert(MetaDataDO metaDataDO);
 
+    /**
+     * Insert the list in one statement.
+     *
+     * @param metaDataDOList the meta data do list
+     * @return the int
+     */
+    int batchInsert(@Param("metaDataDOList") List<MetaDataDO> metaDataDOList);
+
 
     /**
      * Update int.
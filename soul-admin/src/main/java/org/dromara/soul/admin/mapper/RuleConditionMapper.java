@@ -19,6 +19,7 @@
 package org.dromara.soul.admin.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.dromara.soul.admin.entity.RuleConditionDO;
 import org.dromara.soul.admin.query.RuleConditionQuery;
 
@@ -56,6 +57,14 @@ public interface RuleConditionMapper {
      */
     int insert(RuleConditionDO ruleConditionDO);
 
+    /**
+     * insert the rule conditions in one statement.
+     *
+     * @param ruleConditionDOList the rule condition do list
+     * @return rows
+     */
+    int batchInsert(@Param("ruleConditionDOList") List<RuleConditionDO> ruleConditionDOList);
+
     /**
      * insert selective rule condition.
      *
@@ -19,8 +19,11 @@
 package org.dromara.soul.admin.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import org.dromara.soul.admin.entity.RuleDO;
 import org.dromara.soul.admin.query.RuleQuery;
+import org.dromara.soul.common.dto.RuleData;
 
 import java.util.List;
 
@@ -80,6 +83,14 @@ public interface RuleMapper {
      */
     int insert(RuleDO ruleDO);
 
+    /**
+     * insert the rules in one statement.
+     *
+     * @param ruleDOList the rule do list
+     * @return rows int
+     */
+    int batchInsert(@Param("ruleDOList") List<RuleDO> ruleDOList);
+
     /**
      * insert selective rule.
      *
@@ -118,4 +129,11 @@ public interface RuleMapper {
      * @return {@linkplain List}
      */
     List<RuleDO> selectAll();
+
+    /**
+     * stream all with the plugin name, conditions are not loaded.
+     *
+     * @param handler receives every row
+     */
+    void selectAllData(ResultHandler<RuleData> handler);
 }
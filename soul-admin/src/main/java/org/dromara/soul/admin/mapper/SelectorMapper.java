@@ -19,8 +19,10 @@
 package org.dromara.soul.admin.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.session.ResultHandler;
 import org.dromara.soul.admin.entity.SelectorDO;
 import org.dromara.soul.admin.query.SelectorQuery;
+import org.dromara.soul.common.dto.SelectorData;
 
 import java.util.List;
 
@@ -129,4 +131,11 @@ public interface SelectorMapper {
      */
     List<SelectorDO> selectAll();
 
+    /**
+     * stream all with the plugin name, conditions are not loaded.
+     *
+     * @param handler receives every row
+     */
+    void selectAllData(ResultHandler<SelectorData> handler);
+
 }
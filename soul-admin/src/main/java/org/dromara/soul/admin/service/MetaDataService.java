@@ -52,6 +52,14 @@ public interface MetaDataService {
      */
     String register(MetaDataDTO metaDataDTO);
 
+    /**
+     * Register the meta data of one client in one call.
+     *
+     * @param metaDataDTOList the meta data dto list
+     * @return success, or the reasons of the rejected meta data
+     */
+    String batchRegister(List<MetaDataDTO> metaDataDTOList);
+
     /**
      * delete application authorities.
      *
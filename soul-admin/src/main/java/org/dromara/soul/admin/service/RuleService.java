@@ -41,6 +41,15 @@ public interface RuleService {
      */
     String register(RuleDTO ruleDTO);
 
+    /**
+     * Register the rules with one insert per table.
+     * The rule data is returned instead of published, the caller publishes it with its own changes.
+     *
+     * @param ruleDTOList the rule dto list
+     * @return the rule data
+     */
+    List<RuleData> batchRegister(List<RuleDTO> ruleDTOList);
+
     /**
      * create or update rule.
      *
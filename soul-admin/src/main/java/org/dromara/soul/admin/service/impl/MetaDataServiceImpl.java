@@ -19,6 +19,8 @@
 
 package org.dromara.soul.admin.service.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -48,6 +50,7 @@ import org.dromara.soul.admin.vo.MetaDataVO;
 import org.dromara.soul.common.constant.AdminConstants;
 import org.dromara.soul.common.dto.ConditionData;
 import org.dromara.soul.common.dto.MetaData;
+import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.convert.rule.DivideRuleHandle;
 import org.dromara.soul.common.dto.convert.rule.DubboRuleHandle;
 import org.dromara.soul.common.dto.convert.rule.SpringCloudRuleHandle;
@@ -62,7 +65,9 @@ import org.dromara.soul.common.enums.ParamTypeEnum;
 import org.dromara.soul.common.enums.PluginEnum;
 import org.dromara.soul.common.enums.RpcTypeEnum;
 import org.dromara.soul.common.enums.SelectorTypeEnum;
+import org.dromara.soul.common.utils.GsonUtils;
 import org.dromara.soul.common.utils.JsonUtils;
+import org.dromara.soul.common.utils.Md5Utils;
 import org.dromara.soul.common.utils.UUIDUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -70,14 +75,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -90,6 +100,15 @@ public class MetaDataServiceImpl implements MetaDataService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MetaDataServiceImpl.class);
 
+    /**
+     * md5 of the last meta data registered per service method, it is dropped on any other change.
+     * It is local to this admin instance and does not see the changes made through another admin
+     * sharing the database, so an entry expires and the method is written again at the latest then.
+     */
+    private static final Cache<String, String> REGISTERED_MD5 = CacheBuilder.newBuilder()
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .build();
+
     private final MetaDataMapper metaDataMapper;
 
     private final ApplicationEventPublisher eventPublisher;
@@ -133,6 +152,7 @@ public class MetaDataServiceImpl implements MetaDataService {
         if (StringUtils.isNoneBlank(msg)) {
             return msg;
         }
+        REGISTERED_MD5.invalidateAll();
         MetaDataDO metaDataDO = MetaDataTransfer.INSTANCE.mapToEntity(metaDataDTO);
         DataEventTypeEnum eventType;
         if (StringUtils.isEmpty(metaDataDTO.getId())) {
@@ -163,6 +183,110 @@ public class MetaDataServiceImpl implements MetaDataService {
 
     }
 
+    @Override
+    @Transactional
+    public String batchRegister(final List<MetaDataDTO> metaDataDTOList) {
+        // the last registration of a method wins, a method registered with the same content is skipped.
+        Map<String, MetaDataDTO> changed = new LinkedHashMap<>();
+        Map<String, String> md5s = new HashMap<>();
+        for (MetaDataDTO metaDataDTO : metaDataDTOList) {
+            String key = registerKey(metaDataDTO.getServiceName(), metaDataDTO.getMethodName());
+            changed.put(key, metaDataDTO);
+            md5s.put(key, Md5Utils.md5(GsonUtils.getInstance().toJson(metaDataDTO)));
+        }
+        changed.keySet().removeIf(key -> md5s.get(key).equals(REGISTERED_MD5.getIfPresent(key)));
+        if (changed.isEmpty()) {
+            return "success";
+        }
+        List<String> paths = changed.values().stream().map(MetaDataDTO::getPath).distinct().collect(Collectors.toList());
+        List<String> serviceNames = changed.values().stream().map(MetaDataDTO::getServiceName).distinct().collect(Collectors.toList());
+        Map<String, MetaDataDO> existByPath = metaDataMapper.selectByPaths(paths).stream()
+                .collect(Collectors.toMap(MetaDataDO::getPath, m -> m, (m1, m2) -> m1));
+        Map<String, MetaDataDO> existByMethod = metaDataMapper.selectByServiceNames(serviceNames).stream()
+                .collect(Collectors.toMap(m -> registerKey(m.getServiceName(), m.getMethodName()), m -> m, (m1, m2) -> m1));
+
+        Map<String, String> claimedPaths = new HashMap<>();
+        List<String> rejected = new ArrayList<>();
+        List<MetaDataDO> inserts = new ArrayList<>();
+        List<MetaDataDTO> created = new ArrayList<>();
+        List<MetaData> createdMetaData = new ArrayList<>();
+        List<MetaData> updatedMetaData = new ArrayList<>();
+        List<MetaData> movedMetaData = new ArrayList<>();
+        List<RuleData> updatedRules = new ArrayList<>();
+        Timestamp currentTime = new Timestamp(System.currentTimeMillis());
+        for (Map.Entry<String, MetaDataDTO> entry : changed.entrySet()) {
+            MetaDataDTO metaDataDTO = entry.getValue();
+            MetaDataDO byPath = existByPath.get(metaDataDTO.getPath());
+            String claimed = claimedPaths.putIfAbsent(metaDataDTO.getPath(), entry.getKey());
+            if ((Objects.nonNull(byPath) && !registerKey(byPath.getServiceName(), byPath.getMethodName()).equals(entry.getKey()))
+                    || (Objects.nonNull(claimed) && !claimed.equals(entry.getKey()))) {
+                rejected.add(metaDataDTO.getPath() + ":" + "您的路径已经存在!");
+                md5s.remove(entry.getKey());
+                continue;
+            }
+            MetaDataDO metaDataDO = MetaDataTransfer.INSTANCE.mapToEntity(metaDataDTO);
+            MetaDataDO exist = existByMethod.get(entry.getKey());
+            if (Objects.isNull(exist)) {
+                metaDataDO.setId(UUIDUtils.getInstance().generateShortUuid());
+                metaDataDO.setDateCreated(currentTime);
+                metaDataDO.setDateUpdated(currentTime);
+                inserts.add(metaDataDO);
+                created.add(metaDataDTO);
+                createdMetaData.add(MetaDataTransfer.INSTANCE.mapToData(metaDataDTO));
+            } else {
+                metaDataDO.setId(exist.getId());
+                metaDataMapper.update(metaDataDO);
+                Optional.ofNullable(renameRule(exist, metaDataDTO)).ifPresent(updatedRules::add);
+                if (!exist.getPath().equals(metaDataDTO.getPath())) {
+                    movedMetaData.add(MetaDataTransfer.INSTANCE.mapToData(exist));
+                }
+                updatedMetaData.add(MetaDataTransfer.INSTANCE.mapToData(metaDataDTO));
+            }
+        }
+        List<RuleData> createdRules = Collections.emptyList();
+        if (!inserts.isEmpty()) {
+            metaDataMapper.batchInsert(inserts);
+            createdRules = createSelectorsAndRules(created);
+        }
+        // one change publication per group and event type for the whole batch.
+        publish(ConfigGroupEnum.RULE, DataEventTypeEnum.CREATE, createdRules);
+        publish(ConfigGroupEnum.RULE, DataEventTypeEnum.UPDATE, updatedRules);
+        // the meta data is keyed by path, a moved method leaves its old path behind unless it is deleted.
+        publish(ConfigGroupEnum.META_DATA, DataEventTypeEnum.DELETE, movedMetaData);
+        publish(ConfigGroupEnum.META_DATA, DataEventTypeEnum.CREATE, createdMetaData);
+        publish(ConfigGroupEnum.META_DATA, DataEventTypeEnum.UPDATE, updatedMetaData);
+        rememberAfterCommit(md5s);
+        return rejected.isEmpty() ? "success" : String.join(",", rejected);
+    }
+
+    private void publish(final ConfigGroupEnum group, final DataEventTypeEnum eventType, final List<?> data) {
+        if (!data.isEmpty()) {
+            eventPublisher.publishEvent(new DataChangedEvent(group, eventType, data));
+        }
+    }
+
+    private static String registerKey(final String serviceName, final String methodName) {
+        return serviceName + "#" + methodName;
+    }
+
+    /**
+     * The registered md5 is only kept once the batch is committed, a rolled back batch is registered again.
+     *
+     * @param md5s the md5 of the registered meta data
+     */
+    private void rememberAfterCommit(final Map<String, String> md5s) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    REGISTERED_MD5.putAll(md5s);
+                }
+            });
+        } else {
+            REGISTERED_MD5.putAll(md5s);
+        }
+    }
+
     @Override
     @Transactional
     public String register(final MetaDataDTO metaDataDTO) {
@@ -172,6 +296,7 @@ public class MetaDataServiceImpl implements MetaDataService {
                 || !byPath.getServiceName().equals(metaDataDTO.getServiceName()))) {
             return "您的路径已经存在!";
         }
+        REGISTERED_MD5.invalidate(registerKey(metaDataDTO.getServiceName(), metaDataDTO.getMethodName()));
         final MetaDataDO exist = metaDataMapper.findByServiceNameAndMethod(metaDataDTO.getServiceName(), metaDataDTO.getMethodName());
         DataEventTypeEnum eventType;
         if (Objects.isNull(exist)) {
@@ -187,6 +312,10 @@ public class MetaDataServiceImpl implements MetaDataService {
             metaDataDO.setId(exist.getId());
             metaDataMapper.update(metaDataDO);
             eventType = DataEventTypeEnum.UPDATE;
+            if (!exist.getPath().equals(metaDataDTO.getPath())) {
+                eventPublisher.publishEvent(new DataChangedEvent(ConfigGroupEnum.META_DATA, DataEventTypeEnum.DELETE,
+                        Collections.singletonList(MetaDataTransfer.INSTANCE.mapToData(exist))));
+            }
         }
         // publish AppAuthData's event
         eventPublisher.publishEvent(new DataChangedEvent(ConfigGroupEnum.META_DATA, eventType,
@@ -195,90 +324,118 @@ public class MetaDataServiceImpl implements MetaDataService {
         if (eventType == DataEventTypeEnum.CREATE) {
             createSelectorAndRule(metaDataDTO);
         } else {
-            if (!exist.getPath().equals(metaDataDTO.getPath())) {
-                String oldPath = exist.getPath();
-                RuleDO ruleDO = ruleMapper.findByName(oldPath);
-                if (Objects.nonNull(ruleDO)) {
-                    ruleDO.setName(metaDataDTO.getPath());
-                    ruleMapper.updateSelective(ruleDO);
-                    List<RuleConditionDO> ruleConditionDOS = ruleConditionMapper.selectByQuery(new RuleConditionQuery(ruleDO.getId()));
-                    if (CollectionUtils.isNotEmpty(ruleConditionDOS)) {
-                        List<ConditionData> conditionDataList = new ArrayList<>();
-                        for (RuleConditionDO ruleConditionDO : ruleConditionDOS) {
-                            if (ruleConditionDO.getParamType().equals(ParamTypeEnum.URI.getName())) {
-                                ruleConditionDO.setParamValue(metaDataDTO.getPath());
-                                ruleConditionMapper.updateSelective(ruleConditionDO);
-                            }
-                            conditionDataList.add(ConditionTransfer.INSTANCE.mapToRuleDO(ruleConditionDO));
-                        }
-
-                        publishEvent(ruleDO, conditionDataList, metaDataDTO.getRpcType());
-                    }
-                }
-            }
+            Optional.ofNullable(renameRule(exist, metaDataDTO))
+                    .ifPresent(ruleData -> eventPublisher.publishEvent(new DataChangedEvent(ConfigGroupEnum.RULE,
+                            DataEventTypeEnum.UPDATE, Collections.singletonList(ruleData))));
         }
         return "success";
     }
 
-    private void publishEvent(final RuleDO ruleDO, final List<ConditionData> conditionDataList, final String rpcType) {
+    /**
+     * Move the rule of the meta data to its new path.
+     *
+     * @param exist       the registered meta data
+     * @param metaDataDTO the meta data dto
+     * @return the moved rule data, null if nothing was moved
+     */
+    private RuleData renameRule(final MetaDataDO exist, final MetaDataDTO metaDataDTO) {
+        if (exist.getPath().equals(metaDataDTO.getPath())) {
+            return null;
+        }
+        RuleDO ruleDO = ruleMapper.findByName(exist.getPath());
+        if (Objects.isNull(ruleDO)) {
+            return null;
+        }
+        ruleDO.setName(metaDataDTO.getPath());
+        ruleMapper.updateSelective(ruleDO);
+        List<RuleConditionDO> ruleConditionDOS = ruleConditionMapper.selectByQuery(new RuleConditionQuery(ruleDO.getId()));
+        if (CollectionUtils.isEmpty(ruleConditionDOS)) {
+            return null;
+        }
+        List<ConditionData> conditionDataList = new ArrayList<>();
+        for (RuleConditionDO ruleConditionDO : ruleConditionDOS) {
+            if (ruleConditionDO.getParamType().equals(ParamTypeEnum.URI.getName())) {
+                ruleConditionDO.setParamValue(metaDataDTO.getPath());
+                ruleConditionMapper.updateSelective(ruleConditionDO);
+            }
+            conditionDataList.add(ConditionTransfer.INSTANCE.mapToRuleDO(ruleConditionDO));
+        }
         String pluginName;
-        if (RpcTypeEnum.DUBBO.getName().equals(rpcType)) {
+        if (RpcTypeEnum.DUBBO.getName().equals(metaDataDTO.getRpcType())) {
             pluginName = PluginEnum.DUBBO.getName();
-        } else if (RpcTypeEnum.HTTP.getName().equals(rpcType)) {
+        } else if (RpcTypeEnum.HTTP.getName().equals(metaDataDTO.getRpcType())) {
             pluginName = PluginEnum.DIVIDE.getName();
         } else {
             pluginName = PluginEnum.SPRING_CLOUD.getName();
         }
-        // publish change event.
-        eventPublisher.publishEvent(new DataChangedEvent(ConfigGroupEnum.RULE, DataEventTypeEnum.UPDATE,
-                Collections.singletonList(RuleDO.transFrom(ruleDO, pluginName, conditionDataList))));
+        return RuleDO.transFrom(ruleDO, pluginName, conditionDataList);
+    }
+
+    /**
+     * Create the missing selectors once per context path and the rules of every created meta data.
+     *
+     * @param created the created meta data
+     * @return the created rule data, to be published by the caller
+     */
+    private List<RuleData> createSelectorsAndRules(final List<MetaDataDTO> created) {
+        Map<String, List<MetaDataDTO>> byContextPath = created.stream()
+                .collect(Collectors.groupingBy(this::contextPath, LinkedHashMap::new, Collectors.toList()));
+        List<RuleDTO> ruleDTOList = new ArrayList<>(created.size());
+        byContextPath.forEach((contextPath, metaDataDTOList) -> {
+            String selectorId = findOrRegisterSelector(contextPath, metaDataDTOList.get(0));
+            metaDataDTOList.forEach(m -> ruleDTOList.add(buildRuleDTO(selectorId, m.getPath(), m.getRpcType())));
+        });
+        return ruleService.batchRegister(ruleDTOList);
+    }
+
+    private String contextPath(final MetaDataDTO metaDataDTO) {
+        return "/" + StringUtils.split(metaDataDTO.getPath(), "/")[0];
     }
 
     private void createSelectorAndRule(final MetaDataDTO metaDataDTO) {
-        String path = metaDataDTO.getPath();
-        String[] splitList = StringUtils.split(path, "/");
-        String contextPath = "/" + splitList[0];
+        String selectorId = findOrRegisterSelector(contextPath(metaDataDTO), metaDataDTO);
+        ruleService.register(buildRuleDTO(selectorId, metaDataDTO.getPath(), metaDataDTO.getRpcType()));
+    }
+
+    private String findOrRegisterSelector(final String contextPath, final MetaDataDTO metaDataDTO) {
         SelectorDO selectorDO = selectorService.findByName(contextPath);
-        String selectorId;
-        if (Objects.isNull(selectorDO)) {
-            SelectorDTO selectorDTO = new SelectorDTO();
-            selectorDTO.setName(contextPath);
-            selectorDTO.setType(SelectorTypeEnum.CUSTOM_FLOW.getCode());
-            selectorDTO.setMatchMode(MatchModeEnum.AND.getCode());
-            selectorDTO.setEnabled(Boolean.TRUE);
-            selectorDTO.setLoged(Boolean.TRUE);
-            selectorDTO.setContinued(Boolean.TRUE);
-            selectorDTO.setSort(1);
-            if (RpcTypeEnum.DUBBO.getName().equals(metaDataDTO.getRpcType())) {
-                selectorDTO.setPluginId("6");
-                DubboSelectorHandle dubboSelectorHandle = new DubboSelectorHandle();
-                dubboSelectorHandle.setAppName(metaDataDTO.getAppName());
-                dubboSelectorHandle.setProtocol("dubbo");
-                dubboSelectorHandle.setPort(20888);
-                dubboSelectorHandle.setRegistry("zookeeper://localhost:2181");
-                selectorDTO.setHandle(JsonUtils.toJson(dubboSelectorHandle));
-            } else if (RpcTypeEnum.SPRING_CLOUD.getName().equals(metaDataDTO.getRpcType())) {
-                selectorDTO.setPluginId("8");
-                selectorDTO.setHandle(metaDataDTO.getAppName());
-            } else {
-                //is springCloud
-                selectorDTO.setPluginId("5");
-            }
-            SelectorConditionDTO selectorConditionDTO = new SelectorConditionDTO();
-            selectorConditionDTO.setParamType(ParamTypeEnum.URI.getName());
-            selectorConditionDTO.setParamName("/");
-            selectorConditionDTO.setOperator(OperatorEnum.MATCH.getAlias());
-            selectorConditionDTO.setParamValue(contextPath);
-            selectorDTO.setSelectorConditions(Collections.singletonList(selectorConditionDTO));
-            selectorId = selectorService.register(selectorDTO);
-        } else {
+        if (Objects.nonNull(selectorDO)) {
             //如果已经有selector 那么就只需要插入rule
-            selectorId = selectorDO.getId();
+            return selectorDO.getId();
+        }
+        SelectorDTO selectorDTO = new SelectorDTO();
+        selectorDTO.setName(contextPath);
+        selectorDTO.setType(SelectorTypeEnum.CUSTOM_FLOW.getCode());
+        selectorDTO.setMatchMode(MatchModeEnum.AND.getCode());
+        selectorDTO.setEnabled(Boolean.TRUE);
+        selectorDTO.setLoged(Boolean.TRUE);
+        selectorDTO.setContinued(Boolean.TRUE);
+        selectorDTO.setSort(1);
+        if (RpcTypeEnum.DUBBO.getName().equals(metaDataDTO.getRpcType())) {
+            selectorDTO.setPluginId("6");
+            DubboSelectorHandle dubboSelectorHandle = new DubboSelectorHandle();
+            dubboSelectorHandle.setAppName(metaDataDTO.getAppName());
+            dubboSelectorHandle.setProtocol("dubbo");
+            dubboSelectorHandle.setPort(20888);
+            dubboSelectorHandle.setRegistry("zookeeper://localhost:2181");
+            selectorDTO.setHandle(JsonUtils.toJson(dubboSelectorHandle));
+        } else if (RpcTypeEnum.SPRING_CLOUD.getName().equals(metaDataDTO.getRpcType())) {
+            selectorDTO.setPluginId("8");
+            selectorDTO.setHandle(metaDataDTO.getAppName());
+        } else {
+            //is springCloud
+            selectorDTO.setPluginId("5");
         }
-        registerRule(selectorId, metaDataDTO.getPath(), metaDataDTO.getRpcType());
+        SelectorConditionDTO selectorConditionDTO = new SelectorConditionDTO();
+        selectorConditionDTO.setParamType(ParamTypeEnum.URI.getName());
+        selectorConditionDTO.setParamName("/");
+        selectorConditionDTO.setOperator(OperatorEnum.MATCH.getAlias());
+        selectorConditionDTO.setParamValue(contextPath);
+        selectorDTO.setSelectorConditions(Collections.singletonList(selectorConditionDTO));
+        return selectorService.register(selectorDTO);
     }
 
-    private void registerRule(final String selectorId, final String path, final String rpcType) {
+    private RuleDTO buildRuleDTO(final String selectorId, final String path, final String rpcType) {
         RuleDTO ruleDTO = new RuleDTO();
         ruleDTO.setSelectorId(selectorId);
         ruleDTO.setName(path);
@@ -308,7 +465,7 @@ public class MetaDataServiceImpl implements MetaDataService {
             springCloudRuleHandle.setPath(path);
             ruleDTO.setHandle(JsonUtils.toJson(springCloudRuleHandle));
         }
-        ruleService.register(ruleDTO);
+        return ruleDTO;
     }
 
     private String checkData(final MetaDataDTO metaDataDTO) {
@@ -333,6 +490,7 @@ public class MetaDataServiceImpl implements MetaDataService {
     @Override
     @Transactional
     public int delete(final List<String> ids) {
+        REGISTERED_MD5.invalidateAll();
         int count = 0;
         List<MetaData> metaDataList = Lists.newArrayList();
         for (String id : ids) {
@@ -347,6 +505,7 @@ public class MetaDataServiceImpl implements MetaDataService {
 
     @Override
     public String enabled(final List<String> ids, final Boolean enabled) {
+        REGISTERED_MD5.invalidateAll();
         List<MetaData> metaDataList = Lists.newArrayList();
         for (String id : ids) {
             MetaDataDO metaDataDO = metaDataMapper.selectById(id);
@@ -41,6 +41,8 @@ import org.dromara.soul.admin.transfer.PluginTransfer;
 import org.dromara.soul.admin.vo.PluginVO;
 import org.dromara.soul.common.constant.AdminConstants;
 import org.dromara.soul.common.dto.PluginData;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.enums.ConfigGroupEnum;
 import org.dromara.soul.common.enums.DataEventTypeEnum;
 import org.dromara.soul.common.enums.PluginRoleEnum;
@@ -50,6 +52,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -153,15 +156,26 @@ public class PluginServiceImpl implements PluginService {
             pluginMapper.delete(id);
 
             final List<SelectorDO> selectorDOList = selectorMapper.selectByQuery(new SelectorQuery(id, null));
+            final List<SelectorData> deletedSelectors = new ArrayList<>(selectorDOList.size());
+            final List<RuleData> deletedRules = new ArrayList<>();
             selectorDOList.forEach(selectorDO -> {
                 final List<RuleDO> ruleDOS = ruleMapper.selectByQuery(new RuleQuery(selectorDO.getId(), null));
                 ruleDOS.forEach(ruleDO -> {
                     ruleMapper.delete(ruleDO.getId());
                     ruleConditionMapper.deleteByQuery(new RuleConditionQuery(ruleDO.getId()));
+                    deletedRules.add(RuleDO.transFrom(ruleDO, pluginDO.getName(), null));
                 });
                 selectorMapper.delete(selectorDO.getId());
                 selectorConditionMapper.deleteByQuery(new SelectorConditionQuery(selectorDO.getId()));
+                deletedSelectors.add(SelectorDO.transFrom(selectorDO, pluginDO.getName(), null));
             });
+            // the cascaded rows are removed from the gateways as well, not only the plugin.
+            if (!deletedRules.isEmpty()) {
+                eventPublisher.publishEvent(new DataChangedEvent(ConfigGroupEnum.RULE, DataEventTypeEnum.DELETE, deletedRules));
+            }
+            if (!deletedSelectors.isEmpty()) {
+                eventPublisher.publishEvent(new DataChangedEvent(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.DELETE, deletedSelectors));
+            }
             // publish change event.
             eventPublisher.publishEvent(new DataChangedEvent(ConfigGroupEnum.PLUGIN, DataEventTypeEnum.DELETE,
                     Collections.singletonList(PluginTransfer.INSTANCE.mapToData(pluginDO))));
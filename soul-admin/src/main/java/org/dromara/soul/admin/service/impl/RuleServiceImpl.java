@@ -47,8 +47,11 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -99,6 +102,34 @@ public class RuleServiceImpl implements RuleService {
         return ruleDO.getId();
     }
 
+    @Override
+    public List<RuleData> batchRegister(final List<RuleDTO> ruleDTOList) {
+        List<RuleDO> ruleDOList = new ArrayList<>(ruleDTOList.size());
+        List<RuleConditionDO> ruleConditionDOList = new ArrayList<>();
+        List<RuleData> ruleDataList = new ArrayList<>(ruleDTOList.size());
+        Map<String, String> selectorPluginNames = new HashMap<>();
+        for (RuleDTO ruleDTO : ruleDTOList) {
+            RuleDO ruleDO = RuleDO.buildRuleDO(ruleDTO);
+            ruleDTO.getRuleConditions().forEach(ruleConditionDTO -> {
+                ruleConditionDTO.setRuleId(ruleDO.getId());
+                ruleConditionDOList.add(RuleConditionDO.buildRuleConditionDO(ruleConditionDTO));
+            });
+            String pluginName = selectorPluginNames.computeIfAbsent(ruleDO.getSelectorId(),
+                    selectorId -> pluginMapper.selectById(selectorMapper.selectById(selectorId).getPluginId()).getName());
+            List<ConditionData> conditionDataList = ruleDTO.getRuleConditions().stream()
+                    .map(ConditionTransfer.INSTANCE::mapToRuleDTO).collect(Collectors.toList());
+            ruleDOList.add(ruleDO);
+            ruleDataList.add(RuleDO.transFrom(ruleDO, pluginName, conditionDataList));
+        }
+        if (!ruleDOList.isEmpty()) {
+            ruleMapper.batchInsert(ruleDOList);
+        }
+        if (!ruleConditionDOList.isEmpty()) {
+            ruleConditionMapper.batchInsert(ruleConditionDOList);
+        }
+        return ruleDataList;
+    }
+
     /**
      * create or update rule.
      *
@@ -188,11 +219,19 @@ public class RuleServiceImpl implements RuleService {
 
     @Override
     public List<RuleData> listAll() {
-        return ruleMapper.selectAll()
+        // one query for every condition and one streamed join for the rules with their plugin name.
+        Map<String, List<ConditionData>> conditionMap = ruleConditionMapper.selectByQuery(new RuleConditionQuery())
                 .stream()
                 .filter(Objects::nonNull)
-                .map(this::buildRuleData)
-                .collect(Collectors.toList());
+                .collect(Collectors.groupingBy(RuleConditionDO::getRuleId,
+                        Collectors.mapping(ConditionTransfer.INSTANCE::mapToRuleDO, Collectors.toList())));
+        List<RuleData> ruleDataList = new ArrayList<>();
+        ruleMapper.selectAllData(context -> {
+            RuleData ruleData = context.getResultObject();
+            ruleData.setConditionDataList(conditionMap.getOrDefault(ruleData.getId(), Collections.emptyList()));
+            ruleDataList.add(ruleData);
+        });
+        return ruleDataList;
     }
 
     @Override
@@ -51,8 +51,10 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -235,11 +237,19 @@ public class SelectorServiceImpl implements SelectorService {
 
     @Override
     public List<SelectorData> listAll() {
-        return selectorMapper.selectAll()
+        // one query for every condition and one streamed join for the selectors with their plugin name.
+        Map<String, List<ConditionData>> conditionMap = selectorConditionMapper.selectByQuery(new SelectorConditionQuery())
                 .stream()
                 .filter(Objects::nonNull)
-                .map(this::buildSelectorData)
-                .collect(Collectors.toList());
+                .collect(Collectors.groupingBy(SelectorConditionDO::getSelectorId,
+                        Collectors.mapping(ConditionTransfer.INSTANCE::mapToSelectorDO, Collectors.toList())));
+        List<SelectorData> selectorDataList = new ArrayList<>();
+        selectorMapper.selectAllData(context -> {
+            SelectorData selectorData = context.getResultObject();
+            selectorData.setConditionList(conditionMap.getOrDefault(selectorData.getId(), Collections.emptyList()));
+            selectorDataList.add(selectorData);
+        });
+        return selectorDataList;
     }
 
     private void publishEvent(SelectorDO selectorDO, List<SelectorConditionDTO> selectorConditionDTOs) {
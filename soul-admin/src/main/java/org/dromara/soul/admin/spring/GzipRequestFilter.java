@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.admin.spring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Inflates the request bodies sent with {@code Content-Encoding: gzip}, such as the client batch registration.
+ * The body is inflated before the chain runs and a body larger than the limit is rejected with 413,
+ * so a small compressed request can not expand into an unbounded one.
+ *
+ * @author xiaoyu
+ */
+public class GzipRequestFilter extends OncePerRequestFilter {
+
+    /**
+     * The default max inflated body size.
+     */
+    public static final int DEFAULT_MAX_INFLATED_BYTES = 4 * 1024 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GzipRequestFilter.class);
+
+    private static final String GZIP = "gzip";
+
+    private final int maxInflatedBytes;
+
+    /**
+     * Instantiates a new Gzip request filter with the default limit.
+     */
+    public GzipRequestFilter() {
+        this(DEFAULT_MAX_INFLATED_BYTES);
+    }
+
+    /**
+     * Instantiates a new Gzip request filter.
+     *
+     * @param maxInflatedBytes the max inflated body size
+     */
+    public GzipRequestFilter(final int maxInflatedBytes) {
+        this.maxInflatedBytes = maxInflatedBytes;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull final HttpServletRequest request, @NonNull final HttpServletResponse response,
+                                    @NonNull final FilterChain filterChain) throws ServletException, IOException {
+        if (!GZIP.equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        byte[] body;
+        try {
+            body = inflate(request.getInputStream());
+        } catch (IOException e) {
+            LOGGER.warn("inflate gzip request body of {} error : {}", request.getRequestURI(), e.getMessage());
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "invalid gzip body");
+            return;
+        }
+        if (body == null) {
+            LOGGER.warn("gzip request body of {} inflates beyond {} bytes, rejected.", request.getRequestURI(), maxInflatedBytes);
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+        filterChain.doFilter(new GzipRequestWrapper(request, body), response);
+    }
+
+    /**
+     * Inflate the body, counting the inflated bytes.
+     *
+     * @param compressed the compressed body
+     * @return the inflated body, or null if it is larger than the limit
+     */
+    private byte[] inflate(final InputStream compressed) throws IOException {
+        try (InputStream in = new GZIPInputStream(compressed)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                if (out.size() + read > maxInflatedBytes) {
+                    return null;
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static final class GzipRequestWrapper extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private ServletInputStream inputStream;
+
+        GzipRequestWrapper(final HttpServletRequest request, final byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            if (inputStream == null) {
+                inputStream = new InflatedServletInputStream(body);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8.name() : encoding));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+        @Override
+        public String getHeader(final String name) {
+            if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)) {
+                return null;
+            }
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                return String.valueOf(body.length);
+            }
+            return super.getHeader(name);
+        }
+    }
+
+    private static final class InflatedServletInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream delegate;
+
+        InflatedServletInputStream(final byte[] body) {
+            this.delegate = new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public int read() {
+            return delegate.read();
+        }
+
+        @Override
+        public int read(@NonNull final byte[] b, final int off, final int len) {
+            return delegate.read(b, off, len);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        /**
+         * The whole body is already in memory, so the listener is called back right away.
+         *
+         * @param readListener the read listener
+         */
+        @Override
+        public void setReadListener(final ReadListener readListener) {
+            try {
+                if (!isFinished()) {
+                    readListener.onDataAvailable();
+                }
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+    }
+}
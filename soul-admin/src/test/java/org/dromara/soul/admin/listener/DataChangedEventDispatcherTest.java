@@ -0,0 +1,158 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.dromara.soul.admin.listener;
+
+import org.dromara.soul.common.dto.AppAuthData;
+import org.dromara.soul.common.dto.MetaData;
+import org.dromara.soul.common.dto.PluginData;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.dromara.soul.common.enums.DataEventTypeEnum;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The type Data changed event dispatcher test.
+ *
+ * @author xiaoyu
+ */
+public class DataChangedEventDispatcherTest {
+
+    /**
+     * Consecutive events of the same type are merged into one.
+     */
+    @Test
+    public void mergeSameTypeTest() {
+        List<DataChangedEvent> merged = DataChangedEventDispatcher.coalesce(Arrays.asList(
+                event(DataEventTypeEnum.UPDATE, "a"), event(DataEventTypeEnum.UPDATE, "b")));
+        Assert.assertEquals(1, merged.size());
+        assertEvent(merged.get(0), DataEventTypeEnum.UPDATE, "a", "b");
+    }
+
+    /**
+     * CREATE, DELETE, CREATE of the same id are kept in order, the record ends up created.
+     */
+    @Test
+    public void keepOrderOfSameIdTest() {
+        List<DataChangedEvent> merged = DataChangedEventDispatcher.coalesce(Arrays.asList(
+                event(DataEventTypeEnum.CREATE, "a"), event(DataEventTypeEnum.DELETE, "a"), event(DataEventTypeEnum.CREATE, "a")));
+        Assert.assertEquals(3, merged.size());
+        assertEvent(merged.get(0), DataEventTypeEnum.CREATE, "a");
+        assertEvent(merged.get(1), DataEventTypeEnum.DELETE, "a");
+        assertEvent(merged.get(2), DataEventTypeEnum.CREATE, "a");
+    }
+
+    /**
+     * A REFRESH drops only the events before it, the later ones are still merged after it.
+     */
+    @Test
+    public void refreshInTheMiddleTest() {
+        List<DataChangedEvent> merged = DataChangedEventDispatcher.coalesce(Arrays.asList(
+                event(DataEventTypeEnum.UPDATE, "a"), event(DataEventTypeEnum.DELETE, "b"),
+                event(DataEventTypeEnum.REFRESH, "x", "y"),
+                event(DataEventTypeEnum.UPDATE, "c"), event(DataEventTypeEnum.UPDATE, "d")));
+        Assert.assertEquals(2, merged.size());
+        assertEvent(merged.get(0), DataEventTypeEnum.REFRESH, "x", "y");
+        assertEvent(merged.get(1), DataEventTypeEnum.UPDATE, "c", "d");
+    }
+
+    /**
+     * The merged events do not write into the published lists.
+     */
+    @Test
+    public void sourceUntouchedTest() {
+        DataChangedEvent first = event(DataEventTypeEnum.UPDATE, "a");
+        DataChangedEventDispatcher.coalesce(Arrays.asList(first, event(DataEventTypeEnum.UPDATE, "b")));
+        Assert.assertEquals(Collections.singletonList("a"), first.getSource());
+    }
+
+    /**
+     * Plugins are dispatched before their selectors and rules, whatever the publish order.
+     */
+    @Test
+    public void dispatchOrderTest() {
+        List<ConfigGroupEnum> dispatched = new ArrayList<>();
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.getBeanFactory().registerSingleton("recorder", new RecordingListener(dispatched));
+        context.refresh();
+        DataChangedEventDispatcher dispatcher = new DataChangedEventDispatcher(context);
+        dispatcher.afterPropertiesSet();
+        Map<ConfigGroupEnum, List<DataChangedEvent>> batch = new LinkedHashMap<>();
+        for (ConfigGroupEnum group : Arrays.asList(ConfigGroupEnum.META_DATA, ConfigGroupEnum.RULE,
+                ConfigGroupEnum.APP_AUTH, ConfigGroupEnum.SELECTOR, ConfigGroupEnum.PLUGIN)) {
+            batch.put(group, Collections.singletonList(new DataChangedEvent(group, DataEventTypeEnum.UPDATE, Collections.emptyList())));
+        }
+        dispatcher.dispatchBatch(batch);
+        dispatcher.destroy();
+        context.close();
+        Assert.assertEquals(Arrays.asList(ConfigGroupEnum.PLUGIN, ConfigGroupEnum.SELECTOR, ConfigGroupEnum.RULE,
+                ConfigGroupEnum.APP_AUTH, ConfigGroupEnum.META_DATA), dispatched);
+    }
+
+    private static DataChangedEvent event(final DataEventTypeEnum type, final String... ids) {
+        return new DataChangedEvent(ConfigGroupEnum.RULE, type, Arrays.asList(ids));
+    }
+
+    private static void assertEvent(final DataChangedEvent event, final DataEventTypeEnum type, final String... ids) {
+        Assert.assertEquals(ConfigGroupEnum.RULE, event.getGroupKey());
+        Assert.assertEquals(type, event.getEventType());
+        Assert.assertEquals(Arrays.asList(ids), event.getSource());
+    }
+
+    private static final class RecordingListener implements DataChangedListener {
+
+        private final List<ConfigGroupEnum> dispatched;
+
+        RecordingListener(final List<ConfigGroupEnum> dispatched) {
+            this.dispatched = dispatched;
+        }
+
+        @Override
+        public void onAppAuthChanged(final List<AppAuthData> changed, final DataEventTypeEnum eventType) {
+            dispatched.add(ConfigGroupEnum.APP_AUTH);
+        }
+
+        @Override
+        public void onPluginChanged(final List<PluginData> changed, final DataEventTypeEnum eventType) {
+            dispatched.add(ConfigGroupEnum.PLUGIN);
+        }
+
+        @Override
+        public void onSelectorChanged(final List<SelectorData> changed, final DataEventTypeEnum eventType) {
+            dispatched.add(ConfigGroupEnum.SELECTOR);
+        }
+
+        @Override
+        public void onMetaDataChanged(final List<MetaData> changed, final DataEventTypeEnum eventType) {
+            dispatched.add(ConfigGroupEnum.META_DATA);
+        }
+
+        @Override
+        public void onRuleChanged(final List<RuleData> changed, final DataEventTypeEnum eventType) {
+            dispatched.add(ConfigGroupEnum.RULE);
+        }
+    }
+}
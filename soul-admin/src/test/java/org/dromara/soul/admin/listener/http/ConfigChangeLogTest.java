@@ -0,0 +1,142 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.admin.listener.http;
+
+import org.dromara.soul.common.dto.ConfigChange;
+import org.dromara.soul.common.dto.ConfigDelta;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.dromara.soul.common.enums.DataEventTypeEnum;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The type Config change log test.
+ *
+ * @author xiaoyu
+ */
+public class ConfigChangeLogTest {
+
+    private static final int CAPACITY = 512;
+
+    private ConfigChangeLog changeLog;
+
+    private long epoch;
+
+    /**
+     * Stamp every group before the tests, like a first full fetch does.
+     */
+    @Before
+    public void setUp() {
+        changeLog = new ConfigChangeLog(CAPACITY);
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            epoch = changeLog.current(group, "init", 0).getEpoch();
+        }
+    }
+
+    /**
+     * The changes after the client version are returned in order.
+     */
+    @Test
+    public void sinceTest() {
+        append(ConfigGroupEnum.PLUGIN, 2);
+        ConfigDelta<Object> delta = changeLog.since(ConfigGroupEnum.PLUGIN, epoch, 1);
+        Assert.assertFalse(delta.isFull());
+        Assert.assertEquals(3, delta.getVersion());
+        Assert.assertEquals("md5-3", delta.getMd5());
+        Assert.assertEquals(2, delta.getChanges().size());
+        Assert.assertEquals(2, delta.getChanges().get(0).getVersion());
+        Assert.assertEquals(3, delta.getChanges().get(1).getVersion());
+        Assert.assertTrue(changeLog.since(ConfigGroupEnum.PLUGIN, epoch, 3).getChanges().isEmpty());
+        Assert.assertNull(changeLog.since(ConfigGroupEnum.PLUGIN, epoch, 4));
+        // the other groups did not change.
+        Assert.assertEquals(1, changeLog.since(ConfigGroupEnum.RULE, epoch, 1).getVersion());
+    }
+
+    /**
+     * Past the capacity the oldest changes are dropped, a client behind them needs the full group.
+     */
+    @Test
+    public void overflowTest() {
+        append(ConfigGroupEnum.SELECTOR, CAPACITY + 1);
+        Assert.assertNull(changeLog.since(ConfigGroupEnum.SELECTOR, epoch, 1));
+        List<ConfigChange<Object>> changes = changeLog.since(ConfigGroupEnum.SELECTOR, epoch, 2).getChanges();
+        Assert.assertEquals(CAPACITY, changes.size());
+        Assert.assertEquals(3, changes.get(0).getVersion());
+        Assert.assertEquals(CAPACITY + 2, changes.get(CAPACITY - 1).getVersion());
+        append(ConfigGroupEnum.SELECTOR, 1);
+        Assert.assertNull(changeLog.since(ConfigGroupEnum.SELECTOR, epoch, 2));
+        Assert.assertEquals(CAPACITY, changeLog.since(ConfigGroupEnum.SELECTOR, epoch, 3).getChanges().size());
+    }
+
+    /**
+     * A REFRESH or MYSELF event resets the log of the group, every older client version needs the full group.
+     */
+    @Test
+    public void resetTest() {
+        append(ConfigGroupEnum.RULE, 2);
+        changeLog.reset(ConfigGroupEnum.RULE, "refreshed", 10);
+        Assert.assertNull(changeLog.since(ConfigGroupEnum.RULE, epoch, 1));
+        Assert.assertNull(changeLog.since(ConfigGroupEnum.RULE, epoch, 3));
+        ConfigDelta<Object> delta = changeLog.since(ConfigGroupEnum.RULE, epoch, 4);
+        Assert.assertTrue(delta.getChanges().isEmpty());
+        Assert.assertEquals("refreshed", delta.getMd5());
+        Assert.assertEquals(10, delta.getLastModifyTime());
+        append(ConfigGroupEnum.RULE, 1);
+        Assert.assertEquals(1, changeLog.since(ConfigGroupEnum.RULE, epoch, 4).getChanges().size());
+    }
+
+    /**
+     * A client version of another epoch, e.g. before an admin restart, is never served a delta.
+     */
+    @Test
+    public void epochTest() {
+        append(ConfigGroupEnum.APP_AUTH, 1);
+        Assert.assertNull(changeLog.since(ConfigGroupEnum.APP_AUTH, epoch - 1, 1));
+        Assert.assertNull(changeLog.since(ConfigGroupEnum.APP_AUTH, epoch + 1, 1));
+        Assert.assertNull(changeLog.since(ConfigGroupEnum.APP_AUTH, 0, 0));
+        Assert.assertEquals(1, changeLog.since(ConfigGroupEnum.APP_AUTH, epoch, 1).getChanges().size());
+    }
+
+    /**
+     * The full group fallback is stamped with the current version, the md5 of a changed group is kept.
+     */
+    @Test
+    public void currentTest() {
+        append(ConfigGroupEnum.META_DATA, 2);
+        ConfigDelta<Object> full = changeLog.current(ConfigGroupEnum.META_DATA, "stale", 0);
+        Assert.assertTrue(full.isFull());
+        Assert.assertEquals(epoch, full.getEpoch());
+        Assert.assertEquals(3, full.getVersion());
+        Assert.assertEquals("md5-3", full.getMd5());
+        Assert.assertTrue(changeLog.since(ConfigGroupEnum.META_DATA, epoch, full.getVersion()).getChanges().isEmpty());
+    }
+
+    private void append(final ConfigGroupEnum group, final int count) {
+        for (int i = 0; i < count; i++) {
+            long version = changeLog.current(group, null, 0).getVersion() + 1;
+            changeLog.append(group, DataEventTypeEnum.UPDATE.name(), Collections.singletonList("record-" + version),
+                    "md5-" + version, version);
+        }
+    }
+}
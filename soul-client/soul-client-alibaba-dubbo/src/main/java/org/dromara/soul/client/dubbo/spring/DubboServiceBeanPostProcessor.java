@@ -4,18 +4,18 @@ import com.alibaba.dubbo.config.spring.ServiceBean;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.soul.client.common.annotation.SoulClient;
 import org.dromara.soul.client.common.dto.MetaDataDTO;
+import org.dromara.soul.client.common.register.MetaDataRegistrar;
 import org.dromara.soul.client.common.utils.OkHttpTools;
 import org.dromara.soul.client.dubbo.config.DubboConfig;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.util.ReflectionUtils;
 
-import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -24,17 +24,15 @@ import java.util.stream.Collectors;
  * @author xiaoyu
  */
 @Slf4j
-public class DubboServiceBeanPostProcessor implements BeanPostProcessor {
+public class DubboServiceBeanPostProcessor implements BeanPostProcessor, ApplicationListener<ApplicationReadyEvent> {
 
     private DubboConfig dubboConfig;
 
-    private ExecutorService executorService = Executors.newSingleThreadExecutor();
-
-    private final String url;
+    private final MetaDataRegistrar registrar;
 
     public DubboServiceBeanPostProcessor(final DubboConfig dubboConfig) {
         this.dubboConfig = dubboConfig;
-        url = dubboConfig.getAdminUrl() + "/meta-data/register";
+        registrar = new MetaDataRegistrar(dubboConfig.getAdminUrl(), "dubbo");
     }
 
     @Override
@@ -45,11 +43,16 @@ public class DubboServiceBeanPostProcessor implements BeanPostProcessor {
     @Override
     public Object postProcessAfterInitialization(final Object bean, final String beanName) throws BeansException {
         if (bean instanceof ServiceBean) {
-            executorService.execute(() -> handler((ServiceBean) bean));
+            handler((ServiceBean) bean);
         }
         return bean;
     }
 
+    @Override
+    public void onApplicationEvent(final ApplicationReadyEvent event) {
+        registrar.start();
+    }
+
     private void handler(final ServiceBean serviceBean) {
         Class<?> clazz = serviceBean.getRef().getClass();
         final Method[] methods = ReflectionUtils.getUniqueDeclaredMethods(clazz);
@@ -63,12 +66,12 @@ public class DubboServiceBeanPostProcessor implements BeanPostProcessor {
                     log.error("........dubbo client must config context-path and adminUrl.........");
                     return;
                 }
-                post(buildJsonParams(serviceBean, soulClient, method));
+                registrar.register(buildMetaDataDTO(serviceBean, soulClient, method));
             }
         }
     }
 
-    private String buildJsonParams(final ServiceBean serviceBean, final SoulClient soulClient, final Method method) {
+    private MetaDataDTO buildMetaDataDTO(final ServiceBean serviceBean, final SoulClient soulClient, final Method method) {
         String appName = dubboConfig.getAppName();
         if (appName == null || "".equals(appName)) {
             appName = serviceBean.getApplication().getName();
@@ -80,7 +83,7 @@ public class DubboServiceBeanPostProcessor implements BeanPostProcessor {
         Class<?>[] parameterTypesClazz = method.getParameterTypes();
         String parameterTypes = Arrays.stream(parameterTypesClazz).map(Class::getName)
                 .collect(Collectors.joining(","));
-        MetaDataDTO metaDataDTO = MetaDataDTO.builder()
+        return MetaDataDTO.builder()
                 .appName(appName)
                 .serviceName(serviceName)
                 .methodName(methodName)
@@ -91,7 +94,6 @@ public class DubboServiceBeanPostProcessor implements BeanPostProcessor {
                 .rpcType("dubbo")
                 .enabled(soulClient.enabled())
                 .build();
-        return OkHttpTools.getInstance().getGosn().toJson(metaDataDTO);
 
     }
 
@@ -107,17 +109,4 @@ public class DubboServiceBeanPostProcessor implements BeanPostProcessor {
 
     }
 
-    private void post(final String json) {
-        try {
-            String result = OkHttpTools.getInstance().post(url, json);
-            if (Objects.equals(result, "success")) {
-                log.info("dubbo client register success :{} " + json);
-            } else {
-                log.error("dubbo client register error :{} " + json);
-            }
-        } catch (IOException e) {
-            log.error("cannot register soul admin param :{}", url + ":" + json);
-        }
-    }
-
 }
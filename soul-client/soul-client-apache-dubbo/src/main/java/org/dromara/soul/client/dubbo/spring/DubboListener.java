@@ -4,20 +4,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.dubbo.config.spring.ServiceBean;
 import org.apache.dubbo.config.spring.context.event.ServiceBeanExportedEvent;
 import org.dromara.soul.client.common.dto.MetaDataDTO;
+import org.dromara.soul.client.common.register.MetaDataRegistrar;
 import org.dromara.soul.client.common.utils.OkHttpTools;
 import org.dromara.soul.client.common.annotation.SoulClient;
 import org.dromara.soul.client.dubbo.config.DubboConfig;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 
-import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -30,19 +29,19 @@ public class DubboListener implements ApplicationListener {
 
     private DubboConfig dubboConfig;
 
-    private ExecutorService executorService = Executors.newSingleThreadExecutor();
-
-    private final String url;
+    private final MetaDataRegistrar registrar;
 
     public DubboListener(final DubboConfig dubboConfig) {
         this.dubboConfig = dubboConfig;
-        url = dubboConfig.getAdminUrl() + "/meta-data/register";
+        registrar = new MetaDataRegistrar(dubboConfig.getAdminUrl(), "dubbo");
     }
 
     @Override
     public void onApplicationEvent(final ApplicationEvent event) {
         if (event instanceof ServiceBeanExportedEvent) {
-            executorService.execute(() -> handler((ServiceBeanExportedEvent) event));
+            handler((ServiceBeanExportedEvent) event);
+        } else if (event instanceof ApplicationReadyEvent) {
+            registrar.start();
         }
     }
 
@@ -69,12 +68,12 @@ public class DubboListener implements ApplicationListener {
                     log.error(".......dubbo client must config context-path and soul admin url......");
                     return;
                 }
-                post(buildJsonParams(serviceBean, soulClient, method));
+                registrar.register(buildMetaDataDTO(serviceBean, soulClient, method));
             }
         }
     }
 
-    private String buildJsonParams(final ServiceBean serviceBean, final SoulClient soulClient, final Method method) {
+    private MetaDataDTO buildMetaDataDTO(final ServiceBean serviceBean, final SoulClient soulClient, final Method method) {
         String appName = dubboConfig.getAppName();
         if (appName == null || "".equals(appName)) {
             appName = serviceBean.getApplication().getName();
@@ -86,7 +85,7 @@ public class DubboListener implements ApplicationListener {
         Class<?>[] parameterTypesClazz = method.getParameterTypes();
         String parameterTypes = Arrays.stream(parameterTypesClazz).map(Class::getName)
                 .collect(Collectors.joining(","));
-        MetaDataDTO metaDataDTO = MetaDataDTO.builder()
+        return MetaDataDTO.builder()
                 .appName(appName)
                 .serviceName(serviceName)
                 .methodName(methodName)
@@ -97,7 +96,6 @@ public class DubboListener implements ApplicationListener {
                 .rpcType("dubbo")
                 .enabled(soulClient.enabled())
                 .build();
-        return OkHttpTools.getInstance().getGosn().toJson(metaDataDTO);
 
     }
 
@@ -113,17 +111,4 @@ public class DubboListener implements ApplicationListener {
 
     }
 
-    private void post(final String json) {
-        try {
-            String result = OkHttpTools.getInstance().post(url, json);
-            if (Objects.equals(result, "success")) {
-                log.info("dubbo client register success :{} " + json);
-            } else {
-                log.error("dubbo client register error :{} " + json);
-            }
-        } catch (IOException e) {
-            log.error("cannot register soul admin param :{}", url + ":" + json);
-        }
-    }
-
 }
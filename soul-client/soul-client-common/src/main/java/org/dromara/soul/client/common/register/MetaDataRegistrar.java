@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.dromara.soul.client.common.register;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.soul.client.common.dto.MetaDataDTO;
+import org.dromara.soul.client.common.utils.OkHttpTools;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Registers the client meta data to soul admin in batches.
+ * The meta data is collected while the application starts and posted once it is ready,
+ * a batch that can not be delivered is retried with an exponential backoff.
+ *
+ * @author xiaoyu
+ */
+@Slf4j
+public final class MetaDataRegistrar {
+
+    private static final int BATCH_SIZE = 200;
+
+    private static final long COALESCE_MILLIS = 200;
+
+    private static final long INITIAL_BACKOFF_MILLIS = 1000;
+
+    private static final long MAX_BACKOFF_MILLIS = 60_000;
+
+    private final String url;
+
+    private final String clientName;
+
+    private final Deque<MetaDataDTO> pending = new ConcurrentLinkedDeque<>();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread thread = new Thread(r, "soul-client-register");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean ready;
+
+    private long backoffMillis = INITIAL_BACKOFF_MILLIS;
+
+    /**
+     * Instantiates a new Meta data registrar.
+     *
+     * @param adminUrl   the soul admin url
+     * @param clientName the client name used in the logs
+     */
+    public MetaDataRegistrar(final String adminUrl, final String clientName) {
+        this.url = adminUrl + "/meta-data/batch-register";
+        this.clientName = clientName;
+    }
+
+    /**
+     * Register the meta data, it is posted with the next batch once the registrar is started.
+     *
+     * @param metaDataDTO the meta data dto
+     */
+    public void register(final MetaDataDTO metaDataDTO) {
+        pending.offer(metaDataDTO);
+        if (ready) {
+            schedule(COALESCE_MILLIS);
+        }
+    }
+
+    /**
+     * Start posting the registered meta data, calling it again has no effect.
+     */
+    public void start() {
+        if (!ready) {
+            ready = true;
+            schedule(0);
+        }
+    }
+
+    private void schedule(final long delayMillis) {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.schedule(this::flush, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        List<MetaDataDTO> batch = new ArrayList<>(BATCH_SIZE);
+        MetaDataDTO metaDataDTO;
+        while (batch.size() < BATCH_SIZE && (metaDataDTO = pending.poll()) != null) {
+            batch.add(metaDataDTO);
+        }
+        if (!batch.isEmpty() && !post(batch)) {
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                pending.offerFirst(batch.get(i));
+            }
+            long delay = backoffMillis + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1);
+            backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+            log.warn("{} client register retry {} meta data in {} ms", clientName, pending.size(), delay);
+            executor.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+            return;
+        }
+        backoffMillis = INITIAL_BACKOFF_MILLIS;
+        if (!pending.isEmpty()) {
+            executor.execute(this::flush);
+            return;
+        }
+        scheduled.set(false);
+        // a registration may have missed the flag while this batch was posted.
+        if (!pending.isEmpty()) {
+            schedule(COALESCE_MILLIS);
+        }
+    }
+
+    /**
+     * Post one batch.
+     *
+     * @param batch the batch
+     * @return false if it should be retried
+     */
+    private boolean post(final List<MetaDataDTO> batch) {
+        try {
+            String result = OkHttpTools.getInstance().postGzip(url, OkHttpTools.getInstance().getGosn().toJson(batch));
+            if (Objects.equals(result, "success")) {
+                log.info("{} client register success, {} meta data", clientName, batch.size());
+            } else {
+                // rejected meta data, such as a conflicting path, would be rejected again.
+                log.error("{} client register error :{}", clientName, result);
+            }
+            return true;
+        } catch (IOException e) {
+            log.error("cannot register soul admin {} :{}", url, e.getMessage());
+            return false;
+        }
+    }
+}
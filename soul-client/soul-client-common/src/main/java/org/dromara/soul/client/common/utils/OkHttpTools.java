@@ -25,9 +25,12 @@ import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * OkHttpTools.
@@ -144,6 +147,32 @@ public final class OkHttpTools {
         return client.newCall(request).execute().body().string();
     }
 
+    /**
+     * Post the json gzip compressed.
+     *
+     * @param url  the url
+     * @param json the json
+     * @return the response body
+     * @throws IOException the io exception, also thrown when the response is not 2xx
+     */
+    public String postGzip(final String url, final String json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        Request request = new Request.Builder()
+                .url(url)
+                .header("Content-Encoding", "gzip")
+                .post(RequestBody.create(JSON, bytes.toByteArray()))
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new IOException("unexpected response code " + response.code() + " from " + url);
+            }
+            return response.body().string();
+        }
+    }
+
     public Gson getGosn() {
         return GOSN;
     }
@@ -22,10 +22,12 @@ package org.dromara.soul.client.springcloud.spring;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.soul.client.common.annotation.SoulClient;
 import org.dromara.soul.client.common.dto.MetaDataDTO;
-import org.dromara.soul.client.common.utils.OkHttpTools;
+import org.dromara.soul.client.common.register.MetaDataRegistrar;
 import org.dromara.soul.client.springcloud.config.SoulSpringCloudConfig;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.lang.NonNull;
@@ -34,12 +36,9 @@ import org.springframework.util.ReflectionUtils;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -48,15 +47,13 @@ import java.util.stream.Collectors;
  * @author xiaoyu(Myth)
  */
 @Slf4j
-public class SoulSpringCloudClientBeanPostProcessor implements BeanPostProcessor {
-
-    private ExecutorService executorService = Executors.newSingleThreadExecutor();
+public class SoulSpringCloudClientBeanPostProcessor implements BeanPostProcessor, ApplicationListener<ApplicationReadyEvent> {
 
     private final Environment env;
 
     private SoulSpringCloudConfig soulSpringCloudConfig;
 
-    private final String url;
+    private final MetaDataRegistrar registrar;
 
     /**
      * Instantiates a new Soul spring cloud client bean post processor.
@@ -67,7 +64,7 @@ public class SoulSpringCloudClientBeanPostProcessor implements BeanPostProcessor
     public SoulSpringCloudClientBeanPostProcessor(final Environment env, final SoulSpringCloudConfig soulSpringCloudConfig) {
         this.env = env;
         this.soulSpringCloudConfig = soulSpringCloudConfig;
-        url = soulSpringCloudConfig.getAdminUrl() + "/meta-data/register";
+        registrar = new MetaDataRegistrar(soulSpringCloudConfig.getAdminUrl(), "springCloud");
     }
 
     @Override
@@ -92,27 +89,19 @@ public class SoulSpringCloudClientBeanPostProcessor implements BeanPostProcessor
             for (Method method : methods) {
                 SoulClient soulClient = AnnotationUtils.findAnnotation(method, SoulClient.class);
                 if (Objects.nonNull(soulClient)) {
-                    executorService.execute(() -> post(buildJsonParams(soulClient, contextPath, bean, method)));
+                    registrar.register(buildMetaDataDTO(soulClient, contextPath, bean, method));
                 }
             }
         }
         return bean;
     }
 
-    private void post(final String json) {
-        try {
-            String result = OkHttpTools.getInstance().post(url, json);
-            if (Objects.equals(result, "success")) {
-                log.info("springCloud client register success :{} " + json);
-            } else {
-                log.error("springCloud client register error :{} " + json);
-            }
-        } catch (IOException e) {
-            log.error("cannot register soul admin param :{}", url + ":" + json);
-        }
+    @Override
+    public void onApplicationEvent(@NonNull final ApplicationReadyEvent event) {
+        registrar.start();
     }
 
-    private String buildJsonParams(final SoulClient soulClient, final String contextPath, final Object bean, final Method method) {
+    private MetaDataDTO buildMetaDataDTO(final SoulClient soulClient, final String contextPath, final Object bean, final Method method) {
         String appName = soulSpringCloudConfig.getAppName();
         if (appName == null || "".equals(appName)) {
             appName = env.getProperty("spring.application.name");
@@ -123,7 +112,7 @@ public class SoulSpringCloudClientBeanPostProcessor implements BeanPostProcessor
         String methodName = method.getName();
         Class<?>[] parameterTypesClazz = method.getParameterTypes();
         String parameterTypes = Arrays.stream(parameterTypesClazz).map(Class::getName).collect(Collectors.joining(","));
-        MetaDataDTO metaDataDTO = MetaDataDTO.builder()
+        return MetaDataDTO.builder()
                 .appName(appName)
                 .serviceName(serviceName)
                 .methodName(methodName)
@@ -134,7 +123,6 @@ public class SoulSpringCloudClientBeanPostProcessor implements BeanPostProcessor
                 .rpcType("springCloud")
                 .enabled(soulClient.enabled())
                 .build();
-        return OkHttpTools.getInstance().getGosn().toJson(metaDataDTO);
 
     }
 
@@ -20,10 +20,12 @@ package org.dromara.soul.client.springmvc.spring;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.soul.client.common.annotation.SoulClient;
 import org.dromara.soul.client.common.dto.MetaDataDTO;
-import org.dromara.soul.client.common.utils.OkHttpTools;
+import org.dromara.soul.client.common.register.MetaDataRegistrar;
 import org.dromara.soul.client.springmvc.config.SoulHttpConfig;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.lang.NonNull;
@@ -32,12 +34,9 @@ import org.springframework.util.ReflectionUtils;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -46,15 +45,13 @@ import java.util.stream.Collectors;
  * @author xiaoyu(Myth)
  */
 @Slf4j
-public class SoulClientBeanPostProcessor implements BeanPostProcessor {
-
-    private ExecutorService executorService = Executors.newSingleThreadExecutor();
+public class SoulClientBeanPostProcessor implements BeanPostProcessor, ApplicationListener<ApplicationReadyEvent> {
 
     private final Environment env;
 
     private SoulHttpConfig soulHttpConfig;
 
-    private final String url;
+    private final MetaDataRegistrar registrar;
 
     /**
      * Instantiates a new Soul client bean post processor.
@@ -65,7 +62,7 @@ public class SoulClientBeanPostProcessor implements BeanPostProcessor {
     public SoulClientBeanPostProcessor(final Environment env, final SoulHttpConfig soulHttpConfig) {
         this.env = env;
         this.soulHttpConfig = soulHttpConfig;
-        url = soulHttpConfig.getAdminUrl() + "/meta-data/register";
+        registrar = new MetaDataRegistrar(soulHttpConfig.getAdminUrl(), "springMvc");
     }
 
     @Override
@@ -90,27 +87,19 @@ public class SoulClientBeanPostProcessor implements BeanPostProcessor {
             for (Method method : methods) {
                 SoulClient soulClient = AnnotationUtils.findAnnotation(method, SoulClient.class);
                 if (Objects.nonNull(soulClient)) {
-                    executorService.execute(() -> post(buildJsonParams(soulClient, contextPath, bean, method)));
+                    registrar.register(buildMetaDataDTO(soulClient, contextPath, bean, method));
                 }
             }
         }
         return bean;
     }
 
-    private void post(final String json) {
-        try {
-            String result = OkHttpTools.getInstance().post(url, json);
-            if (Objects.equals(result, "success")) {
-                log.info("springMvc client register success :{} " + json);
-            } else {
-                log.error("springMvc client register error :{} " + json);
-            }
-        } catch (IOException e) {
-            log.error("cannot register soul admin param :{}", url + ":" + json);
-        }
+    @Override
+    public void onApplicationEvent(@NonNull final ApplicationReadyEvent event) {
+        registrar.start();
     }
 
-    private String buildJsonParams(final SoulClient soulClient, final String contextPath, final Object bean, final Method method) {
+    private MetaDataDTO buildMetaDataDTO(final SoulClient soulClient, final String contextPath, final Object bean, final Method method) {
         String appName = soulHttpConfig.getAppName();
         if (appName == null || "".equals(appName)) {
             appName = env.getProperty("spring.application.name");
@@ -121,7 +110,7 @@ public class SoulClientBeanPostProcessor implements BeanPostProcessor {
         String methodName = method.getName();
         Class<?>[] parameterTypesClazz = method.getParameterTypes();
         String parameterTypes = Arrays.stream(parameterTypesClazz).map(Class::getName).collect(Collectors.joining(","));
-        MetaDataDTO metaDataDTO = MetaDataDTO.builder()
+        return MetaDataDTO.builder()
                 .appName(appName)
                 .serviceName(serviceName)
                 .methodName(methodName)
@@ -132,7 +121,6 @@ public class SoulClientBeanPostProcessor implements BeanPostProcessor {
                 .rpcType("http")
                 .enabled(soulClient.enabled())
                 .build();
-        return OkHttpTools.getInstance().getGosn().toJson(metaDataDTO);
 
     }
 
@@ -77,11 +77,21 @@ public interface Constants {
      */
     String HTTP_URL = "httpUrl";
 
+    /**
+     * The constant HTTP_RETRY_CONTEXT.
+     */
+    String HTTP_RETRY_CONTEXT = "httpRetryContext";
+
     /**
      * The constant DUBBO_PARAMS.
      */
     String DUBBO_PARAMS = "dubbo_params";
 
+    /**
+     * The constant POST_FIELDS.
+     */
+    String POST_FIELDS = "post_fields";
+
     /**
      * The constant DECODE.
      */
@@ -32,6 +32,11 @@ public final class ZkPathConstants implements Constants {
 
     private static final String PRE_FIX = "/soul-open";
 
+    /**
+     * The constant ROOT, the parent of every soul node.
+     */
+    public static final String ROOT = PRE_FIX;
+
     /**
      * The constant PLUGIN_PARENT.
      */
@@ -0,0 +1,56 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.dromara.soul.common.dto;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The changes of one group since the version a client last applied.
+ * When the server change log no longer covers that version, {@code full} is set
+ * and {@code data} holds the whole group instead of {@code changes}.
+ *
+ * @param <T> the type parameter
+ * @author xiaoyu
+ */
+@Data
+@NoArgsConstructor
+@Accessors(chain = true)
+public class ConfigDelta<T> implements Serializable {
+
+    private String md5;
+
+    private long lastModifyTime;
+
+    /**
+     * identifies the change log the version belongs to, it changes when the server restarts.
+     */
+    private long epoch;
+
+    private long version;
+
+    private boolean full;
+
+    private List<ConfigChange<T>> changes;
+
+    private List<T> data;
+
+}
@@ -0,0 +1,52 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.common.dto.convert;
+
+import lombok.Data;
+
+/**
+ * this is cache plugin handle.
+ *
+ * @author xiaoyu
+ */
+@Data
+public class CacheHandle {
+
+    /**
+     * time to live of a cached response in seconds, overridden by the upstream Cache-Control max-age.
+     */
+    private long ttl;
+
+    /**
+     * comma separated query params that are part of the cache key, blank means the whole query string.
+     */
+    private String queryParams;
+
+    /**
+     * comma separated request headers that are part of the cache key.
+     */
+    private String headers;
+
+    /**
+     * whether requests carrying Authorization or Cookie headers are cached, off by default since
+     * their responses are usually per user; only enable it when those headers are in the key.
+     */
+    private boolean cacheAuthorized;
+
+}
@@ -38,8 +38,18 @@ public class DivideRuleHandle extends HystrixHandle implements Serializable {
     private String loadBalance;
 
     /**
-     * http retry.
+     * http retry, the max number of extra attempts on other upstreams for idempotent requests.
      */
     private int retry;
 
+    /**
+     * retry budget, the ratio of retries and hedged requests to original requests of this rule.
+     */
+    private double retryBudget = 0.1;
+
+    /**
+     * send a hedged request to another upstream once the p95 latency of this rule has elapsed.
+     */
+    private boolean hedge;
+
 }
@@ -21,8 +21,6 @@ package org.dromara.soul.common.enums;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
-import java.util.Arrays;
-
 /**
  * MatchModeEnum.
  *
@@ -42,10 +40,23 @@ public enum MatchModeEnum {
      */
     OR(1, "or");
 
+    private static final MatchModeEnum[] BY_CODE;
+
     private final int code;
 
     private final String name;
 
+    static {
+        int max = 0;
+        for (MatchModeEnum mode : values()) {
+            max = Math.max(max, mode.code);
+        }
+        BY_CODE = new MatchModeEnum[max + 1];
+        for (MatchModeEnum mode : values()) {
+            BY_CODE[mode.code] = mode;
+        }
+    }
+
     /**
      * get match mode name by code.
      *
@@ -53,9 +64,17 @@ public enum MatchModeEnum {
      * @return match mode name.
      */
     public static String getMatchModeByCode(final int code) {
-        return Arrays.stream(MatchModeEnum.values())
-                .filter(e -> e.code == code).findFirst()
-                .orElse(MatchModeEnum.AND)
-                .getName();
+        return acquireByCode(code).getName();
+    }
+
+    /**
+     * get match mode by code.
+     *
+     * @param code match mode code.
+     * @return match mode, {@link #AND} when the code is unknown.
+     */
+    public static MatchModeEnum acquireByCode(final int code) {
+        MatchModeEnum mode = code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        return mode == null ? AND : mode;
     }
 }
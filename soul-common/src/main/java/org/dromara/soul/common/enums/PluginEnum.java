@@ -62,6 +62,11 @@ public enum PluginEnum {
      */
     REDIRECT(40, 0, "redirect"),
 
+    /**
+     * Cache plugin enum.
+     */
+    CACHE(45, 0, "cache"),
+
     /**
      * Divide plugin enum.
      */
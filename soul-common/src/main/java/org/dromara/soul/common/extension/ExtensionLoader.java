@@ -23,6 +23,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
@@ -78,16 +79,16 @@ public final class ExtensionLoader<T> {
         if (clazz == null) {
             throw new NullPointerException("extension clazz is null");
         }
+        ExtensionLoader<T> extensionLoader = (ExtensionLoader<T>) LOADERS.get(clazz);
+        if (extensionLoader != null) {
+            return extensionLoader;
+        }
         if (!clazz.isInterface()) {
             throw new IllegalArgumentException("extension clazz (" + clazz + "is not interface!");
         }
         if (!clazz.isAnnotationPresent(SPI.class)) {
             throw new IllegalArgumentException("extension clazz (" + clazz + "without @" + SPI.class + "Annotation");
         }
-        ExtensionLoader<T> extensionLoader = (ExtensionLoader<T>) LOADERS.get(clazz);
-        if (extensionLoader != null) {
-            return extensionLoader;
-        }
         LOADERS.putIfAbsent(clazz, new ExtensionLoader<>(clazz));
         return (ExtensionLoader<T>) LOADERS.get(clazz);
     }
@@ -112,6 +113,11 @@ public final class ExtensionLoader<T> {
      * @return the join.
      */
     public T getJoin(final String name) {
+        Holder<Object> cached = name == null ? null : cachedInstances.get(name);
+        Object cachedValue = cached == null ? null : cached.getValue();
+        if (cachedValue != null) {
+            return (T) cachedValue;
+        }
         if (StringUtils.isBlank(name)) {
             throw new NullPointerException("get join name is null");
         }
@@ -137,6 +143,17 @@ public final class ExtensionLoader<T> {
         }
     }
 
+    /**
+     * Gets every declared join by name, resolved once so hot paths can bind them up front.
+     *
+     * @return the joins by name.
+     */
+    public Map<String, T> getJoins() {
+        Map<String, T> joins = new HashMap<>(16);
+        getExtensionClasses().keySet().forEach(name -> joins.put(name, getJoin(name)));
+        return Collections.unmodifiableMap(joins);
+    }
+
     @SuppressWarnings("unchecked")
     private T createExtension(final String name) {
         Class<?> aClass = getExtensionClasses().get(name);
@@ -0,0 +1,425 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one or more
+ *  * contributor license agreements.  See the NOTICE file distributed with
+ *  * this work for additional information regarding copyright ownership.
+ *  * The ASF licenses this file to You under the Apache License, Version 2.0
+ *  * (the "License"); you may not use this file except in compliance with
+ *  * the License.  You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+package org.dromara.soul.common.utils;
+
+import org.dromara.soul.common.dto.AppAuthData;
+import org.dromara.soul.common.dto.AuthParamData;
+import org.dromara.soul.common.dto.AuthPathData;
+import org.dromara.soul.common.dto.ConditionData;
+import org.dromara.soul.common.dto.MetaData;
+import org.dromara.soul.common.dto.PluginData;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.dto.WebsocketData;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.dromara.soul.common.enums.DataEventTypeEnum;
+import org.dromara.soul.common.exception.SoulException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The compact binary encoding of {@link WebsocketData}.
+ * A frame is a header of magic, version, group and event type, followed by the record count and the records.
+ * Every record is written field by field in the declared order of its schema below, there are no field names on the wire.
+ * Strings are a varint length plus one (0 stands for null) and utf-8 bytes, integers are zigzag varints
+ * behind a presence byte, booleans are one byte (0 null, 1 false, 2 true), lists are a varint size plus one.
+ * The ordinals of {@link ConfigGroupEnum} and {@link DataEventTypeEnum} are part of the format, bump {@link #VERSION}
+ * when either enum or a schema changes.
+ *
+ * @author xiaoyu
+ */
+public final class ConfigBinaryCodec {
+
+    /**
+     * The handshake a gateway sends instead of {@code MYSELF} to receive binary frames.
+     */
+    public static final String HANDSHAKE = DataEventTypeEnum.MYSELF.name() + ":BINARY";
+
+    private static final byte MAGIC = 0x53;
+
+    private static final byte VERSION = 1;
+
+    private static final ConfigGroupEnum[] GROUPS = ConfigGroupEnum.values();
+
+    private static final DataEventTypeEnum[] EVENT_TYPES = DataEventTypeEnum.values();
+
+    private ConfigBinaryCodec() {
+    }
+
+    /**
+     * Encode the records of a group.
+     *
+     * @param group     the group
+     * @param eventType the event type
+     * @param data      the records, of the type of the group
+     * @return the frame
+     */
+    public static byte[] encode(final ConfigGroupEnum group, final DataEventTypeEnum eventType, final List<?> data) {
+        Output out = new Output(256 + data.size() * 128);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(group.ordinal());
+        out.writeByte(eventType.ordinal());
+        out.writeVarInt(data.size());
+        for (Object record : data) {
+            switch (group) {
+                case PLUGIN:
+                    writePlugin(out, (PluginData) record);
+                    break;
+                case SELECTOR:
+                    writeSelector(out, (SelectorData) record);
+                    break;
+                case RULE:
+                    writeRule(out, (RuleData) record);
+                    break;
+                case APP_AUTH:
+                    writeAppAuth(out, (AppAuthData) record);
+                    break;
+                case META_DATA:
+                    writeMetaData(out, (MetaData) record);
+                    break;
+                default:
+                    throw new SoulException("binary codec can not support group " + group);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode a frame straight into typed records.
+     *
+     * @param buffer the frame
+     * @return the websocket data, the data list holds the record type of the group
+     */
+    public static WebsocketData<?> decode(final ByteBuffer buffer) {
+        if (buffer.get() != MAGIC) {
+            throw new SoulException("not a binary config frame");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new SoulException("binary config frame version " + version + " can not support");
+        }
+        ConfigGroupEnum group = GROUPS[buffer.get()];
+        DataEventTypeEnum eventType = EVENT_TYPES[buffer.get()];
+        Input in = new Input(buffer);
+        int size = in.readVarInt();
+        List<Object> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            switch (group) {
+                case PLUGIN:
+                    data.add(readPlugin(in));
+                    break;
+                case SELECTOR:
+                    data.add(readSelector(in));
+                    break;
+                case RULE:
+                    data.add(readRule(in));
+                    break;
+                case APP_AUTH:
+                    data.add(readAppAuth(in));
+                    break;
+                case META_DATA:
+                    data.add(readMetaData(in));
+                    break;
+                default:
+                    throw new SoulException("binary codec can not support group " + group);
+            }
+        }
+        return new WebsocketData<>(group.name(), eventType.name(), data);
+    }
+
+    private static void writePlugin(final Output out, final PluginData data) {
+        out.writeString(data.getId());
+        out.writeString(data.getName());
+        out.writeString(data.getConfig());
+        out.writeInteger(data.getRole());
+        out.writeBoolean(data.getEnabled());
+    }
+
+    private static PluginData readPlugin(final Input in) {
+        PluginData data = new PluginData();
+        data.setId(in.readString());
+        data.setName(in.readString());
+        data.setConfig(in.readString());
+        data.setRole(in.readInteger());
+        data.setEnabled(in.readBoolean());
+        return data;
+    }
+
+    private static void writeSelector(final Output out, final SelectorData data) {
+        out.writeString(data.getId());
+        out.writeString(data.getPluginId());
+        out.writeString(data.getPluginName());
+        out.writeString(data.getName());
+        out.writeInteger(data.getMatchMode());
+        out.writeInteger(data.getType());
+        out.writeInteger(data.getSort());
+        out.writeBoolean(data.getEnabled());
+        out.writeBoolean(data.getLoged());
+        out.writeBoolean(data.getContinued());
+        out.writeString(data.getHandle());
+        out.writeList(data.getConditionList(), ConfigBinaryCodec::writeCondition);
+    }
+
+    private static SelectorData readSelector(final Input in) {
+        SelectorData data = new SelectorData();
+        data.setId(in.readString());
+        data.setPluginId(in.readString());
+        data.setPluginName(in.readString());
+        data.setName(in.readString());
+        data.setMatchMode(in.readInteger());
+        data.setType(in.readInteger());
+        data.setSort(in.readInteger());
+        data.setEnabled(in.readBoolean());
+        data.setLoged(in.readBoolean());
+        data.setContinued(in.readBoolean());
+        data.setHandle(in.readString());
+        data.setConditionList(in.readList(ConfigBinaryCodec::readCondition));
+        return data;
+    }
+
+    private static void writeRule(final Output out, final RuleData data) {
+        out.writeString(data.getId());
+        out.writeString(data.getName());
+        out.writeString(data.getPluginName());
+        out.writeString(data.getSelectorId());
+        out.writeInteger(data.getMatchMode());
+        out.writeInteger(data.getSort());
+        out.writeBoolean(data.getEnabled());
+        out.writeBoolean(data.getLoged());
+        out.writeString(data.getHandle());
+        out.writeList(data.getConditionDataList(), ConfigBinaryCodec::writeCondition);
+    }
+
+    private static RuleData readRule(final Input in) {
+        RuleData data = new RuleData();
+        data.setId(in.readString());
+        data.setName(in.readString());
+        data.setPluginName(in.readString());
+        data.setSelectorId(in.readString());
+        data.setMatchMode(in.readInteger());
+        data.setSort(in.readInteger());
+        data.setEnabled(in.readBoolean());
+        data.setLoged(in.readBoolean());
+        data.setHandle(in.readString());
+        data.setConditionDataList(in.readList(ConfigBinaryCodec::readCondition));
+        return data;
+    }
+
+    private static void writeCondition(final Output out, final ConditionData data) {
+        out.writeString(data.getParamType());
+        out.writeString(data.getOperator());
+        out.writeString(data.getParamName());
+        out.writeString(data.getParamValue());
+    }
+
+    private static ConditionData readCondition(final Input in) {
+        return new ConditionData(in.readString(), in.readString(), in.readString(), in.readString());
+    }
+
+    private static void writeAppAuth(final Output out, final AppAuthData data) {
+        out.writeString(data.getAppKey());
+        out.writeString(data.getAppSecret());
+        out.writeBoolean(data.getEnabled());
+        out.writeList(data.getParamDataList(), (o, param) -> {
+            o.writeString(param.getAppName());
+            o.writeString(param.getAppParam());
+        });
+        out.writeList(data.getPathDataList(), (o, path) -> {
+            o.writeString(path.getAppName());
+            o.writeString(path.getPath());
+            o.writeBoolean(path.getEnabled());
+        });
+    }
+
+    private static AppAuthData readAppAuth(final Input in) {
+        AppAuthData data = new AppAuthData();
+        data.setAppKey(in.readString());
+        data.setAppSecret(in.readString());
+        data.setEnabled(in.readBoolean());
+        data.setParamDataList(in.readList(i -> new AuthParamData(i.readString(), i.readString())));
+        data.setPathDataList(in.readList(i -> new AuthPathData(i.readString(), i.readString(), i.readBoolean())));
+        return data;
+    }
+
+    private static void writeMetaData(final Output out, final MetaData data) {
+        out.writeString(data.getAppName());
+        out.writeString(data.getPath());
+        out.writeString(data.getRpcType());
+        out.writeString(data.getServiceName());
+        out.writeString(data.getMethodName());
+        out.writeString(data.getParameterTypes());
+        out.writeString(data.getRpcExt());
+        out.writeBoolean(data.getEnabled());
+    }
+
+    private static MetaData readMetaData(final Input in) {
+        MetaData data = new MetaData();
+        data.setAppName(in.readString());
+        data.setPath(in.readString());
+        data.setRpcType(in.readString());
+        data.setServiceName(in.readString());
+        data.setMethodName(in.readString());
+        data.setParameterTypes(in.readString());
+        data.setRpcExt(in.readString());
+        data.setEnabled(in.readBoolean());
+        return data;
+    }
+
+    private static final class Output {
+
+        private byte[] buf;
+
+        private int pos;
+
+        Output(final int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        void writeByte(final int value) {
+            ensure(1);
+            buf[pos++] = (byte) value;
+        }
+
+        void writeVarInt(final int value) {
+            ensure(5);
+            int v = value;
+            while ((v & ~0x7F) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        void writeString(final String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void writeInteger(final Integer value) {
+            if (value == null) {
+                writeByte(0);
+                return;
+            }
+            writeByte(1);
+            writeVarInt((value << 1) ^ (value >> 31));
+        }
+
+        void writeBoolean(final Boolean value) {
+            writeByte(value == null ? 0 : value ? 2 : 1);
+        }
+
+        <T> void writeList(final List<T> list, final BiConsumer<Output, T> writer) {
+            if (list == null) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(list.size() + 1);
+            for (T element : list) {
+                writer.accept(this, element);
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        private void ensure(final int length) {
+            if (pos + length > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, pos + length));
+            }
+        }
+    }
+
+    private static final class Input {
+
+        private final ByteBuffer buffer;
+
+        Input(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        String readString() {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            String value;
+            if (buffer.hasArray()) {
+                value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            } else {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return value;
+        }
+
+        Integer readInteger() {
+            if (buffer.get() == 0) {
+                return null;
+            }
+            int v = readVarInt();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        Boolean readBoolean() {
+            byte value = buffer.get();
+            return value == 0 ? null : value == 2;
+        }
+
+        <T> List<T> readList(final Function<Input, T> reader) {
+            int size = readVarInt() - 1;
+            if (size < 0) {
+                return null;
+            }
+            List<T> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(reader.apply(this));
+            }
+            return list;
+        }
+    }
+}
@@ -35,6 +35,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -89,6 +90,17 @@ public final class JsonUtils {
         }
     }
 
+    /**
+     * Write the object as json into the output stream.
+     *
+     * @param object       the object
+     * @param outputStream the output stream
+     * @throws IOException the io exception
+     */
+    public static void writeJson(final Object object, final OutputStream outputStream) throws IOException {
+        mapper.writeValue(outputStream, object);
+    }
+
     /**
      * Remove class object.
      *
@@ -0,0 +1,143 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one or more
+ *  * contributor license agreements.  See the NOTICE file distributed with
+ *  * this work for additional information regarding copyright ownership.
+ *  * The ASF licenses this file to You under the Apache License, Version 2.0
+ *  * (the "License"); you may not use this file except in compliance with
+ *  * the License.  You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+package org.dromara.soul.common.utils;
+
+import org.dromara.soul.common.dto.AppAuthData;
+import org.dromara.soul.common.dto.AuthParamData;
+import org.dromara.soul.common.dto.AuthPathData;
+import org.dromara.soul.common.dto.ConditionData;
+import org.dromara.soul.common.dto.MetaData;
+import org.dromara.soul.common.dto.PluginData;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.dto.WebsocketData;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.dromara.soul.common.enums.DataEventTypeEnum;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The type Config binary codec test.
+ *
+ * @author xiaoyu
+ */
+public class ConfigBinaryCodecTest {
+
+    /**
+     * Plugin with null and empty fields test.
+     */
+    @Test
+    public void pluginNullAndEmptyFieldsTest() {
+        PluginData empty = new PluginData("", "", "", 0, false);
+        PluginData nulls = new PluginData(null, null, null, null, null);
+        PluginData negative = new PluginData("1", "divide", "{\"a\":1}", -7, true);
+        assertRoundTrip(ConfigGroupEnum.PLUGIN, DataEventTypeEnum.UPDATE, Arrays.asList(empty, nulls, negative));
+    }
+
+    /**
+     * Selector with nested condition lists test.
+     */
+    @Test
+    public void selectorConditionListTest() {
+        SelectorData selector = new SelectorData("1", "2", "divide", "selector", 0, 1, Integer.MAX_VALUE, true, false, true,
+                "[{\"upstreamUrl\":\"127.0.0.1:8080\"}]",
+                Arrays.asList(new ConditionData("uri", "match", "/", "/order/**"),
+                        new ConditionData("header", "=", "x-env", null)));
+        SelectorData noConditions = new SelectorData("3", "2", "divide", "selector", null, null, null, null, null, null,
+                null, null);
+        SelectorData emptyConditions = new SelectorData("4", "2", "divide", "selector", 1, 0, 0, false, true, false,
+                "", new ArrayList<>());
+        assertRoundTrip(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.MYSELF, Arrays.asList(selector, noConditions, emptyConditions));
+    }
+
+    /**
+     * Rule with nested condition lists test.
+     */
+    @Test
+    public void ruleConditionListTest() {
+        RuleData rule = new RuleData("1", "rule", "divide", "2", 1, 3, true, false, "{\"loadBalance\":\"random\"}",
+                Collections.singletonList(new ConditionData("post", "like", "user.name", "soul")));
+        RuleData nulls = new RuleData(null, null, null, null, null, null, null, null, null, null);
+        assertRoundTrip(ConfigGroupEnum.RULE, DataEventTypeEnum.CREATE, Arrays.asList(rule, nulls));
+    }
+
+    /**
+     * App auth with nested param and path lists test.
+     */
+    @Test
+    public void appAuthNestedListTest() {
+        AppAuthData appAuth = new AppAuthData("key", "secret", true,
+                Collections.singletonList(new AuthParamData("app", "param")),
+                Arrays.asList(new AuthPathData("app", "/order/**", true), new AuthPathData("app", null, null)));
+        AppAuthData empty = new AppAuthData("", null, null, new ArrayList<>(), null);
+        assertRoundTrip(ConfigGroupEnum.APP_AUTH, DataEventTypeEnum.REFRESH, Arrays.asList(appAuth, empty));
+    }
+
+    /**
+     * Meta data with unicode fields test.
+     */
+    @Test
+    public void metaDataUnicodeTest() {
+        MetaData metaData = new MetaData();
+        metaData.setAppName("订单服务");
+        metaData.setPath("/order/查询/😀");
+        metaData.setRpcType("dubbo");
+        metaData.setServiceName("org.dromara.soul.OrderService");
+        metaData.setMethodName("findById");
+        metaData.setParameterTypes("java.lang.String");
+        metaData.setRpcExt("{\"group\":\"é\"}");
+        metaData.setEnabled(true);
+        assertRoundTrip(ConfigGroupEnum.META_DATA, DataEventTypeEnum.DELETE, Arrays.asList(metaData, new MetaData()));
+    }
+
+    /**
+     * Empty data list test.
+     */
+    @Test
+    public void emptyDataTest() {
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            assertRoundTrip(group, DataEventTypeEnum.REFRESH, Collections.emptyList());
+        }
+    }
+
+    /**
+     * Direct buffer test, the strings are not read from a backing array.
+     */
+    @Test
+    public void directBufferTest() {
+        List<PluginData> data = Collections.singletonList(new PluginData("1", "ä插件", null, 1, true));
+        byte[] frame = ConfigBinaryCodec.encode(ConfigGroupEnum.PLUGIN, DataEventTypeEnum.CREATE, data);
+        ByteBuffer direct = ByteBuffer.allocateDirect(frame.length);
+        direct.put(frame).flip();
+        Assert.assertEquals(data, ConfigBinaryCodec.decode(direct).getData());
+    }
+
+    private static void assertRoundTrip(final ConfigGroupEnum group, final DataEventTypeEnum eventType, final List<?> data) {
+        WebsocketData<?> decoded = ConfigBinaryCodec.decode(ByteBuffer.wrap(ConfigBinaryCodec.encode(group, eventType, data)));
+        Assert.assertEquals(group.name(), decoded.getGroupType());
+        Assert.assertEquals(eventType.name(), decoded.getEventType());
+        Assert.assertEquals(data, decoded.getData());
+    }
+}
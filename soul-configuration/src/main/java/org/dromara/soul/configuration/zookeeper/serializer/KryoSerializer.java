@@ -19,52 +19,83 @@
 package org.dromara.soul.configuration.zookeeper.serializer;
 
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import org.I0Itec.zkclient.exception.ZkMarshallingError;
 import org.I0Itec.zkclient.serialize.ZkSerializer;
+import org.dromara.soul.common.dto.AppAuthData;
+import org.dromara.soul.common.dto.AuthParamData;
+import org.dromara.soul.common.dto.AuthPathData;
+import org.dromara.soul.common.dto.ConditionData;
+import org.dromara.soul.common.dto.MetaData;
+import org.dromara.soul.common.dto.PluginData;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.exception.SerializerException;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.util.ArrayList;
 
 
 /**
  * KryoSerializer.
+ * Every thread keeps its own kryo, with the soul dto classes registered, and its own output buffer,
+ * so a call neither resolves classes by name nor allocates more than the result array.
+ * Classes that are not registered are still written by name.
  *
  * @author xiaoyu
  */
 public class KryoSerializer implements ZkSerializer {
 
+    private static final int BUFFER_SIZE = 4096;
+
+    /**
+     * the ids are part of the format shared by admin and gateway, only ever append to them.
+     */
+    private static final int FIRST_REGISTRATION_ID = 100;
+
+    private static final Class<?>[] REGISTERED_CLASSES = {
+        PluginData.class, SelectorData.class, RuleData.class, ConditionData.class,
+        AppAuthData.class, AuthParamData.class, AuthPathData.class, MetaData.class, ArrayList.class
+    };
+
+    private static final ThreadLocal<Kryo> KRYO = ThreadLocal.withInitial(KryoSerializer::newKryo);
+
+    private static final ThreadLocal<Output> OUTPUT = ThreadLocal.withInitial(() -> new Output(BUFFER_SIZE, -1));
+
+    private static Kryo newKryo() {
+        Kryo kryo = new Kryo();
+        kryo.setRegistrationRequired(false);
+        for (int i = 0; i < REGISTERED_CLASSES.length; i++) {
+            kryo.register(REGISTERED_CLASSES[i], FIRST_REGISTRATION_ID + i);
+        }
+        return kryo;
+    }
+
     @Override
     public byte[] serialize(final Object obj) {
-        byte[] bytes;
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            //获取kryo对象
-            Kryo kryo = new Kryo();
-            Output output = new Output(outputStream);
-            kryo.writeClassAndObject(output, obj);
-            bytes = output.toBytes();
-            output.flush();
-        } catch (IOException ex) {
-            throw new SerializerException("kryo serialize error" + ex.getMessage());
+        Output output = OUTPUT.get();
+        try {
+            output.clear();
+            KRYO.get().writeClassAndObject(output, obj);
+            return output.toBytes();
+        } catch (KryoException ex) {
+            throw new SerializerException("kryo serialize error" + ex.getMessage(), ex);
+        } finally {
+            if (output.getBuffer().length > BUFFER_SIZE) {
+                // do not keep a buffer grown by one large node alive on the thread.
+                output.setBuffer(new byte[BUFFER_SIZE], -1);
+            }
         }
-        return bytes;
     }
 
     @Override
     public Object deserialize(final byte[] bytes) throws ZkMarshallingError {
-        Object object;
-        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes)) {
-            Kryo kryo = new Kryo();
-            Input input = new Input(inputStream);
-            object = kryo.readClassAndObject(input);
-            input.close();
-        } catch (IOException e) {
-            throw new SerializerException("kryo deSerialize error" + e.getMessage());
+        try {
+            return KRYO.get().readClassAndObject(new Input(bytes));
+        } catch (KryoException e) {
+            throw new SerializerException("kryo deSerialize error" + e.getMessage(), e);
         }
-        return object;
     }
 
 }
@@ -23,6 +23,7 @@ import org.dromara.soul.common.extension.ExtensionLoader;
 import org.dromara.soul.web.balance.LoadBalance;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * The type Load balance utils.
@@ -31,6 +32,11 @@ import java.util.List;
  */
 public class LoadBalanceUtils {
 
+    /**
+     * the declared load balances by algorithm name, resolved once instead of per request.
+     */
+    private static final Map<String, LoadBalance> LOAD_BALANCES = ExtensionLoader.getExtensionLoader(LoadBalance.class).getJoins();
+
     /**
      * Selector divide upstream.
      *
@@ -40,7 +46,10 @@ public class LoadBalanceUtils {
      * @return the divide upstream
      */
     public static DivideUpstream selector(final List<DivideUpstream> upstreamList, final String algorithm, final String ip) {
-        LoadBalance loadBalance = ExtensionLoader.getExtensionLoader(LoadBalance.class).getJoin(algorithm);
+        LoadBalance loadBalance = LOAD_BALANCES.get(algorithm);
+        if (loadBalance == null) {
+            loadBalance = ExtensionLoader.getExtensionLoader(LoadBalance.class).getJoin(algorithm);
+        }
         return loadBalance.select(upstreamList, ip);
     }
 
@@ -26,6 +26,7 @@ import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.enums.RpcTypeEnum;
 import org.dromara.soul.web.plugin.config.PluginConfigHandler;
 import org.dromara.soul.web.plugin.dubbo.ApplicationConfigCache;
+import org.dromara.soul.web.support.PathTemplateRouter;
 
 import java.util.List;
 import java.util.Objects;
@@ -63,6 +64,11 @@ public abstract class AbstractLocalCacheManager implements LocalCacheManager {
      */
     static final ConcurrentMap<String, MetaData> META_DATA = Maps.newConcurrentMap();
 
+    /**
+     * path template -> MetaData, for the paths with {var} or ** segments.
+     */
+    static final PathTemplateRouter<MetaData> META_DATA_ROUTER = new PathTemplateRouter<>();
+
     /**
      * acquire AppAuthData by appKey with AUTH_MAP container.
      *
@@ -126,6 +132,48 @@ public abstract class AbstractLocalCacheManager implements LocalCacheManager {
         return META_DATA.get(path);
     }
 
+    /**
+     * Match the path against the meta data path templates.
+     *
+     * @param path the path
+     * @return the match, or null if no template matches
+     */
+    public static PathTemplateRouter.Match<MetaData> matchPath(final String path) {
+        return META_DATA_ROUTER.match(path);
+    }
+
+    /**
+     * Cache meta data by path.
+     *
+     * @param metaData the meta data
+     */
+    static void cacheMetaData(final MetaData metaData) {
+        META_DATA.put(metaData.getPath(), metaData);
+        if (PathTemplateRouter.isTemplate(metaData.getPath())) {
+            META_DATA_ROUTER.add(metaData.getPath(), metaData);
+        }
+    }
+
+    /**
+     * Remove meta data by path.
+     *
+     * @param metaData the meta data
+     */
+    static void removeMetaData(final MetaData metaData) {
+        META_DATA.remove(metaData.getPath());
+        if (PathTemplateRouter.isTemplate(metaData.getPath())) {
+            META_DATA_ROUTER.remove(metaData.getPath());
+        }
+    }
+
+    /**
+     * Remove all meta data.
+     */
+    static void clearMetaData() {
+        META_DATA.clear();
+        META_DATA_ROUTER.clear();
+    }
+
     /**
      * Init dubbo ref.
      *
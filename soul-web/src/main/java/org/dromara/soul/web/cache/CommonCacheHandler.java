@@ -18,12 +18,21 @@
 package org.dromara.soul.web.cache;
 
 import com.google.common.collect.Lists;
+import org.apache.commons.collections4.CollectionUtils;
+import org.dromara.soul.common.dto.AppAuthData;
+import org.dromara.soul.common.dto.MetaData;
+import org.dromara.soul.common.dto.PluginData;
 import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.enums.PluginEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -33,6 +42,103 @@ import java.util.stream.Collectors;
  */
 class CommonCacheHandler extends AbstractLocalCacheManager {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommonCacheHandler.class);
+
+
+    /**
+     * Flush all plugin. If the collection is empty, the cache will be emptied.
+     *
+     * @param pluginDataList the plugin config
+     */
+    void flushAllPlugin(final List<PluginData> pluginDataList) {
+        if (CollectionUtils.isEmpty(pluginDataList)) {
+            LOGGER.info("clear all plugin cache, old cache:{}", PLUGIN_MAP);
+            PLUGIN_MAP.clear();
+        } else {
+            PLUGIN_MAP.clear();
+            configPlugin(pluginDataList);
+            pluginDataList.forEach(pluginData -> PLUGIN_MAP.put(pluginData.getName(), pluginData));
+        }
+    }
+
+    /**
+     * Flush all selector.
+     *
+     * @param selectorDataList the selector config
+     */
+    void flushAllSelector(final List<SelectorData> selectorDataList) {
+        if (CollectionUtils.isEmpty(selectorDataList)) {
+            LOGGER.info("clear all selector cache, old cache:{}", SELECTOR_MAP);
+            SELECTOR_MAP.clear();
+            UpstreamCacheManager.retain(selectorDataList);
+        } else {
+            // the upstreams of the new selectors are in place before the selectors are swapped.
+            UpstreamCacheManager.refresh(selectorDataList);
+
+            // group by pluginName, then sort by sort value
+            Map<String, List<SelectorData>> pluginNameToSelectors = selectorDataList.stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.groupingBy(SelectorData::getPluginName,
+                            Collectors.toCollection(ArrayList::new)));
+
+            pluginNameToSelectors.keySet().forEach(pluginName -> {
+                List<SelectorData> sorted = pluginNameToSelectors.get(pluginName).stream()
+                        .sorted(Comparator.comparing(SelectorData::getSort)).collect(Collectors.toList());
+                pluginNameToSelectors.put(pluginName, sorted);
+            });
+            SELECTOR_MAP.putAll(pluginNameToSelectors);
+            SELECTOR_MAP.keySet().retainAll(pluginNameToSelectors.keySet());
+            UpstreamCacheManager.retain(selectorDataList);
+        }
+    }
+
+    /**
+     * Flush all rule.
+     *
+     * @param ruleDataList the rule config
+     */
+    void flushAllRule(final List<RuleData> ruleDataList) {
+        if (CollectionUtils.isEmpty(ruleDataList)) {
+            LOGGER.info("clear all rule cache, old cache:{}", RULE_MAP);
+            RULE_MAP.clear();
+        } else {
+            // group by selectorId, then sort by sort value
+            Map<String, List<RuleData>> selectorToRules = ruleDataList.stream()
+                    .collect(Collectors.groupingBy(RuleData::getSelectorId));
+            selectorToRules.keySet().forEach(selectorId -> {
+                List<RuleData> sorted = selectorToRules.get(selectorId).stream()
+                        .sorted(Comparator.comparing(RuleData::getSort)).collect(Collectors.toList());
+                selectorToRules.put(selectorId, sorted);
+            });
+            RULE_MAP.clear();
+            RULE_MAP.putAll(selectorToRules);
+        }
+    }
+
+    /**
+     * Flush all app auth.
+     *
+     * @param appAuthDataList the app auth config
+     */
+    void flushAllAppAuth(final List<AppAuthData> appAuthDataList) {
+        if (CollectionUtils.isEmpty(appAuthDataList)) {
+            LOGGER.info("clear all appAuth cache, old cache:{}", AUTH_MAP);
+            AUTH_MAP.clear();
+        } else {
+            AUTH_MAP.clear();
+            appAuthDataList.forEach(appAuth -> AUTH_MAP.put(appAuth.getAppKey(), appAuth));
+        }
+    }
+
+    void flushMetaData(final List<MetaData> metaDataList) {
+        if (CollectionUtils.isEmpty(metaDataList)) {
+            LOGGER.info("clear all metaDataList cache, old cache:{}", AUTH_MAP);
+            clearMetaData();
+        } else {
+            initDubboRef(metaDataList);
+            metaDataList.forEach(metaData -> cacheMetaData(metaData));
+        }
+    }
 
     /**
      * Delete selector data.
@@ -40,11 +146,25 @@ class CommonCacheHandler extends AbstractLocalCacheManager {
      * @param selectorData the selector data
      */
     void deleteSelectorData(final SelectorData selectorData) {
+        List<SelectorData> existList = SELECTOR_MAP.get(selectorData.getPluginName());
+        if (existList != null) {
+            existList.removeIf(e -> e.getId().equals(selectorData.getId()));
+        }
         if (selectorData.getPluginName().equals(PluginEnum.DIVIDE.getName())) {
             UpstreamCacheManager.removeByKey(selectorData.getId());
         }
-        List<SelectorData> existList = SELECTOR_MAP.get(selectorData.getPluginName());
-        existList.removeIf(e -> e.getId().equals(selectorData.getId()));
+    }
+
+    /**
+     * Delete rule data.
+     *
+     * @param ruleData the rule data
+     */
+    void deleteRuleData(final RuleData ruleData) {
+        List<RuleData> existList = RULE_MAP.get(ruleData.getSelectorId());
+        if (existList != null) {
+            existList.removeIf(e -> e.getId().equals(ruleData.getId()));
+        }
     }
 
     /**
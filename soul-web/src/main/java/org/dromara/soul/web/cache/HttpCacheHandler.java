@@ -17,134 +17,95 @@
 
 package org.dromara.soul.web.cache;
 
-import org.apache.commons.collections4.CollectionUtils;
 import org.dromara.soul.common.dto.AppAuthData;
 import org.dromara.soul.common.dto.MetaData;
 import org.dromara.soul.common.dto.PluginData;
 import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
-import org.dromara.soul.common.enums.PluginEnum;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.dromara.soul.common.enums.DataEventTypeEnum;
+import org.dromara.soul.web.plugin.dubbo.ApplicationConfigCache;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * The type Http cache handler.
  *
  * @author xiaoyu(Myth)
  */
-class HttpCacheHandler extends AbstractLocalCacheManager {
-
-    private static final Logger LOGGER = LoggerFactory.getLogger(HttpCacheHandler.class);
+class HttpCacheHandler extends CommonCacheHandler {
 
     /**
-     * Flush all plugin. If the collection is empty, the cache will be emptied.
+     * Apply a plugin change of the delta.
      *
-     * @param pluginDataList the plugin config
+     * @param pluginDataList the changed plugins
+     * @param eventType      the event type
      */
-    void flushAllPlugin(final List<PluginData> pluginDataList) {
-        if (CollectionUtils.isEmpty(pluginDataList)) {
-            LOGGER.info("clear all plugin cache, old cache:{}", PLUGIN_MAP);
-            PLUGIN_MAP.clear();
+    void applyPluginChange(final List<PluginData> pluginDataList, final DataEventTypeEnum eventType) {
+        if (eventType == DataEventTypeEnum.DELETE) {
+            pluginDataList.forEach(pluginData -> PLUGIN_MAP.remove(pluginData.getName()));
         } else {
-            PLUGIN_MAP.clear();
             configPlugin(pluginDataList);
             pluginDataList.forEach(pluginData -> PLUGIN_MAP.put(pluginData.getName(), pluginData));
         }
     }
 
     /**
-     * Flush all selector.
+     * Apply a selector change of the delta.
      *
-     * @param selectorDataList the selector config
+     * @param selectorDataList the changed selectors
+     * @param eventType        the event type
      */
-    void flushAllSelector(final List<SelectorData> selectorDataList) {
-        if (CollectionUtils.isEmpty(selectorDataList)) {
-            LOGGER.info("clear all selector cache, old cache:{}", SELECTOR_MAP);
-            SELECTOR_MAP.keySet().forEach(UpstreamCacheManager::removeByKey);
-            SELECTOR_MAP.clear();
+    void applySelectorChange(final List<SelectorData> selectorDataList, final DataEventTypeEnum eventType) {
+        if (eventType == DataEventTypeEnum.DELETE) {
+            selectorDataList.forEach(this::deleteSelectorData);
         } else {
-            // update cache for UpstreamCacheManager
-            SELECTOR_MAP.values().forEach(selectors -> selectors.forEach(selector -> {
-                if (PluginEnum.DIVIDE.getName().equals(selector.getPluginName())) {
-                    UpstreamCacheManager.removeByKey(selector.getId());
-                }
-            }));
-            // 是否需要刷新UpstreamCacheManager？
-            UpstreamCacheManager.clear();
-            selectorDataList.forEach(selector -> {
-                if (PluginEnum.DIVIDE.getName().equals(selector.getPluginName())) {
-                    UpstreamCacheManager.submit(selector);
-                }
-            });
-
-            // group by pluginName, then sort by sort value
-            Map<String, List<SelectorData>> pluginNameToSelectors = selectorDataList.stream()
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.groupingBy(SelectorData::getPluginName,
-                            Collectors.toCollection(ArrayList::new)));
-
-            pluginNameToSelectors.keySet().forEach(pluginName -> {
-                List<SelectorData> sorted = pluginNameToSelectors.get(pluginName).stream()
-                        .sorted(Comparator.comparing(SelectorData::getSort)).collect(Collectors.toList());
-                pluginNameToSelectors.put(pluginName, sorted);
-            });
-            SELECTOR_MAP.clear();
-            SELECTOR_MAP.putAll(pluginNameToSelectors);
+            selectorDataList.forEach(this::cacheSelectorData);
         }
     }
 
     /**
-     * Flush all rule.
+     * Apply a rule change of the delta.
      *
-     * @param ruleDataList the rule config
+     * @param ruleDataList the changed rules
+     * @param eventType    the event type
      */
-    void flushAllRule(final List<RuleData> ruleDataList) {
-        if (CollectionUtils.isEmpty(ruleDataList)) {
-            LOGGER.info("clear all rule cache, old cache:{}", RULE_MAP);
-            RULE_MAP.clear();
+    void applyRuleChange(final List<RuleData> ruleDataList, final DataEventTypeEnum eventType) {
+        if (eventType == DataEventTypeEnum.DELETE) {
+            ruleDataList.forEach(this::deleteRuleData);
         } else {
-            // group by selectorId, then sort by sort value
-            Map<String, List<RuleData>> selectorToRules = ruleDataList.stream()
-                    .collect(Collectors.groupingBy(RuleData::getSelectorId));
-            selectorToRules.keySet().forEach(selectorId -> {
-                List<RuleData> sorted = selectorToRules.get(selectorId).stream()
-                        .sorted(Comparator.comparing(RuleData::getSort)).collect(Collectors.toList());
-                selectorToRules.put(selectorId, sorted);
-            });
-            RULE_MAP.clear();
-            RULE_MAP.putAll(selectorToRules);
+            ruleDataList.forEach(this::cacheRuleData);
         }
     }
 
     /**
-     * Flush all app auth.
+     * Apply an app auth change of the delta.
      *
-     * @param appAuthDataList the app auth config
+     * @param appAuthDataList the changed app auths
+     * @param eventType       the event type
      */
-    void flushAllAppAuth(final List<AppAuthData> appAuthDataList) {
-        if (CollectionUtils.isEmpty(appAuthDataList)) {
-            LOGGER.info("clear all appAuth cache, old cache:{}", AUTH_MAP);
-            AUTH_MAP.clear();
+    void applyAppAuthChange(final List<AppAuthData> appAuthDataList, final DataEventTypeEnum eventType) {
+        if (eventType == DataEventTypeEnum.DELETE) {
+            appAuthDataList.forEach(appAuth -> AUTH_MAP.remove(appAuth.getAppKey()));
         } else {
-            AUTH_MAP.clear();
             appAuthDataList.forEach(appAuth -> AUTH_MAP.put(appAuth.getAppKey(), appAuth));
         }
     }
 
-    void flushMetaData(final List<MetaData> metaDataList) {
-        if (CollectionUtils.isEmpty(metaDataList)) {
-            LOGGER.info("clear all metaDataList cache, old cache:{}", AUTH_MAP);
-            META_DATA.clear();
+    /**
+     * Apply a meta data change of the delta.
+     *
+     * @param metaDataList the changed meta data
+     * @param eventType    the event type
+     */
+    void applyMetaDataChange(final List<MetaData> metaDataList, final DataEventTypeEnum eventType) {
+        if (eventType == DataEventTypeEnum.DELETE) {
+            metaDataList.forEach(metaData -> {
+                ApplicationConfigCache.getInstance().invalidate(metaData.getServiceName());
+                removeMetaData(metaData);
+            });
         } else {
             initDubboRef(metaDataList);
-            metaDataList.forEach(metaData -> META_DATA.put(metaData.getPath(), metaData));
+            metaDataList.forEach(metaData -> cacheMetaData(metaData));
         }
     }
 }
@@ -28,12 +28,16 @@ import org.apache.commons.lang3.StringUtils;
 import org.dromara.soul.common.concurrent.SoulThreadFactory;
 import org.dromara.soul.common.constant.HttpConstants;
 import org.dromara.soul.common.dto.AppAuthData;
+import org.dromara.soul.common.dto.ConfigChange;
 import org.dromara.soul.common.dto.ConfigData;
+import org.dromara.soul.common.dto.ConfigDelta;
 import org.dromara.soul.common.dto.MetaData;
 import org.dromara.soul.common.dto.PluginData;
 import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.dto.WebsocketData;
 import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.dromara.soul.common.enums.DataEventTypeEnum;
 import org.dromara.soul.common.exception.SoulException;
 import org.dromara.soul.web.config.SoulConfig;
 import org.slf4j.Logger;
@@ -49,7 +53,9 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.lang.reflect.Type;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
@@ -59,6 +65,8 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * HTTP long polling implementation.
@@ -79,8 +87,15 @@ public class HttpLongPollSyncCache extends HttpCacheHandler implements CommandLi
      */
     private static final ConcurrentMap<ConfigGroupEnum, ConfigData> GROUP_CACHE = new ConcurrentHashMap<>();
 
+    /**
+     * the change log version each group was last synced to.
+     */
+    private static final ConcurrentMap<ConfigGroupEnum, VersionStamp> GROUP_VERSION = new ConcurrentHashMap<>();
+
     private static final Gson GSON = new Gson();
 
+    private static final long RECONCILE_INTERVAL_SECONDS = 5;
+
     /**
      * default: 10s.
      */
@@ -97,8 +112,11 @@ public class HttpLongPollSyncCache extends HttpCacheHandler implements CommandLi
 
     private List<String> serverList;
 
-    public HttpLongPollSyncCache(final SoulConfig.HttpConfig httpConfig) {
+    private final LocalConfigSnapshot snapshot;
+
+    public HttpLongPollSyncCache(final SoulConfig.HttpConfig httpConfig, final LocalConfigSnapshot snapshot) {
         this.httpConfig = httpConfig;
+        this.snapshot = snapshot;
         serverList = Lists.newArrayList(Splitter.on(",").split(httpConfig.getUrl()));
     }
 
@@ -114,8 +132,18 @@ public class HttpLongPollSyncCache extends HttpCacheHandler implements CommandLi
         // It could be initialized multiple times, so you need to control that.
         if (RUNNING.compareAndSet(false, true)) {
 
+            // serve the last persisted config first, the groups are reconciled with admin below.
+            boolean restored = this.restoreSnapshot();
+
             // fetch all group configs.
-            this.fetchGroupConfig(ConfigGroupEnum.values());
+            try {
+                this.syncGroups(ConfigGroupEnum.values());
+            } catch (SoulException e) {
+                if (!restored) {
+                    throw e;
+                }
+                LOGGER.warn("admin is unreachable, serve the local config snapshot until it is reconciled.", e);
+            }
 
             // one thread for listener, another one for fetch configuration data.
             this.executor = new ThreadPoolExecutor(3, 3, 0L, TimeUnit.MILLISECONDS,
@@ -139,6 +167,96 @@ public class HttpLongPollSyncCache extends HttpCacheHandler implements CommandLi
         }
     }
 
+    /**
+     * Pull the changes of each group since the version it was last synced to.
+     * Groups the servers can not serve a delta for fall back to the full snapshot.
+     *
+     * @param groups the changed groups
+     */
+    private void syncGroups(final ConfigGroupEnum... groups) throws SoulException {
+        List<ConfigGroupEnum> fallback = new ArrayList<>();
+        for (ConfigGroupEnum group : groups) {
+            if (!fetchGroupDelta(group)) {
+                fallback.add(group);
+            }
+        }
+        if (!fallback.isEmpty()) {
+            this.fetchGroupConfig(fallback.toArray(new ConfigGroupEnum[0]));
+        }
+    }
+
+    private boolean fetchGroupDelta(final ConfigGroupEnum group) {
+        VersionStamp stamp = GROUP_VERSION.getOrDefault(group, VersionStamp.NONE);
+        for (String server : serverList) {
+            String url = server + "/configs/delta?groupKey=" + group.name()
+                    + "&epoch=" + stamp.epoch + "&version=" + stamp.version;
+            LOGGER.info("request config delta: [{}]", url);
+            try {
+                String json = this.httpClient.getForObject(url, String.class);
+                LOGGER.info("get config delta: [{}]", json);
+                JsonObject data = GSON.fromJson(json, JsonObject.class).getAsJsonObject("data");
+                if (data != null) {
+                    updateCacheWithDelta(group, data);
+                    return true;
+                }
+            } catch (Exception e) {
+                LOGGER.warn("request config delta fail, server:[{}]", server);
+                // try next server, if have another one.
+            }
+        }
+        return false;
+    }
+
+    private boolean restoreSnapshot() {
+        List<WebsocketData<?>> groups = snapshot.load();
+        for (WebsocketData<?> group : groups) {
+            switch (ConfigGroupEnum.acquireByName(group.getGroupType())) {
+                case PLUGIN:
+                    this.flushAllPlugin((List<PluginData>) group.getData());
+                    break;
+                case SELECTOR:
+                    this.flushAllSelector((List<SelectorData>) group.getData());
+                    break;
+                case RULE:
+                    this.flushAllRule((List<RuleData>) group.getData());
+                    break;
+                case APP_AUTH:
+                    this.flushAllAppAuth((List<AppAuthData>) group.getData());
+                    break;
+                case META_DATA:
+                    this.flushMetaData((List<MetaData>) group.getData());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return !groups.isEmpty();
+    }
+
+    /**
+     * Sync the groups that were only restored from the local snapshot so far.
+     *
+     * @return false if admin is still unreachable
+     */
+    private boolean reconcileGroups() {
+        List<ConfigGroupEnum> missing = new ArrayList<>();
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            if (!GROUP_CACHE.containsKey(group)) {
+                missing.add(group);
+            }
+        }
+        if (missing.isEmpty()) {
+            return true;
+        }
+        try {
+            this.syncGroups(missing.toArray(new ConfigGroupEnum[0]));
+            return true;
+        } catch (SoulException e) {
+            LOGGER.warn("reconcile config with admin fail, groups:{}", missing);
+            return false;
+        }
+    }
+
     private void fetchGroupConfig(final ConfigGroupEnum... groups) throws SoulException {
         StringBuilder params = new StringBuilder();
         for (ConfigGroupEnum groupKey : groups) {
@@ -218,11 +336,55 @@ public class HttpLongPollSyncCache extends HttpCacheHandler implements CommandLi
             GROUP_CACHE.put(ConfigGroupEnum.META_DATA, result);
             this.flushMetaData(result.getData());
         }
+        snapshot.markDirty();
+    }
 
+    /**
+     * Apply the delta of a group, a full delta replaces the whole group.
+     *
+     * @param group the group
+     * @param data  the delta json
+     */
+    void updateCacheWithDelta(final ConfigGroupEnum group, final JsonObject data) {
+        switch (group) {
+            case PLUGIN:
+                this.<PluginData>applyDelta(group, data, new TypeToken<ConfigDelta<PluginData>>() {
+                }.getType(), this::flushAllPlugin, this::applyPluginChange);
+                break;
+            case RULE:
+                this.<RuleData>applyDelta(group, data, new TypeToken<ConfigDelta<RuleData>>() {
+                }.getType(), this::flushAllRule, this::applyRuleChange);
+                break;
+            case SELECTOR:
+                this.<SelectorData>applyDelta(group, data, new TypeToken<ConfigDelta<SelectorData>>() {
+                }.getType(), this::flushAllSelector, this::applySelectorChange);
+                break;
+            case APP_AUTH:
+                this.<AppAuthData>applyDelta(group, data, new TypeToken<ConfigDelta<AppAuthData>>() {
+                }.getType(), this::flushAllAppAuth, this::applyAppAuthChange);
+                break;
+            case META_DATA:
+                this.<MetaData>applyDelta(group, data, new TypeToken<ConfigDelta<MetaData>>() {
+                }.getType(), this::flushMetaData, this::applyMetaDataChange);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected groupKey: " + group);
+        }
+    }
 
-
-
-
+    private <T> void applyDelta(final ConfigGroupEnum group, final JsonObject data, final Type type,
+                                final Consumer<List<T>> flushAll, final BiConsumer<List<T>, DataEventTypeEnum> applyChange) {
+        ConfigDelta<T> delta = GSON.fromJson(data, type);
+        if (delta.isFull()) {
+            flushAll.accept(delta.getData());
+        } else {
+            for (ConfigChange<T> change : delta.getChanges()) {
+                applyChange.accept(change.getData(), DataEventTypeEnum.acquireByName(change.getEventType()));
+            }
+        }
+        GROUP_CACHE.put(group, new ConfigData<>(delta.getMd5(), delta.getLastModifyTime(), delta.getData()));
+        GROUP_VERSION.put(group, new VersionStamp(delta.getEpoch(), delta.getVersion()));
+        snapshot.markDirty();
     }
 
     @SuppressWarnings("unchecked")
@@ -248,7 +410,7 @@ public class HttpLongPollSyncCache extends HttpCacheHandler implements CommandLi
                     ConfigGroupEnum[] changedGroups = GSON.fromJson(groupJson, ConfigGroupEnum[].class);
                     if (ArrayUtils.isNotEmpty(changedGroups)) {
                         LOGGER.info("Group config changed: {}", Arrays.toString(changedGroups));
-                        this.fetchGroupConfig(changedGroups);
+                        this.syncGroups(changedGroups);
                     }
                 }
                 break;
@@ -265,6 +427,10 @@ public class HttpLongPollSyncCache extends HttpCacheHandler implements CommandLi
         public void run() {
             while (RUNNING.get()) {
                 try {
+                    if (!reconcileGroups()) {
+                        TimeUnit.SECONDS.sleep(RECONCILE_INTERVAL_SECONDS);
+                        continue;
+                    }
                     doLongPolling();
                 } catch (Exception e) {
                     LOGGER.error(e.getMessage(), e);
@@ -274,4 +440,17 @@ public class HttpLongPollSyncCache extends HttpCacheHandler implements CommandLi
         }
     }
 
+    private static final class VersionStamp {
+
+        private static final VersionStamp NONE = new VersionStamp(0, 0);
+
+        private final long epoch;
+
+        private final long version;
+
+        VersionStamp(final long epoch, final long version) {
+            this.epoch = epoch;
+            this.version = version;
+        }
+    }
 }
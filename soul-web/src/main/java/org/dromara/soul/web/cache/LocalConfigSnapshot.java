@@ -0,0 +1,246 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.cache;
+
+import org.dromara.soul.common.concurrent.SoulThreadFactory;
+import org.dromara.soul.common.dto.WebsocketData;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.dromara.soul.common.enums.DataEventTypeEnum;
+import org.dromara.soul.common.utils.ConfigBinaryCodec;
+import org.dromara.soul.web.config.SoulConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * The last applied config of the gateway, persisted to a local memory-mapped file.
+ * It is loaded before the first sync, so a restarted gateway serves traffic right away
+ * and reconciles with admin in the background, even when every admin is down.
+ * Changes only mark the snapshot dirty, it is written at most once per flush interval.
+ * The file is a header of magic, format, version, save time, payload length and crc32 of the payload,
+ * followed by one {@link ConfigBinaryCodec} frame per group.
+ * It holds the app auth secrets, so on a POSIX file system it is only readable by the owner.
+ *
+ * @author xiaoyu
+ */
+public class LocalConfigSnapshot implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalConfigSnapshot.class);
+
+    private static final int MAGIC = 0x534f554c;
+
+    private static final int FORMAT = 1;
+
+    private static final int HEADER_LENGTH = 36;
+
+    private static final Set<OpenOption> OPEN_OPTIONS = EnumSet.of(StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+    private static final FileAttribute<?>[] NO_ATTRIBUTES = new FileAttribute<?>[0];
+
+    private final SoulConfig.Snapshot config;
+
+    private final Path path;
+
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+    private ScheduledThreadPoolExecutor executor;
+
+    private long version;
+
+    /**
+     * Instantiates a new Local config snapshot.
+     *
+     * @param config the snapshot config
+     */
+    public LocalConfigSnapshot(final SoulConfig.Snapshot config) {
+        this.config = config;
+        this.path = Paths.get(config.getPath());
+        if (config.isEnabled()) {
+            executor = new ScheduledThreadPoolExecutor(1, SoulThreadFactory.create("config-snapshot", true));
+            executor.scheduleWithFixedDelay(this::flush, config.getFlushInterval(),
+                    config.getFlushInterval(), TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Mark the local cache changed, it is persisted by the next flush.
+     */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    /**
+     * Load the snapshot, every group is returned as a {@code MYSELF} data set.
+     * A missing, stale format or corrupted file is ignored.
+     *
+     * @return the group data, empty if nothing could be loaded
+     */
+    public List<WebsocketData<?>> load() {
+        if (!config.isEnabled() || !Files.isReadable(path)) {
+            return Collections.emptyList();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_LENGTH || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+                LOGGER.warn("ignore the local config snapshot {}, unknown format.", path);
+                return Collections.emptyList();
+            }
+            long savedVersion = buffer.getLong();
+            long savedAt = buffer.getLong();
+            int length = buffer.getInt();
+            long checksum = buffer.getLong();
+            if (buffer.remaining() != length) {
+                LOGGER.warn("ignore the local config snapshot {}, truncated.", path);
+                return Collections.emptyList();
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice());
+            if (crc.getValue() != checksum) {
+                LOGGER.warn("ignore the local config snapshot {}, checksum mismatch.", path);
+                return Collections.emptyList();
+            }
+            List<WebsocketData<?>> groups = new ArrayList<>();
+            while (buffer.hasRemaining()) {
+                ByteBuffer frame = buffer.slice();
+                frame.limit(buffer.getInt(buffer.position()) + Integer.BYTES);
+                frame.position(Integer.BYTES);
+                groups.add(ConfigBinaryCodec.decode(frame.slice()));
+                buffer.position(buffer.position() + frame.limit());
+            }
+            synchronized (this) {
+                version = savedVersion;
+            }
+            LOGGER.info("load the local config snapshot {}, version {} saved at {}.", path, savedVersion, savedAt);
+            return groups;
+        } catch (Exception e) {
+            LOGGER.warn("ignore the local config snapshot " + path + ", can not be loaded.", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Persist the local cache if it changed since the last flush.
+     */
+    synchronized void flush() {
+        if (!dirty.compareAndSet(true, false)) {
+            return;
+        }
+        try {
+            write(encode());
+        } catch (Exception e) {
+            // the caches may change while they are copied, try again on the next flush.
+            dirty.set(true);
+            LOGGER.warn("persist the local config snapshot {} fail : {}", path, e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+            flush();
+        }
+    }
+
+    private List<byte[]> encode() {
+        List<byte[]> frames = new ArrayList<>(ConfigGroupEnum.values().length);
+        frames.add(ConfigBinaryCodec.encode(ConfigGroupEnum.PLUGIN, DataEventTypeEnum.MYSELF,
+                new ArrayList<>(AbstractLocalCacheManager.PLUGIN_MAP.values())));
+        frames.add(ConfigBinaryCodec.encode(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.MYSELF,
+                flatten(AbstractLocalCacheManager.SELECTOR_MAP.values())));
+        frames.add(ConfigBinaryCodec.encode(ConfigGroupEnum.RULE, DataEventTypeEnum.MYSELF,
+                flatten(AbstractLocalCacheManager.RULE_MAP.values())));
+        frames.add(ConfigBinaryCodec.encode(ConfigGroupEnum.APP_AUTH, DataEventTypeEnum.MYSELF,
+                new ArrayList<>(AbstractLocalCacheManager.AUTH_MAP.values())));
+        frames.add(ConfigBinaryCodec.encode(ConfigGroupEnum.META_DATA, DataEventTypeEnum.MYSELF,
+                new ArrayList<>(AbstractLocalCacheManager.META_DATA.values())));
+        return frames;
+    }
+
+    private static <T> List<T> flatten(final Iterable<List<T>> lists) {
+        List<T> all = new ArrayList<>();
+        for (List<T> list : lists) {
+            all.addAll(list);
+        }
+        return all;
+    }
+
+    private static FileAttribute<?>[] ownerOnly(final Path file) {
+        if (!file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return NO_ATTRIBUTES;
+        }
+        return new FileAttribute<?>[]{PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))};
+    }
+
+    private void write(final List<byte[]> frames) throws IOException {
+        int length = 0;
+        for (byte[] frame : frames) {
+            length += Integer.BYTES + frame.length;
+        }
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        // the app auth secrets are in the file, it is created readable by the owner only.
+        Files.deleteIfExists(temp);
+        try (FileChannel channel = FileChannel.open(temp, OPEN_OPTIONS, ownerOnly(temp))) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_LENGTH + length);
+            buffer.position(HEADER_LENGTH);
+            for (byte[] frame : frames) {
+                buffer.putInt(frame.length);
+                buffer.put(frame);
+            }
+            buffer.position(HEADER_LENGTH);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice());
+            buffer.position(0);
+            buffer.putInt(MAGIC);
+            buffer.putInt(FORMAT);
+            buffer.putLong(++version);
+            buffer.putLong(System.currentTimeMillis());
+            buffer.putInt(length);
+            buffer.putLong(crc.getValue());
+            buffer.force();
+        }
+        // readers only ever see a complete file.
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.debug("persist the local config snapshot {}, version {}.", path, version);
+    }
+}
@@ -20,36 +20,41 @@ package org.dromara.soul.web.cache;
 
 import com.google.common.collect.Maps;
 import org.apache.commons.collections4.CollectionUtils;
-import org.dromara.soul.common.concurrent.SoulThreadFactory;
 import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.common.enums.PluginEnum;
 import org.dromara.soul.common.utils.GsonUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * this is divide  http url upstream.
+ * Upstreams are applied synchronously by the sync thread, in the same order as their selectors,
+ * and put before the selector is published and removed after it is gone,
+ * so routing never sees a selector without its upstream list.
+ * The handle of a selector is only parsed when it changed.
  *
  * @author xiaoyu
  */
 @Component
 public class UpstreamCacheManager {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(UpstreamCacheManager.class);
+    private static final Map<String, Upstreams> UPSTREAM_MAP = Maps.newConcurrentMap();
 
-    private static final BlockingQueue<SelectorData> BLOCKING_QUEUE = new LinkedBlockingQueue<>(1024);
+    private static final AtomicLong VERSION = new AtomicLong();
 
-    private static final Map<String, List<DivideUpstream>> UPSTREAM_MAP = Maps.newConcurrentMap();
+    private static final List<Consumer<DivideUpstream>> ADDED_LISTENERS = new CopyOnWriteArrayList<>();
 
     /**
      * Find upstream list by selector id list.
@@ -58,85 +63,109 @@ public class UpstreamCacheManager {
      * @return the list
      */
     public List<DivideUpstream> findUpstreamListBySelectorId(final String selectorId) {
-        return UPSTREAM_MAP.get(selectorId);
+        Upstreams upstreams = UPSTREAM_MAP.get(selectorId);
+        return upstreams == null ? null : upstreams.list;
     }
 
     /**
-     * Remove by key.
+     * The version of the last applied upstream change.
      *
-     * @param key the key
+     * @return the version
      */
-    static void removeByKey(final String key) {
-        UPSTREAM_MAP.remove(key);
+    public long getVersion() {
+        return VERSION.get();
     }
 
     /**
-     * Init.
+     * Observe the upstreams that a sync adds, the listener is called on the sync thread and must not block.
+     *
+     * @param listener the listener
      */
-    @PostConstruct
-    public void init() {
-        new ThreadPoolExecutor(1, 1,
-                0L, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(),
-                SoulThreadFactory.create("save-upstream-task", false))
-                .execute(new Worker());
+    public void addUpstreamListener(final Consumer<DivideUpstream> listener) {
+        ADDED_LISTENERS.add(listener);
     }
 
     /**
-     * Submit.
+     * Remove by key, call it after the selector is removed.
      *
-     * @param selectorData the selector data
+     * @param key the key
      */
-    static void submit(final SelectorData selectorData) {
-        try {
-            BLOCKING_QUEUE.put(selectorData);
-        } catch (InterruptedException e) {
-            LOGGER.error(e.getMessage());
+    static synchronized void removeByKey(final String key) {
+        if (UPSTREAM_MAP.remove(key) != null) {
+            VERSION.incrementAndGet();
         }
     }
 
     /**
-     * Clear.
-     */
-    static void clear() {
-        UPSTREAM_MAP.clear();
-    }
-
-
-    /**
-     * Execute.
+     * Apply the upstreams of a divide selector, call it before the selector is published.
      *
      * @param selectorData the selector data
      */
-    public void execute(final SelectorData selectorData) {
+    static synchronized void submit(final SelectorData selectorData) {
+        Upstreams previous = UPSTREAM_MAP.get(selectorData.getId());
+        if (previous != null && Objects.equals(previous.handle, selectorData.getHandle())) {
+            return;
+        }
         final List<DivideUpstream> upstreamList =
                 GsonUtils.getInstance().fromList(selectorData.getHandle(), DivideUpstream.class);
         if (CollectionUtils.isNotEmpty(upstreamList)) {
-            UPSTREAM_MAP.put(selectorData.getId(), upstreamList);
+            UPSTREAM_MAP.put(selectorData.getId(), new Upstreams(selectorData.getHandle(),
+                    Collections.unmodifiableList(upstreamList)));
+            VERSION.incrementAndGet();
+            notifyAdded(previous, upstreamList);
         } else {
-            UPSTREAM_MAP.remove(selectorData.getId());
+            removeByKey(selectorData.getId());
         }
     }
 
     /**
-     * The type Worker.
+     * Apply the upstreams of every divide selector of a full refresh, before the selectors are published.
+     *
+     * @param selectorDataList all selectors
      */
-    class Worker implements Runnable {
+    static synchronized void refresh(final List<SelectorData> selectorDataList) {
+        divide(selectorDataList).forEach(UpstreamCacheManager::submit);
+    }
 
-        @Override
-        public void run() {
-            runTask();
+    /**
+     * Drop the upstreams of selectors no longer in a full refresh, after the selectors are published.
+     *
+     * @param selectorDataList all selectors
+     */
+    static synchronized void retain(final List<SelectorData> selectorDataList) {
+        final Set<String> ids = divide(selectorDataList).stream().map(SelectorData::getId).collect(Collectors.toSet());
+        new ArrayList<>(UPSTREAM_MAP.keySet()).stream().filter(id -> !ids.contains(id))
+                .forEach(UpstreamCacheManager::removeByKey);
+    }
+
+    private static List<SelectorData> divide(final List<SelectorData> selectorDataList) {
+        return Optional.ofNullable(selectorDataList).orElse(Collections.emptyList()).stream()
+                .filter(selector -> Objects.nonNull(selector) && PluginEnum.DIVIDE.getName().equals(selector.getPluginName()))
+                .collect(Collectors.toList());
+    }
+
+    private static void notifyAdded(final Upstreams previous, final List<DivideUpstream> current) {
+        if (ADDED_LISTENERS.isEmpty()) {
+            return;
         }
+        final Set<String> known = Optional.ofNullable(previous).map(p -> p.list).orElse(Collections.emptyList())
+                .stream().map(DivideUpstream::getUpstreamUrl).collect(Collectors.toSet());
+        current.stream().filter(upstream -> !known.contains(upstream.getUpstreamUrl()))
+                .forEach(upstream -> ADDED_LISTENERS.forEach(listener -> listener.accept(upstream)));
+    }
+
+    /**
+     * The parsed upstreams of one selector.
+     */
+    private static final class Upstreams {
+
+        private final String handle;
+
+        private final List<DivideUpstream> list;
 
-        private void runTask() {
-            for (;;) {
-                try {
-                    final SelectorData selectorData = BLOCKING_QUEUE.take();
-                    Optional.of(selectorData).ifPresent(UpstreamCacheManager.this::execute);
-                } catch (InterruptedException e) {
-                    LOGGER.warn("BLOCKING_QUEUE take operation was interrupted.", e);
-                }
-            }
+        Upstreams(final String handle, final List<DivideUpstream> list) {
+            this.handle = handle;
+            this.list = list;
         }
     }
 
@@ -24,7 +24,6 @@ import org.dromara.soul.common.dto.PluginData;
 import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.enums.DataEventTypeEnum;
-import org.dromara.soul.common.enums.PluginEnum;
 import org.dromara.soul.web.plugin.dubbo.ApplicationConfigCache;
 
 import java.util.ArrayList;
@@ -82,7 +81,8 @@ class WebsocketCacheHandler extends CommonCacheHandler {
             switch (eventTypeEnum) {
                 case REFRESH:
                 case MYSELF:
-                    SELECTOR_MAP.clear();
+                    // the upstreams of the new selectors are in place before the selectors are swapped.
+                    UpstreamCacheManager.refresh(selectorDataList);
                     Map<String, List<SelectorData>> allMap =
                             selectorDataList
                                     .stream()
@@ -90,12 +90,8 @@ class WebsocketCacheHandler extends CommonCacheHandler {
                                     .collect(Collectors.groupingBy(SelectorData::getPluginName,
                                             Collectors.toCollection(ArrayList::new)));
                     SELECTOR_MAP.putAll(allMap);
-                    UpstreamCacheManager.clear();
-                    for (SelectorData selectorData : selectorDataList) {
-                        if (selectorData.getPluginName().equals(PluginEnum.DIVIDE.getName())) {
-                            UpstreamCacheManager.submit(selectorData);
-                        }
-                    }
+                    SELECTOR_MAP.keySet().retainAll(allMap.keySet());
+                    UpstreamCacheManager.retain(selectorDataList);
                     break;
                 case DELETE:
                     selectorDataList.forEach(this::deleteSelectorData);
@@ -132,10 +128,7 @@ class WebsocketCacheHandler extends CommonCacheHandler {
                     RULE_MAP.putAll(allMap);
                     break;
                 case DELETE:
-                    for (RuleData ruleData : ruleDataList) {
-                        List<RuleData> existList = RULE_MAP.get(ruleData.getSelectorId());
-                        existList.removeIf(e -> e.getId().equals(ruleData.getId()));
-                    }
+                    ruleDataList.forEach(this::deleteRuleData);
                     break;
                 case CREATE:
                 case UPDATE:
@@ -181,18 +174,18 @@ class WebsocketCacheHandler extends CommonCacheHandler {
                 case REFRESH:
                 case MYSELF:
                     initDubboRef(metaDataList);
-                    metaDataList.forEach(e -> META_DATA.put(e.getPath(), e));
+                    metaDataList.forEach(e -> cacheMetaData(e));
                     break;
                 case DELETE:
                     metaDataList.forEach(e -> {
                         ApplicationConfigCache.getInstance().invalidate(e.getServiceName());
-                        META_DATA.remove(e.getPath());
+                        removeMetaData(e);
                     });
                     break;
                 case UPDATE:
                 case CREATE:
                     initDubboRef(metaDataList);
-                    metaDataList.forEach(e -> META_DATA.put(e.getPath(), e));
+                    metaDataList.forEach(e -> cacheMetaData(e));
                     break;
                 default:
                     break;
@@ -28,6 +28,7 @@ import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.dto.WebsocketData;
 import org.dromara.soul.common.enums.ConfigGroupEnum;
 import org.dromara.soul.common.enums.DataEventTypeEnum;
+import org.dromara.soul.common.utils.ConfigBinaryCodec;
 import org.dromara.soul.common.utils.GsonUtils;
 import org.dromara.soul.web.config.SoulConfig;
 import org.java_websocket.client.WebSocketClient;
@@ -37,7 +38,9 @@ import org.slf4j.LoggerFactory;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -55,23 +58,54 @@ public class WebsocketSyncCache extends WebsocketCacheHandler {
      */
     private WebSocketClient client;
 
-    private volatile boolean alreadySync = Boolean.FALSE;
+    /**
+     * whether the answer of the current handshake arrived, only a {@code MYSELF} frame counts.
+     */
+    private volatile boolean received;
+
+    private volatile ScheduledFuture<?> handshakeFallback;
+
+    private final LocalConfigSnapshot snapshot;
 
     /**
      * Instantiates a new Websocket sync cache.
+     * The local snapshot is applied before connecting, so traffic is served while admin is unreachable.
      *
      * @param websocketConfig the websocket config
+     * @param snapshot        the local config snapshot
      */
-    public WebsocketSyncCache(final SoulConfig.WebsocketConfig websocketConfig) {
+    public WebsocketSyncCache(final SoulConfig.WebsocketConfig websocketConfig, final LocalConfigSnapshot snapshot) {
+        this.snapshot = snapshot;
+        snapshot.load().forEach(this::handleData);
         ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
                 SoulThreadFactory.create("websocket-connect", true));
         try {
             client = new WebSocketClient(new URI(websocketConfig.getUrl())) {
                 @Override
                 public void onOpen(final ServerHandshake serverHandshake) {
-                    if (!alreadySync) {
+                    // every connection handshakes again, the changes broadcast while disconnected were missed.
+                    received = false;
+                    ScheduledFuture<?> previous = handshakeFallback;
+                    if (previous != null) {
+                        previous.cancel(false);
+                    }
+                    if (websocketConfig.isBinary()) {
+                        client.send(ConfigBinaryCodec.HANDSHAKE);
+                        handshakeFallback = executor.schedule(this::fallbackHandshake,
+                                websocketConfig.getHandshakeTimeoutMillis(), TimeUnit.MILLISECONDS);
+                    } else {
+                        client.send(DataEventTypeEnum.MYSELF.name());
+                    }
+                }
+
+                /**
+                 * An admin without binary frames ignores the binary handshake, ask it again in json.
+                 */
+                private void fallbackHandshake() {
+                    if (!received && client.isOpen()) {
+                        LOGGER.warn("no config received {}ms after the binary handshake, the admin may not support binary frames,"
+                                + " falling back to the json handshake.", websocketConfig.getHandshakeTimeoutMillis());
                         client.send(DataEventTypeEnum.MYSELF.name());
-                        alreadySync = true;
                     }
                 }
 
@@ -79,11 +113,22 @@ public class WebsocketSyncCache extends WebsocketCacheHandler {
                 public void onMessage(final String result) {
                     try {
                         handleResult(result);
+                        snapshot.markDirty();
                     } catch (Exception e) {
                         LOGGER.error("websocket handle data exception :", e);
                     }
                 }
 
+                @Override
+                public void onMessage(final ByteBuffer bytes) {
+                    try {
+                        handleData(ConfigBinaryCodec.decode(bytes));
+                        snapshot.markDirty();
+                    } catch (Exception e) {
+                        LOGGER.error("websocket handle binary data exception :", e);
+                    }
+                }
+
                 @Override
                 public void onClose(final int code, final String msg, final boolean b) {
                     client.close();
@@ -128,6 +173,7 @@ public class WebsocketSyncCache extends WebsocketCacheHandler {
         WebsocketData websocketData = GsonUtils.getInstance().fromJson(result, WebsocketData.class);
         ConfigGroupEnum groupEnum = ConfigGroupEnum.acquireByName(websocketData.getGroupType());
         String eventType = websocketData.getEventType();
+        markReceived(eventType);
         switch (groupEnum) {
             case PLUGIN:
                 String pluginData = GsonUtils.getInstance().toJson(websocketData.getData());
@@ -163,4 +209,46 @@ public class WebsocketSyncCache extends WebsocketCacheHandler {
                 break;
         }
     }
+
+    /**
+     * A broadcast may arrive before the answer of the handshake, so only a {@code MYSELF} frame cancels the fallback.
+     *
+     * @param eventType the event type of the frame
+     */
+    private void markReceived(final String eventType) {
+        if (DataEventTypeEnum.MYSELF.name().equals(eventType)) {
+            received = true;
+        }
+    }
+
+    /**
+     * Handle a decoded binary frame, its data already holds the record type of the group.
+     *
+     * @param websocketData the websocket data
+     */
+    @SuppressWarnings("unchecked")
+    private void handleData(final WebsocketData<?> websocketData) {
+        ConfigGroupEnum groupEnum = ConfigGroupEnum.acquireByName(websocketData.getGroupType());
+        String eventType = websocketData.getEventType();
+        markReceived(eventType);
+        switch (groupEnum) {
+            case PLUGIN:
+                handlePlugin((List<PluginData>) websocketData.getData(), eventType);
+                break;
+            case SELECTOR:
+                handleSelector((List<SelectorData>) websocketData.getData(), eventType);
+                break;
+            case RULE:
+                handleRule((List<RuleData>) websocketData.getData(), eventType);
+                break;
+            case APP_AUTH:
+                handleAppAuth((List<AppAuthData>) websocketData.getData(), eventType);
+                break;
+            case META_DATA:
+                handleMetaData((List<MetaData>) websocketData.getData(), eventType);
+                break;
+            default:
+                break;
+        }
+    }
 }
@@ -18,331 +18,170 @@
 
 package org.dromara.soul.web.cache;
 
-import com.google.common.base.Splitter;
-import com.google.common.collect.Lists;
-import org.I0Itec.zkclient.IZkDataListener;
-import org.I0Itec.zkclient.ZkClient;
-import org.apache.commons.collections4.CollectionUtils;
+import org.I0Itec.zkclient.serialize.ZkSerializer;
 import org.dromara.soul.common.constant.ZkPathConstants;
 import org.dromara.soul.common.dto.AppAuthData;
 import org.dromara.soul.common.dto.MetaData;
 import org.dromara.soul.common.dto.PluginData;
 import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.dto.WebsocketData;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.dromara.soul.configuration.zookeeper.ZookeeperConfig;
 import org.dromara.soul.web.plugin.dubbo.ApplicationConfigCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.CommandLineRunner;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * this cache data with zookeeper.
+ * The whole soul tree is kept by one {@link ZookeeperTreeCache}, the first snapshot replaces the local cache
+ * and every later node change is applied incrementally.
  *
  * @author xiaoyu
  */
-public class ZookeeperSyncCache extends CommonCacheHandler implements CommandLineRunner, DisposableBean {
+public class ZookeeperSyncCache extends CommonCacheHandler implements CommandLineRunner, DisposableBean, ZookeeperTreeCache.Listener {
 
-    private final ZkClient zkClient;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ZookeeperSyncCache.class);
+
+    private static final int DEFAULT_SESSION_TIMEOUT = 30_000;
+
+    private static final int DEFAULT_CONNECTION_TIMEOUT = 10_000;
+
+    private final ZookeeperConfig zookeeperConfig;
+
+    private final ZookeeperTreeCache treeCache;
+
+    private final LocalConfigSnapshot snapshot;
 
     /**
      * Instantiates a new Zookeeper cache manager.
+     * The local snapshot is applied before connecting, so traffic is served while zookeeper is unreachable.
      *
-     * @param zkClient the zk client
+     * @param zookeeperConfig the zookeeper config
+     * @param zkSerializer    the zk serializer
+     * @param snapshot        the local config snapshot
      */
-    public ZookeeperSyncCache(final ZkClient zkClient) {
-        this.zkClient = zkClient;
+    public ZookeeperSyncCache(final ZookeeperConfig zookeeperConfig, final ZkSerializer zkSerializer,
+                              final LocalConfigSnapshot snapshot) {
+        this.zookeeperConfig = zookeeperConfig;
+        this.snapshot = snapshot;
+        this.treeCache = new ZookeeperTreeCache(zookeeperConfig.getUrl(),
+                Optional.ofNullable(zookeeperConfig.getSessionTimeout()).orElse(DEFAULT_SESSION_TIMEOUT),
+                zkSerializer, ZkPathConstants.ROOT, this);
+        snapshot.load().forEach(this::restore);
     }
 
     @Override
     public void run(final String... args) {
-        watcherData();
-        watchAppAuth();
-        watchMetaData();
-    }
-
-    private void watcherData() {
-        final String pluginParent = ZkPathConstants.PLUGIN_PARENT;
-        if (!zkClient.exists(pluginParent)) {
-            zkClient.createPersistent(pluginParent, true);
-        }
-        List<String> pluginZKs = zkClient.getChildren(ZkPathConstants.buildPluginParentPath());
-        for (String pluginName : pluginZKs) {
-            loadPlugin(pluginName);
-        }
-        zkClient.subscribeChildChanges(pluginParent, (parentPath, currentChildren) -> {
-            if (CollectionUtils.isNotEmpty(currentChildren)) {
-                for (String pluginName : currentChildren) {
-                    loadPlugin(pluginName);
-                }
-            }
-        });
-    }
-
-    private void loadPlugin(final String pluginName) {
-        watcherPlugin(pluginName);
-        watcherSelector(pluginName);
-        watcherRule(pluginName);
-    }
-
-    private void watcherPlugin(final String pluginName) {
-        String pluginPath = ZkPathConstants.buildPluginPath(pluginName);
-        if (!zkClient.exists(pluginPath)) {
-            zkClient.createPersistent(pluginPath, true);
+        int connectionTimeout = Optional.ofNullable(zookeeperConfig.getConnectionTimeout()).orElse(DEFAULT_CONNECTION_TIMEOUT);
+        if (!treeCache.start(connectionTimeout)) {
+            LOGGER.warn("zookeeper tree {} is not loaded in {} ms, it is applied once loaded.", ZkPathConstants.ROOT, connectionTimeout);
         }
-        PluginData data = zkClient.readData(pluginPath);
-        Optional.ofNullable(data).ifPresent(d -> {
-            configPlugin(Collections.singletonList(d));
-            PLUGIN_MAP.put(data.getName(), data);
-        });
-        zkClient.subscribeDataChanges(pluginPath, new IZkDataListener() {
-            @Override
-            public void handleDataChange(final String dataPath, final Object data) {
-                Optional.ofNullable(data)
-                        .ifPresent(d -> {
-                            PluginData pluginData = (PluginData) d;
-                            configPlugin(Collections.singletonList(pluginData));
-                            PLUGIN_MAP.put(pluginData.getName(), pluginData);
-                        });
-            }
-
-            @Override
-            public void handleDataDeleted(final String dataPath) {
-                PLUGIN_MAP.remove(pluginName);
-            }
-        });
     }
 
-    private void watcherSelector(final String pluginName) {
-        String selectorParentPath =
-                ZkPathConstants.buildSelectorParentPath(pluginName);
-
-        if (!zkClient.exists(selectorParentPath)) {
-            zkClient.createPersistent(selectorParentPath, true);
-        }
-        final List<String> childrenList = zkClient.getChildren(selectorParentPath);
-
-        if (CollectionUtils.isNotEmpty(childrenList)) {
-            childrenList.forEach(children -> {
-                String realPath = buildRealPath(selectorParentPath, children);
-                setSelectorData(realPath);
-                subscribeSelectorDataChanges(realPath);
-            });
-        }
-
-        zkClient.subscribeChildChanges(selectorParentPath, (parentPath, currentChildren) -> {
-            if (CollectionUtils.isNotEmpty(currentChildren)) {
-                final List<String> addSubscribePath = addSubscribePath(childrenList, currentChildren);
-                addSubscribePath.stream().map(addPath -> {
-                    final String realPath = buildRealPath(parentPath, addPath);
-                    setSelectorData(realPath);
-                    return realPath;
-                }).forEach(this::subscribeSelectorDataChanges);
-
+    @Override
+    public void onLoaded(final List<Object> data) {
+        List<PluginData> plugins = new ArrayList<>();
+        List<SelectorData> selectors = new ArrayList<>();
+        List<RuleData> rules = new ArrayList<>();
+        List<AppAuthData> appAuths = new ArrayList<>();
+        List<MetaData> metaData = new ArrayList<>();
+        for (Object node : data) {
+            if (node instanceof PluginData) {
+                plugins.add((PluginData) node);
+            } else if (node instanceof SelectorData) {
+                selectors.add((SelectorData) node);
+            } else if (node instanceof RuleData) {
+                rules.add((RuleData) node);
+            } else if (node instanceof AppAuthData) {
+                appAuths.add((AppAuthData) node);
+            } else if (node instanceof MetaData) {
+                metaData.add((MetaData) node);
             }
-        });
-    }
-
-    private void watcherRule(final String pluginName) {
-        final String ruleParent = ZkPathConstants.buildRuleParentPath(pluginName);
-        if (!zkClient.exists(ruleParent)) {
-            zkClient.createPersistent(ruleParent, true);
-        }
-        final List<String> childrenList = zkClient.getChildren(ruleParent);
-        if (CollectionUtils.isNotEmpty(childrenList)) {
-            childrenList.forEach(children -> {
-                String realPath = buildRealPath(ruleParent, children);
-                setRuleData(realPath);
-                subscribeRuleDataChanges(realPath);
-            });
         }
-
-        zkClient.subscribeChildChanges(ruleParent, (parentPath, currentChildren) -> {
-            if (CollectionUtils.isNotEmpty(currentChildren)) {
-                final List<String> addSubscribePath = addSubscribePath(childrenList, currentChildren);
-                //获取新增的节点数据，并对该节点进行订阅
-                addSubscribePath.stream().map(addPath -> {
-                    final String realPath = buildRealPath(parentPath, addPath);
-                    setRuleData(realPath);
-                    return realPath;
-                }).forEach(this::subscribeRuleDataChanges);
-            }
-        });
-    }
-
-    private void subscribeSelectorDataChanges(final String path) {
-        zkClient.subscribeDataChanges(path, new IZkDataListener() {
-            @Override
-            public void handleDataChange(final String dataPath, final Object data) {
-                Optional.ofNullable(data).ifPresent(d -> cacheSelectorData((SelectorData) d));
-            }
-
-            @Override
-            public void handleDataDeleted(final String dataPath) {
-                //规定路径 key-id key为selectorId, id为规则id
-                final String id = dataPath.substring(dataPath.lastIndexOf("/") + 1);
-                final String str = dataPath.substring(ZkPathConstants.SELECTOR_PARENT.length());
-                final String key = str.substring(1, str.length() - id.length() - 1);
-                Optional.of(key).ifPresent(k -> {
-                    final List<SelectorData> selectorDataList = SELECTOR_MAP.get(k);
-                    selectorDataList.removeIf(e -> e.getId().equals(id));
-                    UpstreamCacheManager.removeByKey(k);
-                });
-            }
-        });
+        flushAllPlugin(plugins);
+        flushAllSelector(selectors);
+        flushAllRule(rules);
+        flushAllAppAuth(appAuths);
+        flushMetaData(metaData);
+        snapshot.markDirty();
     }
 
-    private void setSelectorData(final String realPath) {
-        final SelectorData selectorData = zkClient.readData(realPath);
-        Optional.ofNullable(selectorData)
-                .ifPresent(s -> cacheSelectorData(selectorData));
-    }
-
-    private void setRuleData(final String rulePath) {
-        final RuleData ruleData = zkClient.readData(rulePath);
-        Optional.ofNullable(ruleData)
-                .ifPresent(this::cacheRuleData);
-    }
-
-    private void subscribeRuleDataChanges(final String path) {
-        zkClient.subscribeDataChanges(path, new IZkDataListener() {
-            @Override
-            public void handleDataChange(final String dataPath, final Object data) {
-                Optional.ofNullable(data).ifPresent(d -> cacheRuleData((RuleData) d));
-            }
-
-            @Override
-            public void handleDataDeleted(final String dataPath) {
-                final List<String> list = Lists.newArrayList(Splitter.on(ZkPathConstants.SELECTOR_JOIN_RULE).split(dataPath.substring(dataPath.lastIndexOf("/") + 1)));
-                final String selectorId = list.get(0);
-                final String ruleId = list.get(1);
-                Optional.ofNullable(selectorId).ifPresent(k -> {
-                    UpstreamCacheManager.removeByKey(selectorId);
-                    final List<RuleData> ruleDataList = RULE_MAP.get(selectorId);
-                    ruleDataList.removeIf(rule -> rule.getId().equals(ruleId));
-                });
-            }
-        });
-    }
-
-    private void watchAppAuth() {
-        final String appAuthParent = ZkPathConstants.APP_AUTH_PARENT;
-        if (!zkClient.exists(appAuthParent)) {
-            zkClient.createPersistent(appAuthParent, true);
-        }
-        final List<String> childrenList = zkClient.getChildren(appAuthParent);
-        if (CollectionUtils.isNotEmpty(childrenList)) {
-            childrenList.forEach(children -> {
-                String realPath = buildRealPath(appAuthParent, children);
-                setAuthData(realPath);
-                subscribeAppAuthDataChanges(realPath);
-            });
+    @Override
+    public void onChanged(final Object data) {
+        if (data instanceof PluginData) {
+            PluginData pluginData = (PluginData) data;
+            configPlugin(Collections.singletonList(pluginData));
+            PLUGIN_MAP.put(pluginData.getName(), pluginData);
+        } else if (data instanceof SelectorData) {
+            cacheSelectorData((SelectorData) data);
+        } else if (data instanceof RuleData) {
+            cacheRuleData((RuleData) data);
+        } else if (data instanceof AppAuthData) {
+            AppAuthData appAuthData = (AppAuthData) data;
+            AUTH_MAP.put(appAuthData.getAppKey(), appAuthData);
+        } else if (data instanceof MetaData) {
+            MetaData metaData = (MetaData) data;
+            initDubboRef(Collections.singletonList(metaData));
+            cacheMetaData(metaData);
+        } else {
+            return;
         }
-
-        zkClient.subscribeChildChanges(appAuthParent, (parentPath, currentChildren) -> {
-            if (CollectionUtils.isNotEmpty(currentChildren)) {
-                final List<String> addSubscribePath = addSubscribePath(childrenList, currentChildren);
-                addSubscribePath.stream().map(children -> {
-                    final String realPath = buildRealPath(parentPath, children);
-                    setAuthData(realPath);
-                    return realPath;
-                }).forEach(this::subscribeAppAuthDataChanges);
-            }
-        });
+        snapshot.markDirty();
     }
 
-    private void watchMetaData() {
-        final String metaDataPath = ZkPathConstants.META_DATA;
-        if (!zkClient.exists(metaDataPath)) {
-            zkClient.createPersistent(metaDataPath, true);
-        }
-        final List<String> childrenList = zkClient.getChildren(metaDataPath);
-        if (CollectionUtils.isNotEmpty(childrenList)) {
-            childrenList.forEach(children -> {
-                String realPath = buildRealPath(metaDataPath, children);
-                setMetaData(realPath);
-                subscribeMetaDataChanges(realPath);
-            });
+    @Override
+    public void onRemoved(final Object data) {
+        if (data instanceof PluginData) {
+            PLUGIN_MAP.remove(((PluginData) data).getName());
+        } else if (data instanceof SelectorData) {
+            deleteSelectorData((SelectorData) data);
+        } else if (data instanceof RuleData) {
+            deleteRuleData((RuleData) data);
+        } else if (data instanceof AppAuthData) {
+            AUTH_MAP.remove(((AppAuthData) data).getAppKey());
+        } else if (data instanceof MetaData) {
+            MetaData metaData = (MetaData) data;
+            removeMetaData(metaData);
+            ApplicationConfigCache.getInstance().invalidate(metaData.getServiceName());
+        } else {
+            return;
         }
-
-        zkClient.subscribeChildChanges(metaDataPath, (parentPath, currentChildren) -> {
-            if (CollectionUtils.isNotEmpty(currentChildren)) {
-                final List<String> addSubscribePath = addSubscribePath(childrenList, currentChildren);
-                addSubscribePath.stream().map(children -> {
-                    final String realPath = buildRealPath(parentPath, children);
-                    setMetaData(realPath);
-                    return realPath;
-                }).forEach(this::subscribeMetaDataChanges);
-            }
-        });
-    }
-
-    private void subscribeMetaDataChanges(final String realPath) {
-        zkClient.subscribeDataChanges(realPath, new IZkDataListener() {
-            @Override
-            public void handleDataChange(final String dataPath, final Object data) {
-                Optional.ofNullable((MetaData) data)
-                        .ifPresent(metaData -> {
-                            initDubboRef(Collections.singletonList(metaData));
-                            META_DATA.put(metaData.getPath(), metaData);
-                        });
-            }
-
-            @Override
-            public void handleDataDeleted(final String dataPath) {
-                final MetaData metaData = zkClient.readData(dataPath);
-                Optional.ofNullable(metaData).ifPresent(d -> {
-                    META_DATA.remove(d.getPath());
-                    ApplicationConfigCache.getInstance().invalidate(d.getServiceName());
-                });
-            }
-        });
-    }
-
-    private void setMetaData(final String realPath) {
-        final MetaData metaData = zkClient.readData(realPath);
-        initDubboRef(Collections.singletonList(metaData));
-        Optional.ofNullable(metaData)
-                .ifPresent(dto -> META_DATA.put(dto.getPath(), dto));
-    }
-
-    private void setAuthData(final String realPath) {
-        final AppAuthData appAuthData = zkClient.readData(realPath);
-        Optional.ofNullable(appAuthData)
-                .ifPresent(dto -> AUTH_MAP.put(dto.getAppKey(), dto));
-    }
-
-    private void subscribeAppAuthDataChanges(final String realPath) {
-        zkClient.subscribeDataChanges(realPath, new IZkDataListener() {
-            @Override
-            public void handleDataChange(final String dataPath, final Object data) {
-                Optional.ofNullable(data)
-                        .ifPresent(o -> AUTH_MAP.put(((AppAuthData) o).getAppKey(), (AppAuthData) o));
-            }
-
-            @Override
-            public void handleDataDeleted(final String dataPath) {
-                final String key = dataPath.substring(ZkPathConstants.APP_AUTH_PARENT.length() + 1);
-                AUTH_MAP.remove(key);
-            }
-        });
-    }
-
-    private List<String> addSubscribePath(final List<String> alreadyChildren, final List<String> currentChildren) {
-        if (CollectionUtils.isEmpty(alreadyChildren)) {
-            return currentChildren;
+        snapshot.markDirty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void restore(final WebsocketData<?> websocketData) {
+        switch (ConfigGroupEnum.acquireByName(websocketData.getGroupType())) {
+            case PLUGIN:
+                flushAllPlugin((List<PluginData>) websocketData.getData());
+                break;
+            case SELECTOR:
+                flushAllSelector((List<SelectorData>) websocketData.getData());
+                break;
+            case RULE:
+                flushAllRule((List<RuleData>) websocketData.getData());
+                break;
+            case APP_AUTH:
+                flushAllAppAuth((List<AppAuthData>) websocketData.getData());
+                break;
+            case META_DATA:
+                flushMetaData((List<MetaData>) websocketData.getData());
+                break;
+            default:
+                break;
         }
-        return currentChildren.stream().filter(current -> alreadyChildren.stream().noneMatch(current::equals)).collect(Collectors.toList());
-    }
-
-    private String buildRealPath(final String parent, final String children) {
-        return parent + "/" + children;
     }
 
     @Override
     public void destroy() {
-        zkClient.close();
+        treeCache.close();
     }
 }
@@ -0,0 +1,328 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.cache;
+
+import org.I0Itec.zkclient.serialize.ZkSerializer;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.WatchedEvent;
+import org.apache.zookeeper.Watcher;
+import org.apache.zookeeper.ZooKeeper;
+import org.dromara.soul.common.concurrent.SoulThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mirrors every node under a root with one watcher and asynchronous reads.
+ * The tree is loaded by pipelining {@code getChildren} and {@code getData} of all nodes on the session,
+ * instead of one blocking round trip per node, and the reads re-arm the watches of the node.
+ * The first load, and every reload after a session expired, is published as one full snapshot,
+ * later changes are published node by node, all on the event thread of the session, so in order.
+ *
+ * @author xiaoyu
+ */
+class ZookeeperTreeCache implements Watcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ZookeeperTreeCache.class);
+
+    private final String connectString;
+
+    private final int sessionTimeout;
+
+    private final ZkSerializer serializer;
+
+    private final String root;
+
+    private final Listener listener;
+
+    private final Map<String, Object> nodes = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> children = new ConcurrentHashMap<>();
+
+    private final AtomicInteger loading = new AtomicInteger();
+
+    private final CountDownLatch initialized = new CountDownLatch(1);
+
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+            SoulThreadFactory.create("zookeeper-tree-cache", true));
+
+    private volatile ZooKeeper zooKeeper;
+
+    private volatile boolean loaded;
+
+    /**
+     * the session the pending reads belong to, reads of an expired session are dropped.
+     */
+    private volatile int generation;
+
+    /**
+     * Instantiates a new Zookeeper tree cache.
+     *
+     * @param connectString  the connect string
+     * @param sessionTimeout the session timeout millis
+     * @param serializer     the serializer the nodes were written with
+     * @param root           the root path
+     * @param listener       the listener
+     */
+    ZookeeperTreeCache(final String connectString, final int sessionTimeout, final ZkSerializer serializer,
+                       final String root, final Listener listener) {
+        this.connectString = connectString;
+        this.sessionTimeout = sessionTimeout;
+        this.serializer = serializer;
+        this.root = root;
+        this.listener = listener;
+    }
+
+    /**
+     * Connect and load the tree.
+     *
+     * @param timeoutMillis the max millis to wait for the first snapshot
+     * @return true if the first snapshot was published in time
+     */
+    boolean start(final long timeoutMillis) {
+        connect();
+        try {
+            return initialized.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Close the session.
+     */
+    void close() {
+        executor.shutdownNow();
+        closeQuietly(zooKeeper);
+    }
+
+    @Override
+    public void process(final WatchedEvent event) {
+        if (event.getType() == Event.EventType.None) {
+            if (event.getState() == Event.KeeperState.SyncConnected && !loaded && loading.get() == 0) {
+                load();
+            } else if (event.getState() == Event.KeeperState.Expired) {
+                LOGGER.warn("zookeeper session expired, reload the tree with a new session.");
+                executor.execute(this::reconnect);
+            }
+            return;
+        }
+        String path = event.getPath();
+        switch (event.getType()) {
+            case NodeCreated:
+                // only the root is watched with exists.
+                readNode(path);
+                break;
+            case NodeDataChanged:
+                readData(path);
+                break;
+            case NodeChildrenChanged:
+                readChildren(path);
+                break;
+            case NodeDeleted:
+                removed(path);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void connect() {
+        try {
+            zooKeeper = new ZooKeeper(connectString, sessionTimeout, this);
+        } catch (IOException e) {
+            LOGGER.error("zookeeper connect fail, retry in 5 seconds :", e);
+            executor.schedule(this::connect, 5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void reconnect() {
+        closeQuietly(zooKeeper);
+        generation++;
+        loaded = false;
+        loading.set(0);
+        nodes.clear();
+        children.clear();
+        connect();
+    }
+
+    private void load() {
+        loading.incrementAndGet();
+        // a missing root is watched, the tree is read when it is created.
+        zooKeeper.exists(root, this, (rc, path, ctx, stat) -> {
+            if (isStale(ctx)) {
+                return;
+            }
+            if (isConnectionLoss(rc)) {
+                retry(this::load);
+            } else if (stat != null) {
+                readNode(path);
+            }
+            loaded();
+        }, generation);
+    }
+
+    private void readNode(final String path) {
+        readData(path);
+        readChildren(path);
+    }
+
+    private void readData(final String path) {
+        if (!loaded) {
+            loading.incrementAndGet();
+        }
+        zooKeeper.getData(path, this, (rc, p, ctx, bytes, stat) -> {
+            if (isStale(ctx)) {
+                return;
+            }
+            if (isConnectionLoss(rc)) {
+                retry(() -> readData(p));
+            } else if (rc == KeeperException.Code.OK.intValue() && bytes != null && bytes.length > 0) {
+                try {
+                    Object data = serializer.deserialize(bytes);
+                    nodes.put(p, data);
+                    if (loaded) {
+                        listener.onChanged(data);
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.error("zookeeper node " + p + " can not be deserialized :", e);
+                }
+            }
+            loaded();
+        }, generation);
+    }
+
+    private void readChildren(final String path) {
+        if (!loaded) {
+            loading.incrementAndGet();
+        }
+        zooKeeper.getChildren(path, this, (rc, p, ctx, names, stat) -> {
+            if (isStale(ctx)) {
+                return;
+            }
+            if (isConnectionLoss(rc)) {
+                retry(() -> readChildren(p));
+            } else if (rc == KeeperException.Code.OK.intValue()) {
+                Set<String> known = children.computeIfAbsent(p, k -> ConcurrentHashMap.newKeySet());
+                for (String name : names) {
+                    // removed children are published by their own NodeDeleted.
+                    if (known.add(name)) {
+                        readNode(p + "/" + name);
+                    }
+                }
+            }
+            loaded();
+        }, generation);
+    }
+
+    private boolean isStale(final Object ctx) {
+        return !Integer.valueOf(generation).equals(ctx);
+    }
+
+    private static boolean isConnectionLoss(final int rc) {
+        return rc == KeeperException.Code.CONNECTIONLOSS.intValue();
+    }
+
+    /**
+     * Re-issue a read that was lost with the connection, it is counted before the lost one is released.
+     *
+     * @param read the read
+     */
+    private void retry(final Runnable read) {
+        if (!loaded) {
+            loading.incrementAndGet();
+        }
+        final int session = generation;
+        executor.schedule(() -> {
+            if (session == generation) {
+                read.run();
+                loaded();
+            }
+        }, 1, TimeUnit.SECONDS);
+    }
+
+    private void removed(final String path) {
+        Set<String> known = children.get(path.substring(0, path.lastIndexOf('/')));
+        if (known != null) {
+            known.remove(path.substring(path.lastIndexOf('/') + 1));
+        }
+        children.remove(path);
+        Object data = nodes.remove(path);
+        if (data != null && loaded) {
+            listener.onRemoved(data);
+        }
+    }
+
+    private void loaded() {
+        if (!loaded && loading.decrementAndGet() == 0) {
+            loaded = true;
+            listener.onLoaded(new ArrayList<>(nodes.values()));
+            initialized.countDown();
+            LOGGER.info("zookeeper tree {} loaded, {} nodes.", root, nodes.size());
+        }
+    }
+
+    private static void closeQuietly(final ZooKeeper zk) {
+        if (zk != null) {
+            try {
+                zk.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Receives the data of the tree, always called on the event thread of the session.
+     */
+    interface Listener {
+
+        /**
+         * The full tree was loaded.
+         *
+         * @param all the data of every node
+         */
+        void onLoaded(List<Object> all);
+
+        /**
+         * A node was created or changed.
+         *
+         * @param data the data
+         */
+        void onChanged(Object data);
+
+        /**
+         * A node was deleted.
+         *
+         * @param data the last data of the node
+         */
+        void onRemoved(Object data);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.condition.extractor;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.soul.common.constant.Constants;
+import org.dromara.soul.web.request.RequestDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Extracts the value of a post condition, first from the {@link RequestDTO} fields through
+ * getters compiled once, then from the json body fields parsed at most once per exchange.
+ *
+ * @author xiaoyu
+ */
+public final class PostFieldExtractor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostFieldExtractor.class);
+
+    private static final Map<String, MethodHandle> REQUEST_DTO_GETTERS = buildGetters();
+
+    /**
+     * shared by every exchange without a json body, it is never mutated.
+     */
+    private static final JsonObject EMPTY_BODY = new JsonObject();
+
+    private PostFieldExtractor() {
+    }
+
+    /**
+     * Extract the value of the post field.
+     *
+     * @param exchange  the exchange
+     * @param paramName the field name, nested body fields are separated by '.'
+     * @return the value, or null if the field is absent
+     */
+    public static String extract(final ServerWebExchange exchange, final String paramName) {
+        if (StringUtils.isBlank(paramName)) {
+            return null;
+        }
+        final MethodHandle getter = REQUEST_DTO_GETTERS.get(paramName);
+        if (Objects.nonNull(getter)) {
+            final RequestDTO requestDTO = exchange.getAttribute(Constants.REQUESTDTO);
+            return Objects.isNull(requestDTO) ? null : invoke(getter, requestDTO);
+        }
+        return bodyField(bodyFields(exchange), paramName);
+    }
+
+    private static String invoke(final MethodHandle getter, final RequestDTO requestDTO) {
+        try {
+            return Objects.toString((Object) getter.invokeExact(requestDTO), null);
+        } catch (Throwable e) {
+            LOGGER.error("read request dto field error", e);
+            return null;
+        }
+    }
+
+    private static JsonObject bodyFields(final ServerWebExchange exchange) {
+        JsonObject fields = exchange.getAttribute(Constants.POST_FIELDS);
+        if (Objects.isNull(fields)) {
+            fields = parse(exchange.getAttribute(Constants.DUBBO_PARAMS));
+            exchange.getAttributes().put(Constants.POST_FIELDS, fields);
+        }
+        return fields;
+    }
+
+    private static JsonObject parse(final String body) {
+        if (StringUtils.isBlank(body) || body.trim().charAt(0) != '{') {
+            return EMPTY_BODY;
+        }
+        try {
+            return new JsonParser().parse(body).getAsJsonObject();
+        } catch (Exception e) {
+            LOGGER.error("parse post body error", e);
+            return EMPTY_BODY;
+        }
+    }
+
+    private static String bodyField(final JsonObject fields, final String paramName) {
+        if (fields.size() == 0) {
+            return null;
+        }
+        JsonElement value = fields.get(paramName);
+        if (Objects.isNull(value) && paramName.indexOf('.') > 0) {
+            value = fields;
+            for (String name : StringUtils.split(paramName, '.')) {
+                if (!value.isJsonObject()) {
+                    return null;
+                }
+                value = value.getAsJsonObject().get(name);
+                if (Objects.isNull(value)) {
+                    return null;
+                }
+            }
+        }
+        if (Objects.isNull(value) || value.isJsonNull()) {
+            return null;
+        }
+        return value.isJsonPrimitive() ? value.getAsString() : value.toString();
+    }
+
+    private static Map<String, MethodHandle> buildGetters() {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final MethodType type = MethodType.methodType(Object.class, RequestDTO.class);
+        final Map<String, MethodHandle> getters = new HashMap<>(16);
+        for (Field field : RequestDTO.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            try {
+                field.setAccessible(true);
+                getters.put(field.getName(), lookup.unreflectGetter(field).asType(type));
+            } catch (IllegalAccessException e) {
+                LOGGER.error("compile request dto getter error:{}", field.getName(), e);
+            }
+        }
+        return Collections.unmodifiableMap(getters);
+    }
+}
@@ -18,11 +18,9 @@
 
 package org.dromara.soul.web.condition.strategy;
 
-import org.dromara.soul.common.constant.Constants;
 import org.dromara.soul.common.dto.ConditionData;
 import org.dromara.soul.common.enums.ParamTypeEnum;
-import org.dromara.soul.common.utils.ReflectUtils;
-import org.dromara.soul.web.request.RequestDTO;
+import org.dromara.soul.web.condition.extractor.PostFieldExtractor;
 import org.dromara.soul.web.support.HostAddressUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.util.CollectionUtils;
@@ -72,8 +70,7 @@ abstract class AbstractMatchStrategy {
                 realData = HostAddressUtils.acquireIp(exchange);
                 break;
             case POST:
-                final RequestDTO requestDTO = exchange.getAttribute(Constants.REQUESTDTO);
-                realData = (String) ReflectUtils.getFieldValue(requestDTO, condition.getParamName());
+                realData = PostFieldExtractor.extract(exchange, condition.getParamName());
                 break;
             default:
                 break;
@@ -24,6 +24,7 @@ import org.dromara.soul.common.extension.ExtensionLoader;
 import org.springframework.web.server.ServerWebExchange;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * MatchStrategyFactory.
@@ -32,6 +33,11 @@ import java.util.List;
  */
 public class MatchStrategyUtils {
 
+    /**
+     * the strategies indexed by match mode ordinal, resolved once instead of per request.
+     */
+    private static final MatchStrategy[] MATCH_STRATEGIES = buildMatchStrategies();
+
     /**
      * Match boolean.
      *
@@ -41,8 +47,21 @@ public class MatchStrategyUtils {
      * @return the boolean
      */
     public static boolean match(final Integer strategy, final List<ConditionData> conditionDataList, final ServerWebExchange exchange) {
-        String matchMode = MatchModeEnum.getMatchModeByCode(strategy);
-        MatchStrategy matchStrategy = ExtensionLoader.getExtensionLoader(MatchStrategy.class).getJoin(matchMode);
+        MatchModeEnum matchMode = MatchModeEnum.acquireByCode(strategy);
+        MatchStrategy matchStrategy = MATCH_STRATEGIES[matchMode.ordinal()];
+        if (matchStrategy == null) {
+            matchStrategy = ExtensionLoader.getExtensionLoader(MatchStrategy.class).getJoin(matchMode.getName());
+        }
         return matchStrategy.match(conditionDataList, exchange);
     }
+
+    private static MatchStrategy[] buildMatchStrategies() {
+        Map<String, MatchStrategy> joins = ExtensionLoader.getExtensionLoader(MatchStrategy.class).getJoins();
+        MatchModeEnum[] modes = MatchModeEnum.values();
+        MatchStrategy[] strategies = new MatchStrategy[modes.length];
+        for (MatchModeEnum mode : modes) {
+            strategies[mode.ordinal()] = joins.get(mode.getName());
+        }
+        return strategies;
+    }
 }
@@ -212,8 +212,8 @@ public class HttpClientProperties {
         private String name = "proxy";
 
         /**
-         * Only for type FIXED, the maximum number of connections before starting pending
-         * acquisition on existing ones.
+         * Only for type FIXED, the maximum number of connections to a single upstream host:port
+         * before starting pending acquisition on existing ones; every upstream has its own partition.
          */
         private Integer maxConnections = ConnectionProvider.DEFAULT_POOL_MAX_CONNECTIONS;
 
@@ -222,6 +222,22 @@ public class HttpClientProperties {
          */
         private Long acquireTimeout = ConnectionProvider.DEFAULT_POOL_ACQUIRE_TIMEOUT;
 
+        /**
+         * Time after which a released connection that has not been acquired again is closed,
+         * null keeps idle connections forever.
+         */
+        private Duration maxIdleTime;
+
+        /**
+         * Time after which a connection is closed on release regardless of use, null disables it.
+         */
+        private Duration maxLifeTime;
+
+        /**
+         * Open connections to divide upstreams as soon as they are synced, before the first request.
+         */
+        private boolean warmUp;
+
         /**
          * Gets type.
          *
@@ -294,11 +310,66 @@ public class HttpClientProperties {
             this.acquireTimeout = acquireTimeout;
         }
 
+        /**
+         * Gets max idle time.
+         *
+         * @return the max idle time
+         */
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        /**
+         * Sets max idle time.
+         *
+         * @param maxIdleTime the max idle time
+         */
+        public void setMaxIdleTime(final Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        /**
+         * Gets max life time.
+         *
+         * @return the max life time
+         */
+        public Duration getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        /**
+         * Sets max life time.
+         *
+         * @param maxLifeTime the max life time
+         */
+        public void setMaxLifeTime(final Duration maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        /**
+         * Is warm up boolean.
+         *
+         * @return the boolean
+         */
+        public boolean isWarmUp() {
+            return warmUp;
+        }
+
+        /**
+         * Sets warm up.
+         *
+         * @param warmUp the warm up
+         */
+        public void setWarmUp(final boolean warmUp) {
+            this.warmUp = warmUp;
+        }
+
         @Override
         public String toString() {
             return "Pool{" + "type=" + type + ", name='" + name + '\''
                     + ", maxConnections=" + maxConnections + ", acquireTimeout="
-                    + acquireTimeout + '}';
+                    + acquireTimeout + ", maxIdleTime=" + maxIdleTime
+                    + ", maxLifeTime=" + maxLifeTime + ", warmUp=" + warmUp + '}';
         }
 
         /**
@@ -44,6 +44,9 @@ public class SoulConfig implements Serializable {
 
     private Disruptor disruptor;
 
+    private Cache cache = new Cache();
+
+    private Snapshot snapshot = new Snapshot();
 
     /**
      * The type Sync.
@@ -76,6 +79,16 @@ public class SoulConfig implements Serializable {
     public static class WebsocketConfig {
 
         private String url;
+
+        /**
+         * receive the compact binary frames instead of json, an older admin ignores the binary handshake.
+         */
+        private boolean binary;
+
+        /**
+         * when no frame arrives this long after a binary handshake, the json handshake of older admins is sent.
+         */
+        private long handshakeTimeoutMillis = 5000;
     }
 
     @Data
@@ -87,5 +100,36 @@ public class SoulConfig implements Serializable {
 
     }
 
+    /**
+     * The response cache plugin config.
+     */
+    @Data
+    public static class Cache {
+
+        private long heapMaxBytes = 64 * 1024 * 1024;
+
+        private long offHeapMaxBytes;
+
+        private int largeBodyThreshold = 256 * 1024;
+
+        private int maxBodySize = 8 * 1024 * 1024;
+
+    }
+
+    /**
+     * The local config snapshot.
+     */
+    @Data
+    public static class Snapshot {
+
+        private boolean enabled = true;
+
+        private String path = System.getProperty("user.home") + "/.soul/config.snapshot";
 
+        /**
+         * seconds between two writes of a changed snapshot.
+         */
+        private int flushInterval = 5;
+
+    }
 }
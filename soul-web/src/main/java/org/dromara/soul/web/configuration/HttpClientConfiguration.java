@@ -22,11 +22,15 @@ package org.dromara.soul.web.configuration;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import org.dromara.soul.web.cache.UpstreamCacheManager;
 import org.dromara.soul.web.config.HttpClientProperties;
 import org.dromara.soul.web.plugin.SoulPlugin;
 import org.dromara.soul.web.plugin.after.NettyClientResponsePlugin;
 import org.dromara.soul.web.plugin.after.WebClientResponsePlugin;
 import org.dromara.soul.web.plugin.http.NettyHttpClientPlugin;
+import org.dromara.soul.web.plugin.http.PooledConnectionLifecycle;
+import org.dromara.soul.web.plugin.http.UpstreamConnectionMetrics;
+import org.dromara.soul.web.plugin.http.UpstreamConnectionWarmer;
 import org.dromara.soul.web.plugin.http.WebClientPlugin;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -77,6 +81,9 @@ public class HttpClientConfiguration {
                                 ChannelOption.CONNECT_TIMEOUT_MILLIS,
                                 properties.getConnectTimeout());
                     }
+                    if (pool.getMaxIdleTime() != null || pool.getMaxLifeTime() != null) {
+                        tcpClient = tcpClient.observe(new PooledConnectionLifecycle(pool.getMaxIdleTime(), pool.getMaxLifeTime()));
+                    }
                     // configure proxy if proxy host is set.
                     HttpClientProperties.Proxy proxy = properties.getProxy();
                     if (StringUtils.hasText(proxy.getHost())) {
@@ -126,6 +133,21 @@ public class HttpClientConfiguration {
         return httpClient;
     }
 
+    /**
+     * Upstream connection warmer, it observes the upstreams added to the upstream cache.
+     *
+     * @param httpClient           the http client
+     * @param upstreamCacheManager the upstream cache manager
+     * @return the upstream connection warmer
+     */
+    @Bean
+    @ConditionalOnProperty(name = "soul.httpclient.pool.warm-up", havingValue = "true")
+    public UpstreamConnectionWarmer upstreamConnectionWarmer(final HttpClient httpClient, final UpstreamCacheManager upstreamCacheManager) {
+        UpstreamConnectionWarmer warmer = new UpstreamConnectionWarmer(httpClient);
+        upstreamCacheManager.addUpstreamListener(warmer::warmUp);
+        return warmer;
+    }
+
 
     /**
      * The type Web client configuration.
@@ -166,15 +188,26 @@ public class HttpClientConfiguration {
     @ConditionalOnProperty(name = "soul.httpclient.strategy", havingValue = "netty")
     static class NettyHttpClientConfiguration {
 
+        /**
+         * Upstream connection metrics.
+         *
+         * @return the upstream connection metrics
+         */
+        @Bean
+        public UpstreamConnectionMetrics upstreamConnectionMetrics() {
+            return new UpstreamConnectionMetrics();
+        }
+
         /**
          * Netty http client plugin soul plugin.
          *
          * @param httpClient the http client
+         * @param metrics    the upstream connection metrics
          * @return the soul plugin
          */
         @Bean
-        public SoulPlugin nettyHttpClientPlugin(final HttpClient httpClient) {
-            return new NettyHttpClientPlugin(httpClient);
+        public SoulPlugin nettyHttpClientPlugin(final HttpClient httpClient, final UpstreamConnectionMetrics metrics) {
+            return new NettyHttpClientPlugin(httpClient, metrics);
         }
 
         /**
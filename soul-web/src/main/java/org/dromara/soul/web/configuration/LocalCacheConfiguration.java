@@ -17,14 +17,16 @@
 
 package org.dromara.soul.web.configuration;
 
-import org.I0Itec.zkclient.ZkClient;
+import org.I0Itec.zkclient.serialize.ZkSerializer;
 import org.dromara.soul.common.dto.AppAuthData;
 import org.dromara.soul.common.dto.PluginData;
 import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.configuration.zookeeper.ZookeeperConfig;
 import org.dromara.soul.configuration.zookeeper.ZookeeperConfiguration;
 import org.dromara.soul.web.cache.HttpLongPollSyncCache;
 import org.dromara.soul.web.cache.LocalCacheManager;
+import org.dromara.soul.web.cache.LocalConfigSnapshot;
 import org.dromara.soul.web.cache.WebsocketSyncCache;
 import org.dromara.soul.web.cache.ZookeeperSyncCache;
 import org.dromara.soul.web.config.SoulConfig;
@@ -47,6 +49,18 @@ import org.springframework.context.annotation.Import;
 @EnableConfigurationProperties({SoulConfig.class})
 public class LocalCacheConfiguration {
 
+    /**
+     * Local config snapshot.
+     *
+     * @param soulConfig the soul config
+     * @return the local config snapshot
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public LocalConfigSnapshot localConfigSnapshot(final SoulConfig soulConfig) {
+        return new LocalConfigSnapshot(soulConfig.getSnapshot());
+    }
+
     /**
      * The type Zookeeper.
      */
@@ -59,12 +73,15 @@ public class LocalCacheConfiguration {
         /**
          * Zookeeper cache manager local cache manager.
          *
-         * @param zkClient the zk client
+         * @param zookeeperConfig the zookeeper config
+         * @param zkSerializer    the zk serializer
+         * @param snapshot        the local config snapshot
          * @return the local cache manager
          */
         @Bean
-        public LocalCacheManager localCacheManager(final ZkClient zkClient) {
-            return new ZookeeperSyncCache(zkClient);
+        public LocalCacheManager localCacheManager(final ZookeeperConfig zookeeperConfig, final ZkSerializer zkSerializer,
+                                                   final LocalConfigSnapshot snapshot) {
+            return new ZookeeperSyncCache(zookeeperConfig, zkSerializer, snapshot);
         }
     }
 
@@ -81,11 +98,12 @@ public class LocalCacheConfiguration {
          * Local cache manager local cache manager.
          *
          * @param soulConfig the soul config
+         * @param snapshot   the local config snapshot
          * @return the local cache manager
          */
         @Bean
-        public LocalCacheManager localCacheManager(final SoulConfig soulConfig) {
-            return new HttpLongPollSyncCache(soulConfig.getSync().getHttp());
+        public LocalCacheManager localCacheManager(final SoulConfig soulConfig, final LocalConfigSnapshot snapshot) {
+            return new HttpLongPollSyncCache(soulConfig.getSync().getHttp(), snapshot);
         }
 
     }
@@ -102,11 +120,12 @@ public class LocalCacheConfiguration {
          * Local cache manager local cache manager.
          *
          * @param soulConfig the soul config
+         * @param snapshot   the local config snapshot
          * @return the local cache manager
          */
         @Bean
-        public LocalCacheManager localCacheManager(final SoulConfig soulConfig) {
-            return new WebsocketSyncCache(soulConfig.getSync().getWebsocket());
+        public LocalCacheManager localCacheManager(final SoulConfig soulConfig, final LocalConfigSnapshot snapshot) {
+            return new WebsocketSyncCache(soulConfig.getSync().getWebsocket(), snapshot);
         }
 
     }
@@ -38,6 +38,8 @@ import org.dromara.soul.web.plugin.before.GlobalPlugin;
 import org.dromara.soul.web.plugin.before.SignPlugin;
 import org.dromara.soul.web.plugin.before.SignService;
 import org.dromara.soul.web.plugin.before.WafPlugin;
+import org.dromara.soul.web.plugin.cache.ResponseCache;
+import org.dromara.soul.web.plugin.function.CachePlugin;
 import org.dromara.soul.web.plugin.function.DividePlugin;
 import org.dromara.soul.web.plugin.function.RateLimiterPlugin;
 import org.dromara.soul.web.plugin.function.RewritePlugin;
@@ -167,6 +169,17 @@ public class SoulConfiguration {
         return new RewritePlugin(localCacheManager);
     }
 
+    /**
+     * init cachePlugin.
+     *
+     * @param soulConfig the soul config
+     * @return {@linkplain CachePlugin}
+     */
+    @Bean
+    public SoulPlugin cachePlugin(final SoulConfig soulConfig) {
+        return new CachePlugin(localCacheManager, new ResponseCache(soulConfig.getCache()));
+    }
+
     /**
      * init dividePlugin.
      *
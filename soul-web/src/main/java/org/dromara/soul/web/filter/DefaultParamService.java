@@ -25,12 +25,15 @@ import org.dromara.soul.common.dto.MetaData;
 import org.dromara.soul.common.enums.RpcTypeEnum;
 import org.dromara.soul.web.cache.AbstractLocalCacheManager;
 import org.dromara.soul.web.request.RequestDTO;
+import org.dromara.soul.web.support.PathTemplateRouter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -43,43 +46,49 @@ public class DefaultParamService implements ParamService {
     @Override
     public Mono<Boolean> doParam(final ServerWebExchange exchange) {
         final ServerHttpRequest request = exchange.getRequest();
-        String path = request.getURI().getPath();
+        final String path = request.getURI().getPath();
         MetaData metaData = AbstractLocalCacheManager.findPath(path);
-        if (Objects.isNull(metaData) || !metaData.getEnabled()) {
-            return Mono.just(false);
+        Map<String, String> pathVariables = null;
+        if (Objects.isNull(metaData)) {
+            PathTemplateRouter.Match<MetaData> match = AbstractLocalCacheManager.matchPath(path);
+            if (Objects.nonNull(match)) {
+                metaData = match.getValue();
+                pathVariables = match.getVariables();
+            }
         }
-        RequestDTO requestDTO = transform(request, metaData);
-        if (!verify(requestDTO)) {
+        // the request dto is only built once the meta data is known to be routable.
+        if (Objects.isNull(metaData) || !metaData.getEnabled() || !verify(metaData)) {
             return Mono.just(false);
         }
-        exchange.getAttributes().put(Constants.REQUESTDTO, requestDTO);
+        exchange.getAttributes().put(Constants.REQUESTDTO, transform(request, path, metaData));
+        if (Objects.nonNull(pathVariables)) {
+            exchange.getAttributes().put(Constants.PATH_VARIABLE, pathVariables);
+        }
         return Mono.just(true);
     }
 
     /**
      * ServerHttpRequest transform RequestDTO .
      *
-     * @param request {@linkplain ServerHttpRequest}
+     * @param request  {@linkplain ServerHttpRequest}
+     * @param path     the request path
+     * @param metaData the matched meta data
      * @return RequestDTO request dto
      */
-    private RequestDTO transform(final ServerHttpRequest request, final MetaData metaData) {
-        final String appKey = request.getHeaders().getFirst(Constants.APP_KEY);
-        final String sign = request.getHeaders().getFirst(Constants.SIGN);
-        final String timestamp = request.getHeaders().getFirst(Constants.TIMESTAMP);
+    private RequestDTO transform(final ServerHttpRequest request, final String path, final MetaData metaData) {
+        final HttpHeaders headers = request.getHeaders();
         RequestDTO requestDTO = new RequestDTO();
-        String path = request.getURI().getPath();
-        String[] splitList = StringUtils.split(path, "/");
-        String contextPath = "/" + splitList[0];
-        String realPath = path.substring(contextPath.length());
+        int contextEnd = path.indexOf('/', 1);
+        String contextPath = contextEnd < 0 ? path : path.substring(0, contextEnd);
         requestDTO.setPath(path);
-        requestDTO.setRealUrl(realPath);
+        requestDTO.setRealUrl(path.substring(contextPath.length()));
         requestDTO.setContextPath(contextPath);
         requestDTO.setModule(metaData.getAppName());
         requestDTO.setMethod(metaData.getServiceName());
-        requestDTO.setAppKey(appKey);
+        requestDTO.setAppKey(headers.getFirst(Constants.APP_KEY));
         requestDTO.setRpcType(metaData.getRpcType());
-        requestDTO.setSign(sign);
-        requestDTO.setTimestamp(timestamp);
+        requestDTO.setSign(headers.getFirst(Constants.SIGN));
+        requestDTO.setTimestamp(headers.getFirst(Constants.TIMESTAMP));
         requestDTO.setMetaData(metaData);
         requestDTO.setStartDateTime(LocalDateTime.now());
         HttpMethod method = request.getMethod();
@@ -89,13 +98,12 @@ public class DefaultParamService implements ParamService {
         return requestDTO;
     }
 
-    private Boolean verify(final RequestDTO requestDTO) {
-        if (Objects.isNull(requestDTO)
-                || StringUtils.isBlank(requestDTO.getModule())
-                || StringUtils.isBlank(requestDTO.getMethod())) {
+    private Boolean verify(final MetaData metaData) {
+        if (StringUtils.isBlank(metaData.getAppName())
+                || StringUtils.isBlank(metaData.getServiceName())) {
             return false;
         }
-        final RpcTypeEnum rpcTypeEnum = RpcTypeEnum.acquireByName(requestDTO.getRpcType());
+        final RpcTypeEnum rpcTypeEnum = RpcTypeEnum.acquireByName(metaData.getRpcType());
         return !Objects.isNull(rpcTypeEnum);
     }
 }
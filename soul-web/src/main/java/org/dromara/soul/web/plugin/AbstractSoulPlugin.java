@@ -32,7 +32,6 @@ import org.dromara.soul.web.condition.strategy.MatchStrategyUtils;
 import org.dromara.soul.web.request.RequestDTO;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.server.ServerWebExchange;
@@ -85,8 +84,7 @@ public abstract class AbstractSoulPlugin implements SoulPlugin {
             final List<SelectorData> selectors = localCacheManager.findSelectorByPluginName(named());
             if (CollectionUtils.isEmpty(selectors)) {
                 LOGGER.error("can not find selector data :{},params:{}", named(), Objects.requireNonNull(request).toString());
-                Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_FIND_SELECTOR.getCode(), SoulResultEnum.CANNOT_FIND_SELECTOR.getMsg(), null);
-                return SoulResultUtils.result(exchange, error);
+                return SoulResultUtils.error(exchange, SoulResultEnum.CANNOT_FIND_SELECTOR);
             }
             final SelectorData selectorData = selectors.stream()
                     .filter(selector -> selector.getEnabled() && filterSelector(selector, exchange))
@@ -94,8 +92,7 @@ public abstract class AbstractSoulPlugin implements SoulPlugin {
 
             if (Objects.isNull(selectorData)) {
                 LOGGER.error("can not match selector data :{},params:{}", named(), Objects.requireNonNull(request).toString());
-                Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_FIND_SELECTOR.getCode(), SoulResultEnum.CANNOT_FIND_SELECTOR.getMsg(), null);
-                return SoulResultUtils.result(exchange, error);
+                return SoulResultUtils.error(exchange, SoulResultEnum.CANNOT_FIND_SELECTOR);
             }
 
             if (selectorData.getLoged()) {
@@ -121,8 +118,7 @@ public abstract class AbstractSoulPlugin implements SoulPlugin {
                         || PluginEnum.DUBBO.getName().equals(pluginName)
                         || PluginEnum.SPRING_CLOUD.getName().equals(pluginName)) {
                     LOGGER.error(Objects.requireNonNull(request).getModule() + ":" + request.getMethod() + " not match  " + pluginName + "  rule");
-                    Object error = SoulResultWarp.error(SoulResultEnum.RULE_NOT_FIND.getCode(), SoulResultEnum.RULE_NOT_FIND.getMsg(), null);
-                    return SoulResultUtils.result(exchange, error);
+                    return SoulResultUtils.error(exchange, SoulResultEnum.RULE_NOT_FIND);
                 }
                 return chain.execute(exchange);
             }
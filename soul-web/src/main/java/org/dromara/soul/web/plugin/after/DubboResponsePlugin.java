@@ -30,7 +30,6 @@ import org.dromara.soul.web.plugin.SoulPluginChain;
 import org.dromara.soul.web.request.RequestDTO;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
@@ -58,8 +57,7 @@ public class DubboResponsePlugin implements SoulPlugin {
             final Object result = exchange.getAttribute(Constants.DUBBO_RPC_RESULT);
             try {
                 if (Objects.isNull(result)) {
-                    Object error = SoulResultWarp.error(SoulResultEnum.SERVICE_RESULT_ERROR.getCode(), SoulResultEnum.SERVICE_RESULT_ERROR.getMsg(), null);
-                    return SoulResultUtils.result(exchange, error);
+                    return SoulResultUtils.error(exchange, SoulResultEnum.SERVICE_RESULT_ERROR);
                 }
                 return SoulResultUtils.result(exchange, JsonUtils.removeClass(result));
             } catch (SoulException e) {
@@ -28,14 +28,20 @@ import org.dromara.soul.web.plugin.SoulPluginChain;
 import org.dromara.soul.web.request.RequestDTO;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
+import org.dromara.soul.web.support.HopByHopHeadersFilter;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.Nullable;
 import org.springframework.web.reactive.function.BodyExtractors;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -45,6 +51,9 @@ import java.util.Objects;
  */
 public class WebClientResponsePlugin implements SoulPlugin {
 
+    private static final List<MediaType> STREAMING_MEDIA_TYPES = Arrays
+            .asList(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_STREAM_JSON);
+
     /**
      * Process the Web request and (optionally) delegate to the next
      * {@code WebFilter} through the given {@link org.dromara.soul.web.plugin.SoulPluginChain}.
@@ -61,14 +70,16 @@ public class WebClientResponsePlugin implements SoulPlugin {
             if (Objects.isNull(clientResponse)
                     || response.getStatusCode() == HttpStatus.BAD_GATEWAY
                     || response.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR) {
-                Object error = SoulResultWarp.error(SoulResultEnum.SERVICE_RESULT_ERROR.getCode(), SoulResultEnum.SERVICE_RESULT_ERROR.getMsg(), null);
-                return SoulResultUtils.result(exchange, error);
+                return release(clientResponse).then(SoulResultUtils.error(exchange, SoulResultEnum.SERVICE_RESULT_ERROR));
             } else if (response.getStatusCode() == HttpStatus.GATEWAY_TIMEOUT) {
-                Object error = SoulResultWarp.error(SoulResultEnum.SERVICE_TIMEOUT.getCode(), SoulResultEnum.SERVICE_TIMEOUT.getMsg(), null);
-                return SoulResultUtils.result(exchange, error);
+                return release(clientResponse).then(SoulResultUtils.error(exchange, SoulResultEnum.SERVICE_TIMEOUT));
             }
-            response.getHeaders().putAll(clientResponse.headers().asHttpHeaders());
-            return response.writeWith(clientResponse.body(BodyExtractors.toDataBuffers()));
+            HopByHopHeadersFilter.copy(clientResponse.headers().asHttpHeaders(), response.getHeaders());
+            // the upstream ByteBufs are only wrapped, never copied, and are released by the server once written.
+            final Flux<DataBuffer> body = clientResponse.body(BodyExtractors.toDataBuffers());
+            return isStreamingMediaType(response.getHeaders().getContentType())
+                    ? response.writeAndFlushWith(body.map(Flux::just))
+                    : response.writeWith(body);
         }));
 
     }
@@ -96,6 +107,15 @@ public class WebClientResponsePlugin implements SoulPlugin {
                 && !Objects.equals(RpcTypeEnum.SPRING_CLOUD.getName(), requestDTO.getRpcType());
     }
 
+    private Mono<Void> release(@Nullable final ClientResponse clientResponse) {
+        return Objects.isNull(clientResponse) ? Mono.empty() : clientResponse.bodyToMono(Void.class);
+    }
+
+    private boolean isStreamingMediaType(@Nullable final MediaType contentType) {
+        return contentType != null && STREAMING_MEDIA_TYPES.stream()
+                .anyMatch(contentType::isCompatibleWith);
+    }
+
     /**
      * acquire plugin name.
      *
@@ -0,0 +1,101 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An immutable upstream response held by the {@link ResponseCache}.
+ *
+ * @author xiaoyu
+ */
+public final class CachedResponse {
+
+    private final HttpStatus status;
+
+    private final HttpHeaders headers;
+
+    private final ByteBuffer body;
+
+    private final long ttlNanos;
+
+    /**
+     * Instantiates a new Cached response.
+     *
+     * @param status   the status
+     * @param headers  the headers
+     * @param body     the body, heap or direct
+     * @param ttlNanos the time to live in nanos
+     */
+    public CachedResponse(final HttpStatus status, final HttpHeaders headers, final ByteBuffer body, final long ttlNanos) {
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body.asReadOnlyBuffer();
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * Gets status.
+     *
+     * @return the status
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets headers.
+     *
+     * @return the headers
+     */
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Gets a private view of the body, safe to hand to one response.
+     *
+     * @return the body
+     */
+    public ByteBuffer getBody() {
+        return body.duplicate();
+    }
+
+    /**
+     * Gets the body size in bytes.
+     *
+     * @return the size
+     */
+    public int size() {
+        return body.remaining();
+    }
+
+    /**
+     * Gets ttl in nanos.
+     *
+     * @return the ttl
+     */
+    public long getTtlNanos() {
+        return ttlNanos;
+    }
+}
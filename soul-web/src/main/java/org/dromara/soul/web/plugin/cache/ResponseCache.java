@@ -0,0 +1,172 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.dromara.soul.web.config.SoulConfig;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.MonoProcessor;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Two tier response cache: a size bounded W-TinyLFU heap tier and, when configured,
+ * an off-heap tier of direct buffers for bodies larger than {@code largeBodyThreshold}.
+ * Concurrent misses of one key are coalesced behind a single in-flight upstream fetch.
+ *
+ * @author xiaoyu
+ */
+public class ResponseCache {
+
+    private final Cache<String, CachedResponse> heap;
+
+    private final Cache<String, CachedResponse> offHeap;
+
+    private final int largeBodyThreshold;
+
+    private final int maxBodySize;
+
+    private final ConcurrentMap<String, MonoProcessor<CachedResponse>> inflight = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Response cache.
+     *
+     * @param config the cache config
+     */
+    public ResponseCache(final SoulConfig.Cache config) {
+        this.largeBodyThreshold = config.getLargeBodyThreshold();
+        this.maxBodySize = config.getMaxBodySize();
+        this.heap = build(config.getHeapMaxBytes());
+        this.offHeap = config.getOffHeapMaxBytes() > 0 ? build(config.getOffHeapMaxBytes()) : null;
+    }
+
+    /**
+     * Get a live entry.
+     *
+     * @param key the key
+     * @return the cached response or null
+     */
+    public CachedResponse get(final String key) {
+        final CachedResponse response = heap.getIfPresent(key);
+        if (Objects.nonNull(response) || Objects.isNull(offHeap)) {
+            return response;
+        }
+        return offHeap.getIfPresent(key);
+    }
+
+    /**
+     * Store a response, large bodies go to the off-heap tier or are not cached at all.
+     *
+     * @param key      the key
+     * @param status   the status
+     * @param headers  the headers
+     * @param body     the body
+     * @param ttlNanos the ttl in nanos
+     * @return the stored response, or null if it was not cacheable
+     */
+    public CachedResponse put(final String key, final HttpStatus status, final HttpHeaders headers,
+                              final byte[] body, final long ttlNanos) {
+        if (ttlNanos <= 0 || body.length > maxBodySize) {
+            return null;
+        }
+        final CachedResponse response;
+        if (body.length <= largeBodyThreshold) {
+            response = new CachedResponse(status, headers, ByteBuffer.wrap(body), ttlNanos);
+            heap.put(key, response);
+        } else if (Objects.nonNull(offHeap)) {
+            final ByteBuffer direct = ByteBuffer.allocateDirect(body.length);
+            direct.put(body).flip();
+            response = new CachedResponse(status, headers, direct, ttlNanos);
+            offHeap.put(key, response);
+        } else {
+            return null;
+        }
+        return response;
+    }
+
+    /**
+     * Gets the max body size worth buffering.
+     *
+     * @return the max body size
+     */
+    public int getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    /**
+     * Register the caller as the single fetcher of a key.
+     *
+     * @param key    the key
+     * @param leader the processor completed with the fetched response
+     * @return null if the caller became the fetcher, otherwise the in-flight fetch to wait for
+     */
+    public MonoProcessor<CachedResponse> join(final String key, final MonoProcessor<CachedResponse> leader) {
+        return inflight.putIfAbsent(key, leader);
+    }
+
+    /**
+     * Finish an in-flight fetch; waiters receive the response, or nothing if it was not cacheable.
+     *
+     * @param key      the key
+     * @param leader   the leader processor
+     * @param response the stored response, may be null
+     */
+    public void complete(final String key, final MonoProcessor<CachedResponse> leader, final CachedResponse response) {
+        inflight.remove(key, leader);
+        if (!leader.isTerminated()) {
+            if (Objects.isNull(response)) {
+                leader.onComplete();
+            } else {
+                leader.onNext(response);
+            }
+        }
+    }
+
+    private static Cache<String, CachedResponse> build(final long maxBytes) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<String, CachedResponse>weigher((key, value) -> value.size() + key.length())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(final String key, final CachedResponse value, final long currentTime) {
+                        return value.getTtlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(final String key, final CachedResponse value,
+                                                  final long currentTime, final long currentDuration) {
+                        return value.getTtlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(final String key, final CachedResponse value,
+                                                final long currentTime, final long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.function;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.soul.common.constant.Constants;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.dto.convert.CacheHandle;
+import org.dromara.soul.common.enums.PluginEnum;
+import org.dromara.soul.common.enums.PluginTypeEnum;
+import org.dromara.soul.common.enums.RpcTypeEnum;
+import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.web.cache.LocalCacheManager;
+import org.dromara.soul.web.plugin.AbstractSoulPlugin;
+import org.dromara.soul.web.plugin.SoulPluginChain;
+import org.dromara.soul.web.plugin.cache.CachedResponse;
+import org.dromara.soul.web.plugin.cache.ResponseCache;
+import org.dromara.soul.web.request.RequestDTO;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches GET responses of upstream services per rule and serves hits without calling the upstream.
+ *
+ * @author xiaoyu
+ */
+public class CachePlugin extends AbstractSoulPlugin {
+
+    private final ResponseCache responseCache;
+
+    /**
+     * Instantiates a new Cache plugin.
+     *
+     * @param localCacheManager the local cache manager
+     * @param responseCache     the response cache
+     */
+    public CachePlugin(final LocalCacheManager localCacheManager, final ResponseCache responseCache) {
+        super(localCacheManager);
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain, final SelectorData selector, final RuleData rule) {
+        final ServerHttpRequest request = exchange.getRequest();
+        final CacheHandle cacheHandle = GsonUtils.getInstance().fromJson(rule.getHandle(), CacheHandle.class);
+        if (Objects.isNull(cacheHandle) || request.getMethod() != HttpMethod.GET
+                || hasDirective(request.getHeaders(), "no-cache", "no-store")
+                || (!cacheHandle.isCacheAuthorized() && isAuthorized(request.getHeaders()))) {
+            return chain.execute(exchange);
+        }
+        final String key = buildKey(request, cacheHandle);
+        final CachedResponse hit = responseCache.get(key);
+        if (Objects.nonNull(hit)) {
+            return write(exchange.getResponse(), hit);
+        }
+        final MonoProcessor<CachedResponse> leader = MonoProcessor.create();
+        final MonoProcessor<CachedResponse> inflight = responseCache.join(key, leader);
+        if (Objects.nonNull(inflight)) {
+            // another request is already fetching this key, fall back to the upstream if it yields nothing.
+            return inflight.timeout(Duration.ofMillis(Constants.TIME_OUT))
+                    .onErrorResume(e -> Mono.empty())
+                    .flatMap(response -> write(exchange.getResponse(), response))
+                    .switchIfEmpty(Mono.defer(() -> chain.execute(exchange)));
+        }
+        final CachingResponse caching = new CachingResponse(exchange, key, leader, cacheHandle);
+        return chain.execute(exchange.mutate().response(caching).build())
+                .doFinally(signal -> responseCache.complete(key, leader, null));
+    }
+
+    @Override
+    public Boolean skip(final ServerWebExchange exchange) {
+        final RequestDTO body = exchange.getAttribute(Constants.REQUESTDTO);
+        return Objects.equals(Objects.requireNonNull(body).getRpcType(), RpcTypeEnum.DUBBO.getName());
+    }
+
+    @Override
+    public String named() {
+        return PluginEnum.CACHE.getName();
+    }
+
+    @Override
+    public PluginTypeEnum pluginType() {
+        return PluginTypeEnum.FUNCTION;
+    }
+
+    @Override
+    public int getOrder() {
+        return PluginEnum.CACHE.getCode();
+    }
+
+    private static Mono<Void> write(final ServerHttpResponse response, final CachedResponse cached) {
+        response.setStatusCode(cached.getStatus());
+        response.getHeaders().putAll(cached.getHeaders());
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    private static String buildKey(final ServerHttpRequest request, final CacheHandle cacheHandle) {
+        final StringBuilder key = new StringBuilder(request.getMethodValue()).append(' ').append(request.getURI().getRawPath());
+        if (StringUtils.isBlank(cacheHandle.getQueryParams())) {
+            key.append('?').append(StringUtils.defaultString(request.getURI().getRawQuery()));
+        } else {
+            for (String param : StringUtils.split(cacheHandle.getQueryParams(), ',')) {
+                final String name = param.trim();
+                key.append('&').append(name).append('=').append(request.getQueryParams().get(name));
+            }
+        }
+        if (StringUtils.isNotBlank(cacheHandle.getHeaders())) {
+            for (String header : StringUtils.split(cacheHandle.getHeaders(), ',')) {
+                final String name = header.trim();
+                key.append('|').append(name.toLowerCase(Locale.ROOT)).append(':').append(request.getHeaders().get(name));
+            }
+        }
+        return key.toString();
+    }
+
+    private static boolean isAuthorized(final HttpHeaders headers) {
+        return headers.containsKey(HttpHeaders.AUTHORIZATION) || headers.containsKey(HttpHeaders.COOKIE);
+    }
+
+    /**
+     * Whether every request header the response varies on is already part of the cache key.
+     */
+    private static boolean isVaryCovered(final HttpHeaders headers, final CacheHandle cacheHandle) {
+        final List<String> vary = headers.getVary();
+        if (vary.isEmpty()) {
+            return true;
+        }
+        final Set<String> keyHeaders = new HashSet<>();
+        if (StringUtils.isNotBlank(cacheHandle.getHeaders())) {
+            for (String header : StringUtils.split(cacheHandle.getHeaders(), ',')) {
+                keyHeaders.add(header.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        for (String name : vary) {
+            if ("*".equals(name) || !keyHeaders.contains(name.toLowerCase(Locale.ROOT))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasDirective(final HttpHeaders headers, final String... directives) {
+        final String cacheControl = headers.getCacheControl();
+        if (StringUtils.isBlank(cacheControl)) {
+            return false;
+        }
+        final String lower = cacheControl.toLowerCase(Locale.ROOT);
+        for (String directive : directives) {
+            if (lower.contains(directive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long maxAge(final String cacheControl, final String directive) {
+        final int index = cacheControl.indexOf(directive + "=");
+        if (index < 0) {
+            return -1;
+        }
+        int end = index + directive.length() + 1;
+        final int start = end;
+        while (end < cacheControl.length() && Character.isDigit(cacheControl.charAt(end))) {
+            end++;
+        }
+        return end > start ? Long.parseLong(cacheControl.substring(start, end)) : -1;
+    }
+
+    /**
+     * Tees the body of a successful upstream response into the cache while it is written to the client.
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+
+        private final String key;
+
+        private final MonoProcessor<CachedResponse> leader;
+
+        private final CacheHandle cacheHandle;
+
+        CachingResponse(final ServerWebExchange exchange, final String key,
+                        final MonoProcessor<CachedResponse> leader, final CacheHandle cacheHandle) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.leader = leader;
+            this.cacheHandle = cacheHandle;
+        }
+
+        @Override
+        public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+            final HttpStatus status = upstreamStatus();
+            final long ttlSeconds = ttlSeconds(status);
+            if (ttlSeconds <= 0) {
+                return super.writeWith(body);
+            }
+            final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            final Flux<DataBuffer> tee = Flux.from(body).map(buffer -> {
+                if (copy.size() <= responseCache.getMaxBodySize()) {
+                    final ByteBuffer view = buffer.asByteBuffer();
+                    final byte[] bytes = new byte[view.remaining()];
+                    view.get(bytes);
+                    copy.write(bytes, 0, bytes.length);
+                }
+                return buffer;
+            });
+            return super.writeWith(tee.doOnComplete(() -> {
+                final CachedResponse stored = responseCache.put(key, status, getHeaders(), copy.toByteArray(),
+                        TimeUnit.SECONDS.toNanos(ttlSeconds));
+                responseCache.complete(key, leader, stored);
+            }));
+        }
+
+        /**
+         * The status the upstream answered with, the response status is not set on the proxied path,
+         * unless the gateway itself set an error status.
+         */
+        private HttpStatus upstreamStatus() {
+            final ClientResponse clientResponse = exchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR);
+            if (Objects.isNull(clientResponse)) {
+                return null;
+            }
+            final HttpStatus status = getStatusCode();
+            return Objects.nonNull(status) && !status.is2xxSuccessful() ? status : clientResponse.statusCode();
+        }
+
+        private long ttlSeconds(final HttpStatus status) {
+            if (Objects.isNull(status)
+                    || !status.is2xxSuccessful()
+                    || status == HttpStatus.PARTIAL_CONTENT
+                    || getHeaders().containsKey(HttpHeaders.SET_COOKIE)
+                    || !isVaryCovered(getHeaders(), cacheHandle)
+                    || hasDirective(getHeaders(), "no-store", "no-cache", "private")) {
+                return -1;
+            }
+            final String cacheControl = StringUtils.defaultString(getHeaders().getCacheControl()).toLowerCase(Locale.ROOT);
+            final long sharedMaxAge = maxAge(cacheControl, "s-maxage");
+            if (sharedMaxAge >= 0) {
+                return sharedMaxAge;
+            }
+            final long maxAge = maxAge(cacheControl, "max-age");
+            return maxAge >= 0 ? maxAge : cacheHandle.getTtl();
+        }
+    }
+}
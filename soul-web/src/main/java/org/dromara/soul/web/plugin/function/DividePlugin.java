@@ -37,10 +37,10 @@ import org.dromara.soul.web.plugin.AbstractSoulPlugin;
 import org.dromara.soul.web.plugin.SoulPluginChain;
 import org.dromara.soul.web.plugin.hystrix.HttpCommand;
 import org.dromara.soul.web.plugin.hystrix.HystrixBuilder;
+import org.dromara.soul.web.plugin.retry.HttpRetryContext;
 import org.dromara.soul.web.request.RequestDTO;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpMethod;
@@ -91,21 +91,23 @@ public class DividePlugin extends AbstractSoulPlugin {
                 upstreamCacheManager.findUpstreamListBySelectorId(selector.getId());
         if (CollectionUtils.isEmpty(upstreamList)) {
             LOGGER.error("divide upstream configuration error：{}", rule.toString());
-            Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_FIND_URL.getCode(), SoulResultEnum.CANNOT_FIND_URL.getMsg(), null);
-            return SoulResultUtils.result(exchange, error);
+            return SoulResultUtils.error(exchange, SoulResultEnum.CANNOT_FIND_URL);
         }
         final String ip = Objects.requireNonNull(exchange.getRequest().getRemoteAddress()).getAddress().getHostAddress();
         DivideUpstream divideUpstream =
                 LoadBalanceUtils.selector(upstreamList, ruleHandle.getLoadBalance(), ip);
         if (Objects.isNull(divideUpstream)) {
             LOGGER.error("divide has no upstream");
-            Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_FIND_URL.getCode(), SoulResultEnum.CANNOT_FIND_URL.getMsg(), null);
-            return SoulResultUtils.result(exchange, error);
+            return SoulResultUtils.error(exchange, SoulResultEnum.CANNOT_FIND_URL);
         }
         //设置一下 http url
         String domain = buildDomain(divideUpstream);
-        String realURL = buildRealURL(domain, requestDTO, exchange);
-        exchange.getAttributes().put(Constants.HTTP_URL, realURL);
+        String realPath = buildRealURL("", requestDTO, exchange);
+        exchange.getAttributes().put(Constants.HTTP_URL, domain + realPath);
+        if (ruleHandle.getRetry() > 0 || ruleHandle.isHedge()) {
+            exchange.getAttributes().put(Constants.HTTP_RETRY_CONTEXT,
+                    new HttpRetryContext(rule.getId(), ruleHandle, upstreamList, divideUpstream, ip, realPath));
+        }
         //设置下超时时间
         exchange.getAttributes().put(Constants.HTTP_TIME_OUT, ruleHandle.getTimeout());
         HttpCommand command = new HttpCommand(HystrixBuilder.build(ruleHandle), exchange, chain);
@@ -30,7 +30,6 @@ import org.dromara.soul.web.plugin.SoulPluginChain;
 import org.dromara.soul.web.plugin.ratelimter.RedisRateLimiter;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
@@ -84,8 +83,7 @@ public class RateLimiterPlugin extends AbstractSoulPlugin {
                 .flatMap(response -> {
                     if (!response.isAllowed()) {
                         exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
-                        Object error = SoulResultWarp.error(SoulResultEnum.TOO_MANY_REQUESTS.getCode(), SoulResultEnum.TOO_MANY_REQUESTS.getMsg(), null);
-                        return SoulResultUtils.result(exchange, error);
+                        return SoulResultUtils.error(exchange, SoulResultEnum.TOO_MANY_REQUESTS);
                     }
                     return chain.execute(exchange);
                 });
@@ -37,7 +37,6 @@ import org.dromara.soul.web.plugin.SoulPluginChain;
 import org.dromara.soul.web.request.RequestDTO;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -114,8 +113,7 @@ public class WebSocketPlugin extends AbstractSoulPlugin {
 
         if (Objects.isNull(divideUpstream)) {
             LOGGER.error("websocket has no upstream");
-            Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_FIND_URL.getCode(), SoulResultEnum.CANNOT_FIND_URL.getMsg(), null);
-            return SoulResultUtils.result(exchange, error);
+            return SoulResultUtils.error(exchange, SoulResultEnum.CANNOT_FIND_URL);
         }
         URI wsRequestUrl = UriComponentsBuilder
                 .fromUri(URI.create(buildWsRealPath(divideUpstream, requestDTO)))
@@ -19,7 +19,7 @@
 
 package org.dromara.soul.web.plugin.http;
 
-import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpMethod;
 import org.dromara.soul.common.constant.Constants;
 import org.dromara.soul.common.enums.PluginEnum;
@@ -31,7 +31,7 @@ import org.dromara.soul.web.plugin.hystrix.HttpCommand;
 import org.dromara.soul.web.request.RequestDTO;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
+import org.dromara.soul.web.support.HopByHopHeadersFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.buffer.NettyDataBuffer;
@@ -45,13 +45,14 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.netty.NettyPipeline;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.client.HttpClientResponse;
 
 import java.time.Duration;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -74,7 +75,18 @@ public class NettyHttpClientPlugin implements SoulPlugin {
      * @param httpClient the http client
      */
     public NettyHttpClientPlugin(final HttpClient httpClient) {
-        this.httpClient = httpClient;
+        this(httpClient, null);
+    }
+
+    /**
+     * Instantiates a new Netty http client plugin which records connection reuse per upstream.
+     *
+     * @param httpClient the http client
+     * @param metrics    the connection metrics, may be null
+     */
+    public NettyHttpClientPlugin(final HttpClient httpClient, final UpstreamConnectionMetrics metrics) {
+        this.httpClient = Objects.isNull(metrics) ? httpClient
+                : httpClient.tcpConfiguration(tcpClient -> tcpClient.observe(metrics));
     }
 
     @Override
@@ -83,28 +95,21 @@ public class NettyHttpClientPlugin implements SoulPlugin {
         assert body != null;
         ServerHttpRequest request = exchange.getRequest();
         final HttpMethod method = HttpMethod.valueOf(request.getMethodValue());
-        HttpHeaders filtered = request.getHeaders();
-        final DefaultHttpHeaders httpHeaders = new DefaultHttpHeaders();
-        filtered.forEach(httpHeaders::set);
         String url = exchange.getAttribute(Constants.HTTP_URL);
         if (StringUtils.isEmpty(url)) {
-            Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_FIND_URL.getCode(), SoulResultEnum.CANNOT_FIND_URL.getMsg(), null);
-            return SoulResultUtils.result(exchange, error);
+            return SoulResultUtils.error(exchange, SoulResultEnum.CANNOT_FIND_URL);
         }
         LOGGER.info("you request,The resulting urlPath is :{}", url);
-        Flux<HttpClientResponse> responseFlux = this.httpClient.headers(headers -> headers.add(httpHeaders))
+        Flux<HttpClientResponse> responseFlux = this.httpClient.headers(headers -> copyRequestHeaders(request.getHeaders(), headers))
                 .request(method).uri(url).send((req, nettyOutbound) ->
-                        nettyOutbound.options(NettyPipeline.SendOptions::flushOnEach).send(
-                                request.getBody().map(dataBuffer -> ((NettyDataBuffer) dataBuffer)
-                                        .getNativeBuffer())))
+                        // no per-chunk flush: netty flushes on read-complete boundaries, batching small chunks.
+                        nettyOutbound.send(request.getBody().map(dataBuffer -> ((NettyDataBuffer) dataBuffer)
+                                .getNativeBuffer())))
                 .responseConnection((res, connection) -> {
                     exchange.getAttributes().put(Constants.CLIENT_RESPONSE_ATTR, res);
                     exchange.getAttributes().put(Constants.CLIENT_RESPONSE_CONN_ATTR, connection);
                     ServerHttpResponse response = exchange.getResponse();
-                    HttpHeaders headers = new HttpHeaders();
-                    res.responseHeaders()
-                            .forEach(entry -> headers.add(entry.getKey(), entry.getValue()));
-                    String contentTypeValue = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+                    String contentTypeValue = res.responseHeaders().get(HttpHeaderNames.CONTENT_TYPE);
                     if (StringUtils.hasLength(contentTypeValue)) {
                         exchange.getAttributes().put(Constants.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentTypeValue);
                     }
@@ -118,8 +123,7 @@ public class NettyHttpClientPlugin implements SoulPlugin {
                         throw new IllegalStateException("Unable to set status code on response: "
                                 + res.status().code() + ", " + response.getClass());
                     }
-                    response.getHeaders().putAll(headers);
-
+                    copyResponseHeaders(res.responseHeaders(), response.getHeaders());
                     return Mono.just(res);
                 });
         long timeout = (long) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_TIME_OUT)).orElse(3000L);
@@ -154,4 +158,22 @@ public class NettyHttpClientPlugin implements SoulPlugin {
     public String named() {
         return "NettyHttpClient";
     }
+
+    private static void copyRequestHeaders(final HttpHeaders source, final io.netty.handler.codec.http.HttpHeaders target) {
+        final Set<String> connectionTokens = HopByHopHeadersFilter.connectionTokens(source.get(HttpHeaders.CONNECTION));
+        source.forEach((name, values) -> {
+            if (!HttpHeaders.HOST.equalsIgnoreCase(name) && !HopByHopHeadersFilter.isHopByHop(name, connectionTokens)) {
+                target.set(name, values);
+            }
+        });
+    }
+
+    private static void copyResponseHeaders(final io.netty.handler.codec.http.HttpHeaders source, final HttpHeaders target) {
+        final Set<String> connectionTokens = HopByHopHeadersFilter.connectionTokens(source.getAll(HttpHeaderNames.CONNECTION));
+        for (Map.Entry<String, String> entry : source) {
+            if (!HopByHopHeadersFilter.isHopByHop(entry.getKey(), connectionTokens)) {
+                target.add(entry.getKey(), entry.getValue());
+            }
+        }
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.ScheduledFuture;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closes pooled upstream connections that stayed idle or lived longer than configured.
+ * A closed channel is dropped by the pool health check on the next acquire.
+ *
+ * @author xiaoyu
+ */
+public class PooledConnectionLifecycle implements ConnectionObserver {
+
+    private static final AttributeKey<Long> CREATED_AT = AttributeKey.valueOf("soulPoolCreatedAt");
+
+    private static final AttributeKey<ScheduledFuture<?>> IDLE_TIMER = AttributeKey.valueOf("soulPoolIdleTimer");
+
+    private final Duration maxIdleTime;
+
+    private final Duration maxLifeTime;
+
+    /**
+     * Instantiates a new Pooled connection lifecycle.
+     *
+     * @param maxIdleTime the max idle time, may be null
+     * @param maxLifeTime the max life time, may be null
+     */
+    public PooledConnectionLifecycle(final Duration maxIdleTime, final Duration maxLifeTime) {
+        this.maxIdleTime = maxIdleTime;
+        this.maxLifeTime = maxLifeTime;
+    }
+
+    @Override
+    public void onStateChange(final Connection connection, final State newState) {
+        final Channel channel = connection.channel();
+        if (newState == State.CONNECTED) {
+            channel.attr(CREATED_AT).set(System.nanoTime());
+        } else if (newState == State.ACQUIRED || newState == State.DISCONNECTING) {
+            cancelIdleTimer(channel);
+        } else if (newState == State.RELEASED) {
+            onReleased(channel);
+        }
+    }
+
+    private void onReleased(final Channel channel) {
+        final long now = System.nanoTime();
+        final Long createdAt = channel.attr(CREATED_AT).get();
+        if (Objects.nonNull(maxLifeTime) && Objects.nonNull(createdAt)
+                && now - createdAt >= maxLifeTime.toNanos()) {
+            channel.close();
+            return;
+        }
+        if (Objects.nonNull(maxIdleTime)) {
+            // one timer per channel, it is cancelled when the channel is acquired again.
+            cancelIdleTimer(channel);
+            channel.attr(IDLE_TIMER).set(channel.eventLoop().schedule(() -> {
+                channel.attr(IDLE_TIMER).set(null);
+                channel.close();
+            }, maxIdleTime.toNanos(), TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private static void cancelIdleTimer(final Channel channel) {
+        final ScheduledFuture<?> timer = channel.attr(IDLE_TIMER).getAndSet(null);
+        if (Objects.nonNull(timer)) {
+            timer.cancel(false);
+        }
+    }
+}
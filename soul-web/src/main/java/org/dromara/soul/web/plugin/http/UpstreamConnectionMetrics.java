@@ -0,0 +1,103 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http;
+
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts new versus reused pooled connections per upstream address.
+ *
+ * @author xiaoyu
+ */
+public class UpstreamConnectionMetrics implements ConnectionObserver {
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void onStateChange(final Connection connection, final State newState) {
+        if (newState == State.CONNECTED) {
+            counter(connection).opened.increment();
+        } else if (newState == State.ACQUIRED) {
+            counter(connection).reused.increment();
+        }
+    }
+
+    /**
+     * Gets the counters keyed by upstream host:port.
+     *
+     * @return the counters
+     */
+    public Map<String, Counter> getCounters() {
+        return counters;
+    }
+
+    private Counter counter(final Connection connection) {
+        return counters.computeIfAbsent(key(connection.channel().remoteAddress()), k -> new Counter());
+    }
+
+    private static String key(final SocketAddress address) {
+        if (address instanceof InetSocketAddress) {
+            InetSocketAddress inet = (InetSocketAddress) address;
+            return inet.getHostString() + ":" + inet.getPort();
+        }
+        return String.valueOf(address);
+    }
+
+    /**
+     * Connection counters of one upstream.
+     */
+    public static final class Counter {
+
+        private final LongAdder opened = new LongAdder();
+
+        private final LongAdder reused = new LongAdder();
+
+        /**
+         * Gets the number of connections opened.
+         *
+         * @return the opened count
+         */
+        public long getOpened() {
+            return opened.sum();
+        }
+
+        /**
+         * Gets the number of times a pooled connection was reused.
+         *
+         * @return the reused count
+         */
+        public long getReused() {
+            return reused.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "Counter{opened=" + getOpened() + ", reused=" + getReused() + '}';
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+/**
+ * Opens a pooled connection to a newly synced divide upstream so the first proxied
+ * request does not pay the TCP and TLS handshake.
+ * It is only registered when {@code soul.httpclient.pool.warm-up} is switched on.
+ *
+ * @author xiaoyu
+ */
+public class UpstreamConnectionWarmer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UpstreamConnectionWarmer.class);
+
+    private static final Duration WARM_UP_TIMEOUT = Duration.ofSeconds(3);
+
+    private final HttpClient httpClient;
+
+    /**
+     * Instantiates a new Upstream connection warmer.
+     *
+     * @param httpClient the pooled http client shared with the proxy plugins
+     */
+    public UpstreamConnectionWarmer(final HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Warm up a connection to the upstream, asynchronously.
+     *
+     * @param upstream the upstream
+     */
+    public void warmUp(final DivideUpstream upstream) {
+        if (StringUtils.isBlank(upstream.getUpstreamUrl())) {
+            return;
+        }
+        String protocol = upstream.getProtocol();
+        if (StringUtils.isBlank(protocol)) {
+            protocol = "http://";
+        }
+        final String url = protocol + upstream.getUpstreamUrl().trim();
+        httpClient.head().uri(url)
+                .response()
+                .timeout(WARM_UP_TIMEOUT)
+                .subscribe(res -> LOGGER.info("warm up upstream connection :{}", url),
+                        e -> LOGGER.warn("warm up upstream connection :{} failed :{}", url, e.getMessage()));
+    }
+}
@@ -29,10 +29,11 @@ import org.dromara.soul.common.utils.LogUtils;
 import org.dromara.soul.web.plugin.SoulPlugin;
 import org.dromara.soul.web.plugin.SoulPluginChain;
 import org.dromara.soul.web.plugin.hystrix.HttpCommand;
+import org.dromara.soul.web.plugin.retry.HttpRetryContext;
 import org.dromara.soul.web.request.RequestDTO;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
+import org.dromara.soul.web.support.HopByHopHeadersFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -43,10 +44,13 @@ import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The type Web client plugin.
@@ -77,14 +81,18 @@ public class WebClientPlugin implements SoulPlugin {
         assert requestDTO != null;
         String urlPath = exchange.getAttribute(Constants.HTTP_URL);
         if (StringUtils.isEmpty(urlPath)) {
-            Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_FIND_URL.getCode(), SoulResultEnum.CANNOT_FIND_URL.getMsg(), null);
-            return SoulResultUtils.result(exchange, error);
+            return SoulResultUtils.error(exchange, SoulResultEnum.CANNOT_FIND_URL);
         }
         long timeout = (long) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_TIME_OUT)).orElse(3000L);
         LOGGER.info("you request,The resulting urlPath is :{}", urlPath);
         HttpMethod method = HttpMethod.valueOf(exchange.getRequest().getMethodValue());
-        WebClient.RequestBodySpec requestBodySpec = webClient.method(method).uri(urlPath);
-        return handleRequestBody(requestBodySpec, exchange, timeout, chain);
+        Mono<ClientResponse> response = handleRequestBody(urlPath, method, exchange, timeout);
+        final HttpRetryContext retryContext = exchange.getAttribute(Constants.HTTP_RETRY_CONTEXT);
+        if (Objects.nonNull(retryContext) && retryContext.isRepeatable(exchange.getRequest())) {
+            response = withRetry(withHedge(response, retryContext, method, exchange, timeout),
+                    retryContext, method, exchange, timeout, retryContext.getRetry());
+        }
+        return response.flatMap(e -> doNext(e, exchange, chain));
     }
 
     @Override
@@ -117,21 +125,88 @@ public class WebClientPlugin implements SoulPlugin {
                 .orElse(MediaType.APPLICATION_JSON_UTF8_VALUE));
     }
 
-    private Mono<Void> handleRequestBody(final WebClient.RequestBodySpec requestBodySpec,
-                                         final ServerWebExchange exchange,
-                                         final long timeout,
-                                         final SoulPluginChain chain) {
-        return requestBodySpec.headers(httpHeaders -> {
-            httpHeaders.addAll(exchange.getRequest().getHeaders());
+    private Mono<ClientResponse> handleRequestBody(final String urlPath,
+                                                   final HttpMethod method,
+                                                   final ServerWebExchange exchange,
+                                                   final long timeout) {
+        // the pooled request buffers are handed to the client connector as they are read,
+        // so the body is streamed upstream with backpressure instead of being aggregated.
+        return webClient.method(method).uri(urlPath).headers(httpHeaders -> {
+            HopByHopHeadersFilter.copy(exchange.getRequest().getHeaders(), httpHeaders);
             httpHeaders.remove(HttpHeaders.HOST);
         })
                 .contentType(buildMediaType(exchange))
                 .body(BodyInserters.fromDataBuffers(exchange.getRequest().getBody()))
                 .exchange()
                 .doOnError(e -> LogUtils.error(LOGGER, e::getMessage))
-                .timeout(Duration.ofMillis(timeout))
-                .flatMap(e -> doNext(e, exchange, chain));
+                .timeout(Duration.ofMillis(timeout));
+    }
+
+    private Mono<ClientResponse> withHedge(final Mono<ClientResponse> primary,
+                                           final HttpRetryContext retryContext,
+                                           final HttpMethod method,
+                                           final ServerWebExchange exchange,
+                                           final long timeout) {
+        final long start = System.nanoTime();
+        // a primary cancelled by a faster hedge is recorded too, otherwise only the fast calls would shape the p95.
+        final Mono<ClientResponse> recorded = primary.doFinally(signal -> {
+            if (signal != SignalType.ON_ERROR) {
+                retryContext.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            }
+        });
+        final Duration hedgeDelay = retryContext.getHedgeDelay();
+        if (Objects.isNull(hedgeDelay)) {
+            return recorded;
+        }
+        final Mono<ClientResponse> hedged = Mono.delay(hedgeDelay).<ClientResponse>flatMap(tick -> {
+            final String hedgeUrl = retryContext.nextUrl();
+            if (Objects.isNull(hedgeUrl)) {
+                return Mono.never();
+            }
+            LOGGER.info("you request,The hedged urlPath is :{}", hedgeUrl);
+            return handleRequestBody(hedgeUrl, method, exchange, timeout);
+        });
+        return Mono.defer(() -> {
+            final AtomicReference<ClientResponse> chosen = new AtomicReference<>();
+            return Mono.first(claim(recorded, chosen), claim(hedged, chosen));
+        });
+    }
+
+    private static Mono<ClientResponse> claim(final Mono<ClientResponse> attempt, final AtomicReference<ClientResponse> chosen) {
+        return attempt.flatMap(res -> {
+            if (chosen.compareAndSet(null, res)) {
+                return Mono.just(res);
+            }
+            // the other attempt already won, drain this response so its pooled connection is released.
+            res.bodyToMono(Void.class).onErrorResume(e -> Mono.empty()).subscribe();
+            return Mono.never();
+        });
+    }
 
+    private Mono<ClientResponse> withRetry(final Mono<ClientResponse> attempt,
+                                           final HttpRetryContext retryContext,
+                                           final HttpMethod method,
+                                           final ServerWebExchange exchange,
+                                           final long timeout,
+                                           final int remaining) {
+        if (remaining <= 0) {
+            return attempt;
+        }
+        // errors are turned into values first, so failures of the next attempt are not retried twice.
+        return attempt.<Object>map(res -> res).onErrorResume(Mono::just).<ClientResponse>flatMap(result -> {
+            final boolean failed = result instanceof Throwable;
+            if (!failed && !retryContext.isRetryableStatus(((ClientResponse) result).statusCode())) {
+                return Mono.just((ClientResponse) result);
+            }
+            final String retryUrl = retryContext.nextUrl();
+            if (Objects.isNull(retryUrl)) {
+                return failed ? Mono.error((Throwable) result) : Mono.just((ClientResponse) result);
+            }
+            LOGGER.info("you request,The retry urlPath is :{}", retryUrl);
+            final Mono<Void> release = failed ? Mono.empty() : ((ClientResponse) result).bodyToMono(Void.class);
+            return release.then(withRetry(handleRequestBody(retryUrl, method, exchange, timeout),
+                    retryContext, method, exchange, timeout, remaining - 1));
+        });
     }
 
     private Mono<Void> doNext(final ClientResponse res, final ServerWebExchange exchange, final SoulPluginChain chain) {
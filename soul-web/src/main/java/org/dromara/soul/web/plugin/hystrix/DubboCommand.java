@@ -29,7 +29,6 @@ import org.dromara.soul.web.plugin.SoulPluginChain;
 import org.dromara.soul.web.plugin.dubbo.DubboProxyService;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -117,7 +116,6 @@ public class DubboCommand extends HystrixObservableCommand<Void> {
             LogUtils.error(LOGGER, "dubbo rpc have error:{}", () -> getExecutionException().getMessage());
         }
         exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
-        Object error = SoulResultWarp.error(SoulResultEnum.SERVICE_RESULT_ERROR.getCode(), SoulResultEnum.SERVICE_RESULT_ERROR.getMsg(), null);
-        return SoulResultUtils.result(exchange, error);
+        return SoulResultUtils.error(exchange, SoulResultEnum.SERVICE_RESULT_ERROR);
     }
 }
@@ -24,7 +24,6 @@ import com.netflix.hystrix.exception.HystrixTimeoutException;
 import org.dromara.soul.web.plugin.SoulPluginChain;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -92,8 +91,7 @@ public class HttpCommand extends HystrixObservableCommand<Void> {
         } else {
             exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
         }
-        Object error = SoulResultWarp.error(SoulResultEnum.SERVICE_RESULT_ERROR.getCode(), SoulResultEnum.SERVICE_RESULT_ERROR.getMsg(), null);
-        return SoulResultUtils.result(exchange, error);
+        return SoulResultUtils.error(exchange, SoulResultEnum.SERVICE_RESULT_ERROR);
     }
 
 }
@@ -0,0 +1,167 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.retry;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.common.dto.convert.rule.DivideRuleHandle;
+import org.dromara.soul.web.balance.utils.LoadBalanceUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Retry and hedge state of one divide request, created by the divide plugin and
+ * consumed by the http client plugin to re-send the request to other upstreams.
+ *
+ * @author xiaoyu
+ */
+public class HttpRetryContext {
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = EnumSet.of(HttpMethod.GET, HttpMethod.HEAD,
+            HttpMethod.OPTIONS, HttpMethod.TRACE, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private final RuleRetryState state;
+
+    private final DivideRuleHandle ruleHandle;
+
+    private final List<DivideUpstream> upstreamList;
+
+    private final String ip;
+
+    private final String path;
+
+    private final Set<String> tried = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Instantiates a new Http retry context.
+     *
+     * @param ruleId       the rule id
+     * @param ruleHandle   the divide rule handle
+     * @param upstreamList the upstream list of the selector
+     * @param selected     the upstream of the first attempt
+     * @param ip           the client ip used by the load balancer
+     * @param path         the request path and query appended to the upstream domain
+     */
+    public HttpRetryContext(final String ruleId, final DivideRuleHandle ruleHandle,
+                            final List<DivideUpstream> upstreamList, final DivideUpstream selected,
+                            final String ip, final String path) {
+        this.state = RuleRetryState.of(ruleId);
+        this.ruleHandle = ruleHandle;
+        this.upstreamList = upstreamList;
+        this.ip = ip;
+        this.path = path;
+        this.tried.add(selected.getUpstreamUrl());
+        this.state.deposit(ruleHandle.getRetryBudget());
+    }
+
+    /**
+     * Whether the request may be sent more than once: an idempotent method without a request body,
+     * since the body stream can only be consumed once.
+     *
+     * @param request the request
+     * @return the boolean
+     */
+    public boolean isRepeatable(final ServerHttpRequest request) {
+        final HttpHeaders headers = request.getHeaders();
+        return IDEMPOTENT_METHODS.contains(request.getMethod())
+                && headers.getContentLength() <= 0
+                && !headers.containsKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+
+    /**
+     * Whether an upstream response status is worth retrying elsewhere.
+     *
+     * @param status the status
+     * @return the boolean
+     */
+    public boolean isRetryableStatus(final HttpStatus status) {
+        return status == HttpStatus.BAD_GATEWAY
+                || status == HttpStatus.SERVICE_UNAVAILABLE
+                || status == HttpStatus.GATEWAY_TIMEOUT;
+    }
+
+    /**
+     * Gets the max number of retries.
+     *
+     * @return the retry
+     */
+    public int getRetry() {
+        return ruleHandle.getRetry();
+    }
+
+    /**
+     * Gets the hedge delay, null when hedging is off or the rule has too few samples.
+     *
+     * @return the hedge delay
+     */
+    public Duration getHedgeDelay() {
+        if (!ruleHandle.isHedge()) {
+            return null;
+        }
+        final long p95 = state.getP95();
+        return p95 < 0 ? null : Duration.ofNanos(p95 * 1000);
+    }
+
+    /**
+     * Record the latency of a completed upstream call.
+     *
+     * @param micros the micros
+     */
+    public void record(final long micros) {
+        state.record(micros);
+    }
+
+    /**
+     * Choose an upstream not tried yet and take a token from the rule retry budget.
+     *
+     * @return the url of the next attempt, or null if no upstream or budget is left
+     */
+    public String nextUrl() {
+        final List<DivideUpstream> candidates = upstreamList.stream()
+                .filter(upstream -> !tried.contains(upstream.getUpstreamUrl()))
+                .collect(Collectors.toList());
+        if (candidates.isEmpty() || !state.tryWithdraw()) {
+            return null;
+        }
+        final DivideUpstream upstream = LoadBalanceUtils.selector(candidates, ruleHandle.getLoadBalance(), ip);
+        if (Objects.isNull(upstream) || !tried.add(upstream.getUpstreamUrl())) {
+            return null;
+        }
+        return buildDomain(upstream) + path;
+    }
+
+    private static String buildDomain(final DivideUpstream divideUpstream) {
+        String protocol = divideUpstream.getProtocol();
+        if (StringUtils.isBlank(protocol)) {
+            protocol = "http://";
+        }
+        return protocol + divideUpstream.getUpstreamUrl().trim();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.retry;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per rule retry budget and p95 latency estimate.
+ * The budget is a token bucket: every original request deposits {@code retryBudget} tokens
+ * and every retry or hedged request withdraws one, so retries stay a bounded fraction of traffic.
+ * The state of a rule that sees no traffic, e.g. because it was deleted, expires on its own.
+ *
+ * @author xiaoyu
+ */
+public final class RuleRetryState {
+
+    private static final LoadingCache<String, RuleRetryState> STATES = CacheBuilder.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build(CacheLoader.from(RuleRetryState::new));
+
+    private static final long TOKEN = 1000;
+
+    private static final long MAX_BALANCE = 100 * TOKEN;
+
+    private static final long MIN_SAMPLES = 100;
+
+    private static final double QUANTILE = 0.95;
+
+    private final AtomicLong balance = new AtomicLong();
+
+    private final AtomicLong samples = new AtomicLong();
+
+    /**
+     * p95 estimate in micros, updated with a frugal streaming estimator; lost updates under contention are harmless.
+     */
+    private volatile double p95;
+
+    private RuleRetryState() {
+    }
+
+    /**
+     * Get the state of a rule.
+     *
+     * @param ruleId the rule id
+     * @return the rule retry state
+     */
+    public static RuleRetryState of(final String ruleId) {
+        return STATES.getUnchecked(ruleId);
+    }
+
+    /**
+     * Deposit the share of one original request.
+     *
+     * @param ratio the retry budget ratio
+     */
+    public void deposit(final double ratio) {
+        final long amount = (long) (ratio * TOKEN);
+        if (amount <= 0) {
+            return;
+        }
+        balance.accumulateAndGet(amount, (current, add) -> Math.min(MAX_BALANCE, current + add));
+    }
+
+    /**
+     * Try to withdraw one retry token.
+     *
+     * @return true if a retry is allowed
+     */
+    public boolean tryWithdraw() {
+        for (;;) {
+            final long current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Record the latency of an upstream call, the elapsed time of a cancelled call is a lower bound of it.
+     *
+     * @param micros the latency in micros
+     */
+    public void record(final long micros) {
+        final double estimate = p95;
+        if (samples.getAndIncrement() == 0) {
+            p95 = micros;
+            return;
+        }
+        final double step = Math.max(estimate, 1000D) * 0.05;
+        p95 = micros > estimate ? estimate + step * QUANTILE : Math.max(0, estimate - step * (1 - QUANTILE));
+    }
+
+    /**
+     * Gets the p95 latency in micros once enough samples were recorded.
+     *
+     * @return the p95 in micros, or -1 while warming up
+     */
+    public long getP95() {
+        return samples.get() < MIN_SAMPLES ? -1 : (long) p95;
+    }
+}
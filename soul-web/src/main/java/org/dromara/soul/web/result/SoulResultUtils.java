@@ -20,10 +20,16 @@
 package org.dromara.soul.web.result;
 
 import org.dromara.soul.common.utils.JsonUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * The type Soul result utils.
@@ -32,6 +38,11 @@ import java.util.Objects;
  */
 public final class SoulResultUtils {
 
+    /**
+     * the encoded error bodies by SoulResultEnum ordinal, shared read only by every response.
+     */
+    private static final AtomicReferenceArray<byte[]> ERROR_BODIES = new AtomicReferenceArray<>(SoulResultEnum.values().length);
+
     /**
      * Error mono.
      *
@@ -40,7 +51,32 @@ public final class SoulResultUtils {
      * @return the mono
      */
     public static Mono<Void> result(final ServerWebExchange exchange, final Object result) {
-        return exchange.getResponse().writeWith(Mono.just(exchange.getResponse()
-                .bufferFactory().wrap(Objects.requireNonNull(JsonUtils.toJson(result)).getBytes())));
+        final ServerHttpResponse response = exchange.getResponse();
+        final DataBuffer buffer = response.bufferFactory().allocateBuffer();
+        try {
+            JsonUtils.writeJson(result, buffer.asOutputStream());
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            return Mono.error(e);
+        }
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    /**
+     * Write the error body of the result enum, encoded once and then only wrapped per response.
+     *
+     * @param exchange   the exchange
+     * @param resultEnum the result enum
+     * @return the mono
+     */
+    public static Mono<Void> error(final ServerWebExchange exchange, final SoulResultEnum resultEnum) {
+        byte[] body = ERROR_BODIES.get(resultEnum.ordinal());
+        if (body == null) {
+            Object error = SoulResultWarp.error(resultEnum.getCode(), resultEnum.getMsg(), null);
+            body = Objects.requireNonNull(JsonUtils.toJson(error)).getBytes(StandardCharsets.UTF_8);
+            ERROR_BODIES.set(resultEnum.ordinal(), body);
+        }
+        final ServerHttpResponse response = exchange.getResponse();
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
     }
 }
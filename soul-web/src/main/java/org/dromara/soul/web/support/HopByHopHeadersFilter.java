@@ -0,0 +1,92 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.support;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Strips hop-by-hop headers (RFC 7230 section 6.1) when a message is proxied,
+ * including every header nominated by the {@code Connection} header.
+ *
+ * @author xiaoyu
+ */
+public final class HopByHopHeadersFilter {
+
+    private static final Set<String> HOP_BY_HOP_HEADERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "connection", "keep-alive", "proxy-connection", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade")));
+
+    private HopByHopHeadersFilter() {
+    }
+
+    /**
+     * Copy every end-to-end header of source into target.
+     *
+     * @param source the inbound headers
+     * @param target the outbound headers
+     */
+    public static void copy(final HttpHeaders source, final HttpHeaders target) {
+        final Set<String> connectionTokens = connectionTokens(source.get(HttpHeaders.CONNECTION));
+        source.forEach((name, values) -> {
+            if (!isHopByHop(name, connectionTokens)) {
+                target.put(name, values);
+            }
+        });
+    }
+
+    /**
+     * Whether the header must not be forwarded to the next hop.
+     *
+     * @param name             the header name
+     * @param connectionTokens the lower-cased tokens of the Connection header
+     * @return true if the header is hop-by-hop
+     */
+    public static boolean isHopByHop(final String name, final Set<String> connectionTokens) {
+        final String lower = name.toLowerCase(Locale.ROOT);
+        return HOP_BY_HOP_HEADERS.contains(lower) || connectionTokens.contains(lower);
+    }
+
+    /**
+     * Parse the lower-cased header names listed in the Connection header values.
+     *
+     * @param connectionValues the Connection header values, may be null
+     * @return the tokens
+     */
+    public static Set<String> connectionTokens(final List<String> connectionValues) {
+        if (connectionValues == null || connectionValues.isEmpty()) {
+            return Collections.emptySet();
+        }
+        final Set<String> tokens = new HashSet<>();
+        for (String value : connectionValues) {
+            for (String token : StringUtils.split(value, ',')) {
+                tokens.add(token.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return tokens;
+    }
+}
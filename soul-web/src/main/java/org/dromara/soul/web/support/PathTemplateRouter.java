@@ -0,0 +1,263 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.support;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A segment tree of path templates such as {@code /order/{id}/detail} or {@code /file/**}.
+ * A lookup walks the request path once, preferring literal segments over {@code {var}}
+ * segments over a trailing {@code **}, so its cost depends on the path and not on the
+ * number of templates. Writes are serialized, lookups are lock free.
+ *
+ * @param <T> the routed value type
+ * @author xiaoyu
+ */
+public final class PathTemplateRouter<T> {
+
+    private static final String CATCH_ALL = "**";
+
+    private volatile Node<T> root = new Node<>();
+
+    private volatile int routes;
+
+    /**
+     * Whether the path has a whole {@code {var}} or {@code **} segment, a brace or star inside a segment is literal.
+     *
+     * @param path the path
+     * @return true if the path is a template
+     */
+    public static boolean isTemplate(final String path) {
+        if (path == null || (path.indexOf('{') < 0 && !path.contains(CATCH_ALL))) {
+            return false;
+        }
+        for (String segment : StringUtils.split(path, '/')) {
+            if (CATCH_ALL.equals(segment) || isVariable(segment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add or replace the value of a template. {@code **} is only supported as the last segment.
+     *
+     * @param template the template
+     * @param value    the value
+     * @return false if the template is not supported
+     */
+    public synchronized boolean add(final String template, final T value) {
+        final String[] segments = StringUtils.split(template, '/');
+        final List<String> names = new ArrayList<>();
+        Node<T> node = root;
+        for (int i = 0; i < segments.length; i++) {
+            final String segment = segments[i];
+            if (CATCH_ALL.equals(segment)) {
+                if (i != segments.length - 1) {
+                    return false;
+                }
+                if (node.catchAll == null) {
+                    routes++;
+                }
+                node.catchAll = new Route<>(value, names);
+                return true;
+            }
+            if (isVariable(segment)) {
+                names.add(segment.substring(1, segment.length() - 1));
+                if (node.variable == null) {
+                    node.variable = new Node<>();
+                }
+                node = node.variable;
+            } else {
+                node = node.statics.computeIfAbsent(segment, s -> new Node<>());
+            }
+        }
+        if (node.route == null) {
+            routes++;
+        }
+        node.route = new Route<>(value, names);
+        return true;
+    }
+
+    /**
+     * Remove the value of a template.
+     *
+     * @param template the template
+     */
+    public synchronized void remove(final String template) {
+        final String[] segments = StringUtils.split(template, '/');
+        Node<T> node = root;
+        for (int i = 0; i < segments.length && node != null; i++) {
+            final String segment = segments[i];
+            if (CATCH_ALL.equals(segment) && i == segments.length - 1) {
+                if (node.catchAll != null) {
+                    node.catchAll = null;
+                    routes--;
+                }
+                return;
+            }
+            node = isVariable(segment) ? node.variable : node.statics.get(segment);
+        }
+        if (node != null && node.route != null) {
+            node.route = null;
+            routes--;
+        }
+    }
+
+    /**
+     * Remove every template.
+     */
+    public synchronized void clear() {
+        root = new Node<>();
+        routes = 0;
+    }
+
+    /**
+     * Match the path against the templates.
+     *
+     * @param path the request path
+     * @return the match, or null if no template matches
+     */
+    public Match<T> match(final String path) {
+        if (routes == 0 || path == null) {
+            return null;
+        }
+        return match(root, path, 0, new ArrayList<>(4));
+    }
+
+    private Match<T> match(final Node<T> node, final String path, final int from, final List<String> captured) {
+        int start = from;
+        while (start < path.length() && path.charAt(start) == '/') {
+            start++;
+        }
+        if (start >= path.length()) {
+            final Route<T> route = node.route;
+            if (route != null) {
+                return route.match(captured);
+            }
+            final Route<T> catchAll = node.catchAll;
+            return catchAll == null ? null : catchAll.match(captured);
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        final String segment = path.substring(start, end);
+        final Node<T> child = node.statics.get(segment);
+        if (child != null) {
+            final Match<T> match = match(child, path, end, captured);
+            if (match != null) {
+                return match;
+            }
+        }
+        final Node<T> variable = node.variable;
+        if (variable != null) {
+            captured.add(segment);
+            final Match<T> match = match(variable, path, end, captured);
+            if (match != null) {
+                return match;
+            }
+            captured.remove(captured.size() - 1);
+        }
+        final Route<T> catchAll = node.catchAll;
+        return catchAll == null ? null : catchAll.match(captured);
+    }
+
+    private static boolean isVariable(final String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}';
+    }
+
+    private static final class Node<T> {
+
+        private final ConcurrentMap<String, Node<T>> statics = new ConcurrentHashMap<>();
+
+        private volatile Node<T> variable;
+
+        private volatile Route<T> route;
+
+        private volatile Route<T> catchAll;
+    }
+
+    private static final class Route<T> {
+
+        private final T value;
+
+        private final String[] names;
+
+        Route(final T value, final List<String> names) {
+            this.value = value;
+            this.names = names.toArray(new String[0]);
+        }
+
+        Match<T> match(final List<String> captured) {
+            if (names.length == 0) {
+                return new Match<>(value, Collections.emptyMap());
+            }
+            final Map<String, String> variables = new LinkedHashMap<>(names.length * 2);
+            for (int i = 0; i < names.length; i++) {
+                variables.put(names[i], captured.get(i));
+            }
+            return new Match<>(value, variables);
+        }
+    }
+
+    /**
+     * A matched template value and its path variables.
+     *
+     * @param <T> the routed value type
+     */
+    public static final class Match<T> {
+
+        private final T value;
+
+        private final Map<String, String> variables;
+
+        private Match(final T value, final Map<String, String> variables) {
+            this.value = value;
+            this.variables = variables;
+        }
+
+        /**
+         * Gets the routed value.
+         *
+         * @return the value
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Gets the path variables by name.
+         *
+         * @return the variables
+         */
+        public Map<String, String> getVariables() {
+            return variables;
+        }
+    }
+}
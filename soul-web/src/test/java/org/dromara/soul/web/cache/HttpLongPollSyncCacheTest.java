@@ -0,0 +1,95 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.cache;
+
+import com.google.gson.Gson;
+import org.dromara.soul.common.dto.AppAuthData;
+import org.dromara.soul.common.dto.ConfigChange;
+import org.dromara.soul.common.dto.ConfigDelta;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.dromara.soul.common.enums.DataEventTypeEnum;
+import org.dromara.soul.web.config.SoulConfig;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+/**
+ * The type Http long poll sync cache test.
+ *
+ * @author xiaoyu
+ */
+public class HttpLongPollSyncCacheTest {
+
+    private static final Gson GSON = new Gson();
+
+    private HttpLongPollSyncCache syncCache;
+
+    /**
+     * Start from a stale app auth cache, the snapshot is never written.
+     */
+    @Before
+    public void setUp() {
+        SoulConfig.HttpConfig httpConfig = new SoulConfig.HttpConfig();
+        httpConfig.setUrl("http://localhost:9095");
+        SoulConfig.Snapshot snapshotConfig = new SoulConfig.Snapshot();
+        snapshotConfig.setEnabled(false);
+        syncCache = new HttpLongPollSyncCache(httpConfig, new LocalConfigSnapshot(snapshotConfig));
+        AbstractLocalCacheManager.AUTH_MAP.clear();
+        AbstractLocalCacheManager.AUTH_MAP.put("stale", appAuth("stale"));
+    }
+
+    /**
+     * A full delta, served when the change log no longer covers the gateway version, replaces the whole group.
+     */
+    @Test
+    public void fullDeltaTest() {
+        apply(new ConfigDelta<AppAuthData>().setFull(true).setVersion(1)
+                .setData(Arrays.asList(appAuth("a"), appAuth("b"))));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a", "b")), AbstractLocalCacheManager.AUTH_MAP.keySet());
+    }
+
+    /**
+     * An incremental delta applies its changes in order, then a full fallback drops what it does not contain.
+     */
+    @Test
+    public void incrementalThenFullFallbackTest() {
+        apply(new ConfigDelta<AppAuthData>().setFull(true).setVersion(1)
+                .setData(Arrays.asList(appAuth("a"), appAuth("b"))));
+        apply(new ConfigDelta<AppAuthData>().setVersion(3).setChanges(Arrays.asList(
+                new ConfigChange<>(2, DataEventTypeEnum.DELETE.name(), Collections.singletonList(appAuth("a"))),
+                new ConfigChange<>(3, DataEventTypeEnum.CREATE.name(), Collections.singletonList(appAuth("c"))))));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("b", "c")), AbstractLocalCacheManager.AUTH_MAP.keySet());
+        apply(new ConfigDelta<AppAuthData>().setFull(true).setVersion(600)
+                .setData(Collections.singletonList(appAuth("d"))));
+        Assert.assertEquals(Collections.singleton("d"), AbstractLocalCacheManager.AUTH_MAP.keySet());
+    }
+
+    private void apply(final ConfigDelta<AppAuthData> delta) {
+        syncCache.updateCacheWithDelta(ConfigGroupEnum.APP_AUTH, GSON.toJsonTree(delta.setMd5("md5")).getAsJsonObject());
+    }
+
+    private static AppAuthData appAuth(final String appKey) {
+        return new AppAuthData(appKey, "secret", true, null, null);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+/**
+ * The type Path template router test.
+ *
+ * @author xiaoyu
+ */
+public class PathTemplateRouterTest {
+
+    /**
+     * Literal segment beats variable segment test.
+     */
+    @Test
+    public void literalBeatsVariableTest() {
+        PathTemplateRouter<String> router = new PathTemplateRouter<>();
+        router.add("/order/{id}", "byId");
+        router.add("/order/list", "list");
+        Assert.assertEquals("list", router.match("/order/list").getValue());
+        Assert.assertEquals(Collections.emptyMap(), router.match("/order/list").getVariables());
+        PathTemplateRouter.Match<String> match = router.match("/order/7");
+        Assert.assertEquals("byId", match.getValue());
+        Assert.assertEquals("7", match.getVariables().get("id"));
+    }
+
+    /**
+     * Fallback to the variable branch after a failed literal branch test.
+     */
+    @Test
+    public void fallbackAfterFailedLiteralTest() {
+        PathTemplateRouter<String> router = new PathTemplateRouter<>();
+        router.add("/order/list/detail", "detail");
+        router.add("/order/{id}/items", "items");
+        router.add("/order/{id}/**", "rest");
+        Assert.assertEquals("detail", router.match("/order/list/detail").getValue());
+        PathTemplateRouter.Match<String> match = router.match("/order/list/items");
+        Assert.assertEquals("items", match.getValue());
+        Assert.assertEquals("list", match.getVariables().get("id"));
+        match = router.match("/order/list/other/more");
+        Assert.assertEquals("rest", match.getValue());
+        Assert.assertEquals("list", match.getVariables().get("id"));
+        Assert.assertNull(router.match("/user/list/items"));
+    }
+
+    /**
+     * Catch all at the root test.
+     */
+    @Test
+    public void rootCatchAllTest() {
+        PathTemplateRouter<String> router = new PathTemplateRouter<>();
+        router.add("/**", "root");
+        router.add("/order/list", "list");
+        Assert.assertEquals("list", router.match("/order/list").getValue());
+        Assert.assertEquals("root", router.match("/order").getValue());
+        Assert.assertEquals("root", router.match("/order/list/more").getValue());
+        Assert.assertEquals("root", router.match("/").getValue());
+    }
+
+    /**
+     * Catch all at a nested level test.
+     */
+    @Test
+    public void nestedCatchAllTest() {
+        PathTemplateRouter<String> router = new PathTemplateRouter<>();
+        router.add("/file/**", "file");
+        router.add("/user/{uid}/**", "user");
+        Assert.assertEquals("file", router.match("/file/a/b/c.txt").getValue());
+        Assert.assertEquals("file", router.match("/file").getValue());
+        Assert.assertNull(router.match("/files/a"));
+        PathTemplateRouter.Match<String> match = router.match("/user/9/x/y");
+        Assert.assertEquals("user", match.getValue());
+        Assert.assertEquals("9", match.getVariables().get("uid"));
+        Assert.assertFalse(router.add("/file/**/name", "unsupported"));
+    }
+
+    /**
+     * Trailing and double slashes test.
+     */
+    @Test
+    public void slashesTest() {
+        PathTemplateRouter<String> router = new PathTemplateRouter<>();
+        router.add("/order//{id}/", "byId");
+        Assert.assertEquals("byId", router.match("/order/7/").getValue());
+        Assert.assertEquals("byId", router.match("//order//7").getValue());
+        Assert.assertEquals("7", router.match("/order/7//").getVariables().get("id"));
+        Assert.assertNull(router.match("/order/"));
+        Assert.assertNull(router.match("/order/7/8"));
+    }
+
+    /**
+     * Remove test.
+     */
+    @Test
+    public void removeTest() {
+        PathTemplateRouter<String> router = new PathTemplateRouter<>();
+        router.add("/order/{id}", "byId");
+        router.add("/order/list", "list");
+        router.add("/file/**", "file");
+        router.remove("/order/list");
+        Assert.assertEquals("byId", router.match("/order/list").getValue());
+        router.remove("/order/{name}");
+        Assert.assertNull(router.match("/order/list"));
+        Assert.assertNull(router.match("/order/7"));
+        router.remove("/file/**");
+        Assert.assertNull(router.match("/file/a"));
+        router.remove("/not/added");
+        router.add("/order/{id}", "again");
+        Assert.assertEquals("again", router.match("/order/7").getValue());
+        router.clear();
+        Assert.assertNull(router.match("/order/7"));
+    }
+
+    /**
+     * Is template test.
+     */
+    @Test
+    public void isTemplateTest() {
+        Assert.assertTrue(PathTemplateRouter.isTemplate("/order/{id}"));
+        Assert.assertTrue(PathTemplateRouter.isTemplate("/file/**"));
+        Assert.assertTrue(PathTemplateRouter.isTemplate("/**"));
+        Assert.assertFalse(PathTemplateRouter.isTemplate("/order/a{id}"));
+        Assert.assertFalse(PathTemplateRouter.isTemplate("/order/{id}x"));
+        Assert.assertFalse(PathTemplateRouter.isTemplate("/order/{}"));
+        Assert.assertFalse(PathTemplateRouter.isTemplate("/file/a**"));
+        Assert.assertFalse(PathTemplateRouter.isTemplate("/order/list"));
+        Assert.assertFalse(PathTemplateRouter.isTemplate(null));
+    }
+}